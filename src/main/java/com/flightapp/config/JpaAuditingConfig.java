@@ -0,0 +1,13 @@
+package com.flightapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * JPA auditing lives in its own configuration class so that sliced tests
+ * (e.g. @WebMvcTest) can start without a JPA metamodel
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,109 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.ApiResponse;
+import com.flightapp.dto.LocationRequest;
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.dto.LockStripeStats;
+import com.flightapp.dto.LookupGuardStats;
+import com.flightapp.dto.SearchCacheStats;
+import com.flightapp.dto.TicketViewReplayStats;
+import com.flightapp.service.FlightLockService;
+import com.flightapp.service.FlightSearchCache;
+import com.flightapp.service.LocationDictionary;
+import com.flightapp.service.LocationSuggester;
+import com.flightapp.service.LookupGuard;
+import com.flightapp.service.TicketViewReplayer;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1.0/flight/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final FlightLockService flightLockService;
+    private final FlightSearchCache flightSearchCache;
+    private final LocationDictionary locationDictionary;
+    private final LocationSuggester locationSuggester;
+    private final LookupGuard lookupGuard;
+    private final TicketViewReplayer ticketViewReplayer;
+
+    @GetMapping("/booking-locks")
+    public ResponseEntity<ApiResponse<List<LockStripeStats>>> getBookingLockStats() {
+
+        log.info("REST request to get booking lock stats");
+
+        List<LockStripeStats> stats = flightLockService.getStripeStats();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d lock stripes in use", stats.size(), flightLockService.getStripeCount()),
+                stats));
+    }
+
+    @GetMapping("/search-cache")
+    public ResponseEntity<ApiResponse<SearchCacheStats>> getSearchCacheStats() {
+
+        log.info("REST request to get search cache stats");
+
+        SearchCacheStats stats = flightSearchCache.getStats();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Search cache hit rate %.1f%%", stats.getHitRate() * 100),
+                stats));
+    }
+
+    // Rebuilds ticket_view from the normalized tables, in parallel chunks
+    @PostMapping("/ticket-view/replay")
+    public ResponseEntity<ApiResponse<TicketViewReplayStats>> replayTicketView() {
+
+        log.info("REST request to rebuild the ticket view");
+
+        TicketViewReplayStats stats = ticketViewReplayer.replayAll();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Rebuilt %d ticket(s) in %d chunk(s)", stats.getBookings(), stats.getChunks()),
+                stats));
+    }
+
+    @GetMapping("/lookup-guard")
+    public ResponseEntity<ApiResponse<List<LookupGuardStats>>> getLookupGuardStats() {
+
+        log.info("REST request to get lookup guard stats");
+
+        List<LookupGuardStats> stats = lookupGuard.getStats();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Lookup guard rejected %d unknown key(s)",
+                        stats.stream().mapToLong(LookupGuardStats::getRejectedLookups).sum()),
+                stats));
+    }
+
+    // Creates the location, or gives an existing one its IATA code
+    @PutMapping("/locations")
+    public ResponseEntity<ApiResponse<LocationResponse>> defineLocation(
+            @Valid @RequestBody LocationRequest request) {
+
+        log.info("REST request to define location {} ({})", request.getLocationName(), request.getLocationCode());
+
+        LocationDictionary.Entry location = locationDictionary.define(
+                request.getLocationName(), request.getLocationCode());
+        locationSuggester.locationSaved(location);
+
+        return ResponseEntity.ok(ApiResponse.success("Location saved successfully", LocationResponse.builder()
+                .id(location.id())
+                .locationName(location.name())
+                .locationCode(location.code())
+                .build()));
+    }
+}
@@ -1,8 +1,14 @@
 package com.flightapp.controller;
 
 import com.flightapp.dto.ApiResponse;
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingRequestStatus;
 import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.TicketLookupRequest;
+import com.flightapp.dto.TicketLookupResult;
+import com.flightapp.service.AsyncBookingPipeline;
+import com.flightapp.service.BookingIdempotencyService;
 import com.flightapp.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,21 +26,49 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingIdempotencyService bookingIdempotencyService;
+    private final AsyncBookingPipeline asyncBookingPipeline;
 
     @PostMapping("/booking/{flightId}")
-    public ResponseEntity<ApiResponse<BookingResponse>> bookFlight(
+    public ResponseEntity<ApiResponse<?>> bookFlight(
             @PathVariable Long flightId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @Valid @RequestBody BookingRequest request) {
         
         log.info("REST request to book flight ID: {} for email: {}", flightId, request.getEmail());
+
+        // "Prefer: respond-async" queues the booking and answers 202 with a request ID to poll.
+        // The queue does not track Idempotency-Keys, so a keyed request is booked synchronously
+        // and its retries are replayed (Prefer is only a preference, RFC 7240)
+        if (idempotencyKey == null && prefer != null && prefer.contains("respond-async")) {
+            BookingRequestStatus status = asyncBookingPipeline.submit(flightId, request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/api/v1.0/flight/booking/status/" + status.getRequestId())
+                    .body(ApiResponse.success("Booking request accepted. Request ID: " + status.getRequestId(), status));
+        }
         
-        BookingResponse response = bookingService.bookFlight(flightId, request);
+        // Retries carrying the same Idempotency-Key get the first booking back instead of a new one
+        BookingResponse response = idempotencyKey == null
+                ? bookingService.bookFlight(flightId, request)
+                : bookingIdempotencyService.bookFlight(idempotencyKey, flightId, request);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Flight booked successfully. PNR: " + response.getPnr(), response));
     }
 
     
+    @GetMapping("/booking/status/{requestId}")
+    public ResponseEntity<ApiResponse<BookingRequestStatus>> getBookingStatus(
+            @PathVariable String requestId) {
+
+        log.info("REST request to get status of booking request: {}", requestId);
+
+        BookingRequestStatus status = asyncBookingPipeline.getStatus(requestId);
+
+        return ResponseEntity.ok(ApiResponse.success("Booking request is " + status.getStatus(), status));
+    }
+
     @GetMapping("/ticket/{pnr}")
     public ResponseEntity<ApiResponse<BookingResponse>> getTicketByPNR(
             @PathVariable String pnr) {
@@ -49,11 +83,36 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Ticket details retrieved successfully", response));
     }
 
+    @PostMapping("/tickets/lookup")
+    public ResponseEntity<ApiResponse<List<TicketLookupResult>>> lookupTickets(
+            @Valid @RequestBody TicketLookupRequest request) {
+
+        log.info("REST request to look up {} ticket(s)", request.getPnrs().size());
+
+        // Trimmed like the single ticket lookup; unknown PNRs come back with found = false
+        List<TicketLookupResult> results = bookingService.lookupTickets(
+                request.getPnrs().stream().map(String::trim).toList());
+        long found = results.stream().filter(TicketLookupResult::isFound).count();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Found %d of %d ticket(s)", found, results.size()), results));
+    }
+
     @GetMapping("/booking/history/{emailId}")
-    public ResponseEntity<ApiResponse<List<BookingResponse>>> getBookingHistory(
-            @PathVariable String emailId) {
+    public ResponseEntity<ApiResponse<?>> getBookingHistory(
+            @PathVariable String emailId,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String cursor) {
         
         log.info("REST request to get booking history for email: {}", emailId);
+
+        // Optional paging: set pageSize to get one page, then send back the nextCursor of it
+        if (pageSize != null || cursor != null) {
+            BookingHistoryPage page = bookingService.getBookingHistoryPage(emailId, pageSize, cursor);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("Found %d booking(s) on this page", page.getBookings().size()), page));
+        }
         
         List<BookingResponse> bookings = bookingService.getBookingHistory(emailId);
         
@@ -1,18 +1,33 @@
 package com.flightapp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightapp.dto.ApiResponse;
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FareCalendarDay;
+import com.flightapp.dto.FareCalendarRequest;
 import com.flightapp.dto.FlightInventoryRequest;
+import com.flightapp.dto.FlightSearchPage;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.RoundTripSearchResponse;
+import com.flightapp.exceptions.BusinessException;
 import com.flightapp.service.FlightService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.SortedMap;
 
 @RestController
 @RequestMapping("/api/v1.0/flight")
@@ -21,6 +36,7 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/airline/inventory/add")
     public ResponseEntity<ApiResponse<FlightSearchResponse>> addFlightInventory(
@@ -35,12 +51,28 @@ public class FlightController {
     }
 
     @PostMapping("/search")
-    public ResponseEntity<ApiResponse<List<FlightSearchResponse>>> searchFlights(
+    public ResponseEntity<ApiResponse<?>> searchFlights(
             @Valid @RequestBody FlightSearchRequest request) {
         
         log.info("REST request to search flights from {} to {} on {}", 
                 request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        if (Boolean.TRUE.equals(request.getIsRoundTrip())) {
+            RoundTripSearchResponse roundTrip = flightService.searchRoundTrip(request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("Found %d outbound and %d return flight(s)",
+                            roundTrip.getOutboundFlights().size(), roundTrip.getReturnFlights().size()),
+                    roundTrip));
+        }
         
+        if (request.getPageSize() != null || request.getCursor() != null) {
+            FlightSearchPage page = flightService.searchFlightsPage(request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("Found %d flight(s) on this page", page.getFlights().size()), page));
+        }
+
         List<FlightSearchResponse> flights = flightService.searchFlights(request);
         
         if (flights.isEmpty()) {
@@ -51,6 +83,61 @@ public class FlightController {
                 String.format("Found %d flight(s) matching your search", flights.size()), flights));
     }
 
+    // Newline-delimited JSON, one flight per line, written as results are read
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFlights(
+            @Valid @RequestBody FlightSearchRequest request) {
+
+        log.info("REST request to stream flights from {} to {} on {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        if (Boolean.TRUE.equals(request.getIsRoundTrip())) {
+            throw new BusinessException("Round-trip searches cannot be streamed");
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                flightService.streamFlights(request, flight -> writeLine(out, flight));
+            } catch (ClientDisconnectedException e) {
+                // Nobody is reading any more, so the search just stops; not a server error
+                log.debug("Client closed the flight stream: {}", e.getCause().getMessage());
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping("/search/connections")
+    public ResponseEntity<ApiResponse<List<ItineraryResponse>>> searchConnections(
+            @Valid @RequestBody ConnectionSearchRequest request) {
+
+        log.info("REST request to search connections from {} to {} on {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        List<ItineraryResponse> itineraries = flightService.searchConnections(request);
+
+        if (itineraries.isEmpty()) {
+            return ResponseEntity.ok(ApiResponse.success("No itineraries found matching your search criteria", itineraries));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Found %d itinerary(ies) matching your search", itineraries.size()), itineraries));
+    }
+
+    @PostMapping("/search/calendar")
+    public ResponseEntity<ApiResponse<SortedMap<LocalDate, FareCalendarDay>>> getFareCalendar(
+            @Valid @RequestBody FareCalendarRequest request) {
+
+        log.info("REST request for fare calendar from {} to {} around {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        SortedMap<LocalDate, FareCalendarDay> calendar = flightService.getFareCalendar(request);
+        long daysWithFlights = calendar.values().stream().filter(day -> day.getFlightCount() > 0).count();
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Found flights on %d of %d day(s)", daysWithFlights, calendar.size()), calendar));
+    }
+
     @GetMapping("/{flightId}")
     public ResponseEntity<ApiResponse<FlightSearchResponse>> getFlightById(
             @PathVariable Long flightId) {
@@ -61,4 +148,29 @@ public class FlightController {
         
         return ResponseEntity.ok(ApiResponse.success(response));
     }
-}
\ No newline at end of file
+
+    // Helper methods
+
+    private void writeLine(OutputStream out, FlightSearchResponse flight) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(flight);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            out.write(json);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new ClientDisconnectedException(e);
+        }
+    }
+
+    // A write to the response failed: the client went away mid-stream
+    private static class ClientDisconnectedException extends RuntimeException {
+
+        ClientDisconnectedException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.ApiResponse;
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.service.LocationSuggester;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1.0/flight/locations")
+@RequiredArgsConstructor
+@Slf4j
+public class LocationController {
+
+    private final LocationSuggester locationSuggester;
+
+    // Called on every keystroke, so it logs at debug
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<LocationResponse>>> suggestLocations(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.debug("REST request to suggest locations for: {}", query);
+
+        List<LocationResponse> suggestions = locationSuggester.suggest(query, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Found %d location(s)", suggestions.size()), suggestions));
+    }
+}
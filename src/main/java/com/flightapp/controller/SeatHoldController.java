@@ -0,0 +1,46 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.ApiResponse;
+import com.flightapp.dto.SeatHoldRequest;
+import com.flightapp.dto.SeatHoldResponse;
+import com.flightapp.service.SeatHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1.0/flight")
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    @PostMapping("/hold/{flightId}")
+    public ResponseEntity<ApiResponse<SeatHoldResponse>> holdSeats(
+            @PathVariable Long flightId,
+            @Valid @RequestBody SeatHoldRequest request) {
+
+        log.info("REST request to hold seats {} on flight ID: {}", request.getSeatNumbers(), flightId);
+
+        SeatHoldResponse response = seatHoldService.holdSeats(flightId, request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Seats held until " + response.getExpiresAt()
+                        + ". Hold ID: " + response.getHoldId(), response));
+    }
+
+    @DeleteMapping("/hold/{holdId}")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(
+            @PathVariable Long holdId) {
+
+        log.info("REST request to release seat hold ID: {}", holdId);
+
+        seatHoldService.releaseHold(holdId);
+
+        return ResponseEntity.ok(ApiResponse.success("Seat hold released. Hold ID: " + holdId, null));
+    }
+}
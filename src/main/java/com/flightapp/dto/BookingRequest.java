@@ -27,4 +27,10 @@ public class BookingRequest {
     @Size(min = 1, max = 9, message = "Booking must have between 1 and 9 passengers")
     @Valid
     private List<PassengerRequest> passengers;
+
+    // Optional: confirms a hold from POST /hold/{flightId}; seats must match the held seats
+    private Long holdId;
+
+    // Optional: priceToken of the flight details; without it the live fare at booking time applies
+    private String priceToken;
 }
\ No newline at end of file
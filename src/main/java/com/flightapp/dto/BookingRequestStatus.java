@@ -0,0 +1,37 @@
+package com.flightapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a booking accepted for asynchronous processing.
+ * Status is QUEUED, PROCESSING, CONFIRMED (booking is set) or FAILED (message says why).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingRequestStatus {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String CONFIRMED = "CONFIRMED";
+    public static final String FAILED = "FAILED";
+
+    private String requestId;
+    private Long flightId;
+    private String status;
+    private String message;
+    private BookingResponse booking;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime completedAt;
+}
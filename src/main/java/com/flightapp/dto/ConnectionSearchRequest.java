@@ -0,0 +1,57 @@
+package com.flightapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConnectionSearchRequest {
+
+    @NotBlank(message = "From location is required")
+    private String fromLocation;
+
+    @NotBlank(message = "To location is required")
+    private String toLocation;
+
+    @NotNull(message = "Travel date is required")
+    @FutureOrPresent(message = "Travel date cannot be in the past")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate travelDate;
+
+    @NotNull(message = "Number of passengers is required")
+    @Min(value = 1, message = "At least 1 passenger is required")
+    @Max(value = 9, message = "Maximum 9 passengers allowed per booking")
+    private Integer numberOfPassengers;
+
+    // Optional: defaults to 2
+    @Min(value = 0, message = "Stops cannot be negative")
+    @Max(value = 2, message = "At most 2 stops are supported")
+    private Integer maxStops;
+
+    // Optional: default layover bounds come from configuration
+    @Min(value = 0, message = "Minimum layover cannot be negative")
+    private Integer minLayoverMinutes;
+
+    @Min(value = 1, message = "Maximum layover must be at least 1 minute")
+    private Integer maxLayoverMinutes;
+
+    // Optional: defaults to DURATION
+    private SortBy sortBy;
+
+    // Optional: defaults to 10
+    @Min(value = 1, message = "At least 1 result must be requested")
+    @Max(value = 50, message = "At most 50 results can be requested")
+    private Integer maxResults;
+
+    public enum SortBy {
+        DURATION, PRICE
+    }
+}
@@ -0,0 +1,22 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Summary of the bookable flights on one day of a fare calendar; the minimums are null when there are none
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FareCalendarDay {
+
+    private BigDecimal minBasePrice;
+    // Lowest live fare per passenger, as search and booking price it
+    private BigDecimal minFare;
+    private Integer flightCount;
+    private Integer maxAvailableSeats;
+}
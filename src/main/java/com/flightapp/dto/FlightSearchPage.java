@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightSearchPage {
+    private List<FlightSearchResponse> flights;
+
+    // Pass back as the cursor of the next request; null on the last page
+    private String nextCursor;
+}
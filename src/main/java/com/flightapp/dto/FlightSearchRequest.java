@@ -7,7 +7,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -31,9 +34,48 @@ public class FlightSearchRequest {
     @Max(value = 9, message = "Maximum 9 passengers allowed per booking")
     private Integer numberOfPassengers;
 
-    // Optional: For future round-trip support
+    // Required when isRoundTrip is true
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate returnDate;
 
     private Boolean isRoundTrip = false;
+
+    // Optional one-way paging: set pageSize to get one page, then send back the nextCursor of it
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 200, message = "Maximum page size is 200")
+    private Integer pageSize;
+
+    private String cursor;
+
+    // Optional filters. The departure window is a time of day, both ends inclusive; on a
+    // round trip it applies to the outbound leg only, the other filters to both legs.
+    @Size(max = 20, message = "At most 20 airline codes can be given")
+    private List<String> airlineCodes;
+
+    @DecimalMin(value = "0.0", message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0.0", message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureAfter;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureBefore;
+
+    @Min(value = 1, message = "Maximum duration must be at least 1 minute")
+    private Integer maxDurationMinutes;
+
+    // Optional: defaults to DEPARTURE
+    private SortBy sortBy;
+
+    // Optional: only the first maxResults flights in sortBy order
+    @Min(value = 1, message = "At least 1 result must be requested")
+    @Max(value = 200, message = "At most 200 results can be requested")
+    private Integer maxResults;
+
+    public enum SortBy {
+        DEPARTURE, PRICE, DURATION
+    }
 }
\ No newline at end of file
@@ -31,4 +31,9 @@ public class FlightSearchResponse {
     private Integer availableSeats;
     private BigDecimal basePrice;
     private String duration; // e.g., "2h 30m"
+
+    // Live fare per passenger; booking with the price token charges this fare until the token expires.
+    // Only flight details (GET /flight/{flightId}) carry a token, search results leave it null
+    private BigDecimal fare;
+    private String priceToken;
 }
\ No newline at end of file
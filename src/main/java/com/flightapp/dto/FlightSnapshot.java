@@ -0,0 +1,60 @@
+package com.flightapp.dto;
+
+import com.flightapp.entity.Flight;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the searchable fields of a flight, shared by readers of
+ * {@link com.flightapp.service.FlightSearchIndex}. A change replaces the whole snapshot. The base
+ * price is also kept in minor units (paise), which {@link com.flightapp.service.PricingEngine}
+ * prices without allocating. FlightRepository's search queries select it directly.
+ */
+public record FlightSnapshot(
+        Long id,
+        String flightNumber,
+        String airlineName,
+        String airlineCode,
+        String fromLocation,
+        String toLocation,
+        LocalDateTime departureTime,
+        LocalDateTime arrivalTime,
+        int totalSeats,
+        int availableSeats,
+        BigDecimal basePrice,
+        boolean bookable,
+        long basePriceMinor) {
+
+    public FlightSnapshot(Long id, String flightNumber, String airlineName, String airlineCode,
+                          String fromLocation, String toLocation, LocalDateTime departureTime,
+                          LocalDateTime arrivalTime, int totalSeats, int availableSeats,
+                          BigDecimal basePrice, boolean bookable) {
+        this(id, flightNumber, airlineName, airlineCode, fromLocation, toLocation, departureTime, arrivalTime,
+                totalSeats, availableSeats, basePrice, bookable,
+                basePrice.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    public static FlightSnapshot of(Flight flight) {
+        return new FlightSnapshot(
+                flight.getId(),
+                flight.getFlightNumber(),
+                flight.getAirline().getAirlineName(),
+                flight.getAirline().getAirlineCode(),
+                flight.getFromLocation(),
+                flight.getToLocation(),
+                flight.getDepartureTime(),
+                flight.getArrivalTime(),
+                flight.getTotalSeats(),
+                flight.getAvailableSeats(),
+                flight.getBasePrice(),
+                Boolean.TRUE.equals(flight.getIsActive())
+                        && flight.getFlightStatus() == Flight.FlightStatus.SCHEDULED);
+    }
+
+    public FlightSnapshot withAvailableSeats(int seats) {
+        return new FlightSnapshot(id, flightNumber, airlineName, airlineCode, fromLocation, toLocation,
+                departureTime, arrivalTime, totalSeats, seats, basePrice, bookable, basePriceMinor);
+    }
+}
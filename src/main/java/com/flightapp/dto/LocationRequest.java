@@ -0,0 +1,24 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationRequest {
+
+    @NotBlank(message = "Location name is required")
+    @Size(min = 2, max = 100, message = "Location name must be between 2 and 100 characters")
+    private String locationName;
+
+    @NotBlank(message = "Location code is required")
+    @Pattern(regexp = "^[A-Za-z]{3}$", message = "Location code must be a 3-letter IATA code")
+    private String locationCode;
+}
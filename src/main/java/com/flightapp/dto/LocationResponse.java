@@ -0,0 +1,16 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationResponse {
+    private Integer id;
+    private String locationName;
+    private String locationCode;
+}
@@ -0,0 +1,22 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LockStripeStats {
+    private Integer stripe;
+    private Long acquisitions;
+    private Long contendedAcquisitions;
+    private Long timeouts;
+    private Integer queueLength;
+    private Long avgWaitMicros;
+    private Long maxWaitMicros;
+    private Long avgHoldMicros;
+    private Long maxHoldMicros;
+}
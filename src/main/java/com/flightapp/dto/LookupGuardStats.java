@@ -0,0 +1,22 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LookupGuardStats {
+    private String keyType;
+    private Long keys;
+    private Integer stages;
+    private Long memoryBytes;
+
+    // Expected chance that a key which does not exist still goes to the database
+    private Double falsePositiveRate;
+
+    private Long rejectedLookups;
+}
@@ -30,6 +30,6 @@ public class PassengerRequest {
     private String mealPreference = "NONE";
 
     @NotBlank(message = "Seat number is required")
-    @Pattern(regexp = "^[A-Z0-9]{2,5}$", message = "Invalid seat number format (e.g., 12A, 5B)")
+    @Pattern(regexp = "^(?!0)[A-Z0-9]{2,5}$", message = "Invalid seat number format (e.g., 12A, 5B)")
     private String seatNumber;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoundTripSearchResponse {
+    private List<FlightSearchResponse> outboundFlights;
+    private List<FlightSearchResponse> returnFlights;
+}
@@ -0,0 +1,25 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHoldRequest {
+
+    @NotNull(message = "Seat numbers are required")
+    @Size(min = 1, max = 9, message = "A hold must have between 1 and 9 seats")
+    private List<@NotBlank @Pattern(regexp = "^(?!0)[A-Z0-9]{2,5}$",
+            message = "Invalid seat number format (e.g., 12A, 5B)") String> seatNumbers;
+
+    // Optional: defaults to flightapp.hold.default-minutes
+    @Min(value = 1, message = "Hold must last at least 1 minute")
+    private Integer holdMinutes;
+}
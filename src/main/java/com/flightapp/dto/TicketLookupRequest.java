@@ -0,0 +1,22 @@
+package com.flightapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketLookupRequest {
+
+    @NotNull(message = "PNR list is required")
+    @Size(min = 1, max = 500, message = "Lookup must have between 1 and 500 PNRs")
+    private List<@NotBlank(message = "PNR cannot be blank") String> pnrs;
+}
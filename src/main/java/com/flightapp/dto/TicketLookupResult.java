@@ -0,0 +1,18 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketLookupResult {
+    private String pnr;
+    private boolean found;
+
+    // Null when no booking has this PNR
+    private BookingResponse ticket;
+}
@@ -13,7 +13,7 @@ import lombok.*;
 public class Airline extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @Column(name = "airline_name", nullable = false, unique = true, length = 100)
@@ -20,7 +20,7 @@ import java.util.List;
 public class Booking extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @Column(name = "pnr", nullable = false, unique = true, length = 10)
@@ -50,6 +50,11 @@ public class Booking extends BaseEntity {
     @Builder.Default
     private List<Passenger> passengers = new ArrayList<>();
 
+    // Seats held in flight_seats while the booking is confirmed; cleared on cancel
+    @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<FlightSeat> seatReservations = new ArrayList<>();
+
     public enum BookingStatus {
         CONFIRMED,
         CANCELLED,
@@ -60,4 +65,9 @@ public class Booking extends BaseEntity {
         passengers.add(passenger);
         passenger.setBooking(this);
     }
+
+    public void addSeatReservation(FlightSeat seatReservation) {
+        seatReservations.add(seatReservation);
+        seatReservation.setBooking(this);
+    }
 }
\ No newline at end of file
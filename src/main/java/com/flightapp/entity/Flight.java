@@ -6,8 +6,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "flights", indexes = {
-    @Index(name = "idx_flight_route_date", columnList = "from_location, to_location, departure_time"),
-    @Index(name = "idx_departure_time", columnList = "departure_time")
+    @Index(name = "idx_flight_route_ids_date", columnList = "from_location_id, to_location_id, departure_time"),
+    @Index(name = "idx_departure_time", columnList = "departure_time"),
+    @Index(name = "idx_flight_updated_at", columnList = "updated_at")
 })
 @Getter
 @Setter
@@ -17,7 +18,7 @@ import java.time.LocalDateTime;
 public class Flight extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @Column(name = "flight_number", nullable = false, unique = true, length = 20)
@@ -27,12 +28,20 @@ public class Flight extends BaseEntity {
     @JoinColumn(name = "airline_id", nullable = false)
     private Airline airline;
 
+    // Display names as registered in the location dictionary; search goes by the ids
     @Column(name = "from_location", nullable = false, length = 100)
     private String fromLocation;
 
     @Column(name = "to_location", nullable = false, length = 100)
     private String toLocation;
 
+    // Nullable only so rows from before the dictionary can be backfilled at startup
+    @Column(name = "from_location_id")
+    private Integer fromLocationId;
+
+    @Column(name = "to_location_id")
+    private Integer toLocationId;
+
     @Column(name = "departure_time", nullable = false)
     private LocalDateTime departureTime;
 
@@ -0,0 +1,43 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per seat taken by a confirmed booking or an active seat hold; exactly one of
+ * booking and hold is set. The unique (flight_id, seat_number) key makes the database
+ * reject a double booking, or a booking of a held seat, even when two transactions on
+ * different nodes pass the seat check at the same time.
+ */
+@Entity
+@Table(name = "flight_seats", uniqueConstraints = {
+    @UniqueConstraint(name = FlightSeat.UNIQUE_SEAT_CONSTRAINT, columnNames = {"flight_id", "seat_number"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightSeat extends BaseEntity {
+
+    public static final String UNIQUE_SEAT_CONSTRAINT = "uk_flight_seat";
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", nullable = false)
+    private Flight flight;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    private Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hold_id")
+    private SeatHold hold;
+
+    @Column(name = "seat_number", nullable = false, length = 10)
+    private String seatNumber;
+}
@@ -0,0 +1,32 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Dictionary of the places flights operate between. Flights refer to a location by its small
+ * integer id; normalizedName (trimmed, lower case) makes "Delhi" and " delhi" the same row.
+ */
+@Entity
+@Table(name = "locations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Location extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "location_name", nullable = false, length = 100)
+    private String locationName;
+
+    @Column(name = "normalized_name", nullable = false, unique = true, length = 100)
+    private String normalizedName;
+
+    // IATA code, upper case; optional until an admin assigns one
+    @Column(name = "location_code", unique = true, length = 3)
+    private String locationCode;
+}
@@ -0,0 +1,70 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seats set aside for a customer while they pay.
+ * Held seats are already taken off the flight's available seats; they are given back
+ * when the hold expires or is released, and kept when a booking confirms the hold.
+ */
+@Entity
+@Table(name = "seat_holds", indexes = {
+    @Index(name = "idx_hold_status", columnList = "hold_status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHold extends BaseEntity {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", nullable = false)
+    private Flight flight;
+
+    // Comma separated, at most 9 seats
+    @Column(name = "seat_numbers", nullable = false, length = 60)
+    private String seatNumbers;
+
+    @Column(name = "seat_count", nullable = false)
+    private Integer seatCount;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hold_status", nullable = false, length = 20)
+    @Builder.Default
+    private HoldStatus holdStatus = HoldStatus.HELD;
+
+    // Seats taken in flight_seats while the hold is active; deleted when it ends
+    @OneToMany(mappedBy = "hold", cascade = CascadeType.PERSIST)
+    @Builder.Default
+    private List<FlightSeat> seatReservations = new ArrayList<>();
+
+    public enum HoldStatus {
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    public void addSeatReservation(FlightSeat seatReservation) {
+        seatReservations.add(seatReservation);
+        seatReservation.setHold(this);
+    }
+
+    public List<String> getSeatNumberList() {
+        return Arrays.asList(seatNumbers.split(","));
+    }
+}
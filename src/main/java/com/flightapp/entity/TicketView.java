@@ -0,0 +1,88 @@
+package com.flightapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a ticket: one row per booking with everything a ticket shows, so reading a
+ * ticket or a booking history touches this table only. The flight (with its airline name)
+ * and the passengers are stored as JSON. Rows are written by TicketViewProjector in the
+ * transaction that changes the booking or the flight details, and can be rebuilt from the
+ * normalized tables with TicketViewReplayer.
+ */
+@Entity
+@Table(name = "ticket_view", indexes = {
+    @Index(name = "idx_ticket_view_pnr", columnList = "pnr", unique = true),
+    @Index(name = "idx_ticket_view_email_date", columnList = "email, booking_date, booking_id"),
+    @Index(name = "idx_ticket_view_flight", columnList = "flight_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketView implements Persistable<Long> {
+
+    // The id of the booking
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "pnr", nullable = false, length = 10)
+    private String pnr;
+
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "contact_name", nullable = false, length = 100)
+    private String contactName;
+
+    @Column(name = "number_of_seats", nullable = false)
+    private Integer numberOfSeats;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status", nullable = false, length = 20)
+    private Booking.BookingStatus bookingStatus;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "flight_json", nullable = false, length = 1000)
+    private String flightJson;
+
+    // At most 9 passengers
+    @Column(name = "passengers_json", nullable = false, length = 4000)
+    private String passengersJson;
+
+    // The id is the booking's, so save() can't tell a new row by a null id; new rows insert
+    // without the select a merge would run first
+    @Transient
+    @Builder.Default
+    private boolean newRow = true;
+
+    @Override
+    public Long getId() {
+        return bookingId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+}
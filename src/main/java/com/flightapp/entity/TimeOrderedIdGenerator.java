@@ -0,0 +1,78 @@
+package com.flightapp.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Application-side id generator producing time-ordered 53-bit ids:
+ * <pre>
+ *   [41 bits: millis since 2025-01-01][4 bits: node id][8 bits: sequence]
+ * </pre>
+ * Ids stay below 2^53 so they survive a round trip through JavaScript numbers.
+ * No database round trip is needed, which works the same on MySQL (no sequences) and H2,
+ * and the values start far above any id previously handed out by AUTO_INCREMENT.
+ *
+ * When more than 256 ids are requested within one millisecond the generator borrows the
+ * next millisecond instead of waiting; the same rule keeps ids increasing if the clock steps back.
+ * Hibernate asks Spring to build the generator, so the node id is injected from
+ * {@code flightapp.node-id}; it must differ between instances sharing a database.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public TimeOrderedIdGenerator(@Value("${flightapp.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "flightapp.node-id must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    // Millisecond an id was generated in; ids handed out by AUTO_INCREMENT come out before 2025
+    public static long issuedAtEpochMilli(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long next;
+        while (true) {
+            long previous = lastState.get();
+            next = (previous >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
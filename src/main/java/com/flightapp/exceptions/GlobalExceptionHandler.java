@@ -1,7 +1,11 @@
 package com.flightapp.exceptions;
 
 import com.flightapp.dto.ErrorResponse;
+import com.flightapp.entity.FlightSeat;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,9 +13,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -88,6 +94,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handle database constraint violations (e.g. a seat booked by a concurrent transaction)
+     * HTTP Status: 409 CONFLICT
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+
+        log.error("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        boolean seatConflict = isSeatConflict(ex);
+        String message = seatConflict
+                ? "One or more selected seats have just been booked. Please choose different seats"
+                : "Request conflicts with existing data";
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .success(false)
+                .message(message)
+                .errorCode(seatConflict ? "SEAT_ALREADY_BOOKED" : "DATA_CONFLICT")
+                .errors(List.of(message))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handle BusinessException (business rule violations)
      * HTTP Status: 400 BAD REQUEST
@@ -108,6 +139,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle ServiceUnavailableException (transient, e.g. an index still loading)
+     * HTTP Status: 503 SERVICE UNAVAILABLE
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+
+        // Clears up on its own, so not an error
+        log.warn("Service unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .success(false)
+                .message(ex.getMessage())
+                .errorCode("SERVICE_UNAVAILABLE")
+                .errors(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Handle IllegalArgumentException
      * HTTP Status: 400 BAD REQUEST
@@ -128,6 +182,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle a streamed response whose client disconnected
+     * No response: there is nobody left to send one to
+     */
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex) {
+
+        log.debug("Client disconnected: {}", ex.getMessage());
+    }
+
     /**
      * Handle all other unexpected exceptions
      * HTTP Status: 500 INTERNAL SERVER ERROR
@@ -147,4 +211,12 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+
+    private boolean isSeatConflict(DataIntegrityViolationException ex) {
+        String constraintName = ex.getCause() instanceof ConstraintViolationException cve
+                ? cve.getConstraintName()
+                : ex.getMostSpecificCause().getMessage();
+        return constraintName != null
+                && constraintName.toLowerCase(Locale.ROOT).contains(FlightSeat.UNIQUE_SEAT_CONSTRAINT);
+    }
 }
\ No newline at end of file
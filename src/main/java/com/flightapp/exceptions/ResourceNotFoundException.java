@@ -6,11 +6,12 @@ package com.flightapp.exceptions;
  */
 public class ResourceNotFoundException extends RuntimeException {
 
+    // An expected client error, answered with its message only: skip capturing a stack trace
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
+        this(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
     }
 }
\ No newline at end of file
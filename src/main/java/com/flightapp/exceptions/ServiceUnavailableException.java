@@ -0,0 +1,21 @@
+package com.flightapp.exceptions;
+
+/**
+ * Exception thrown when a request cannot be served yet for a transient server-side reason
+ * HTTP Status: 503 SERVICE UNAVAILABLE, with a Retry-After header
+ * Examples: search index still loading after startup
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    // Expected while it lasts and answered with its message only: skip capturing a stack trace
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
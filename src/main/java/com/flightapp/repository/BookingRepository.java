@@ -1,13 +1,23 @@
 package com.flightapp.repository;
 
 import com.flightapp.entity.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -15,9 +25,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
   
     Optional<Booking> findByPnr(String pnr);
 
-    
-    @Query("SELECT b FROM Booking b WHERE b.email = :email ORDER BY b.createdAt DESC")
-    List<Booking> findByEmailOrderByCreatedAtDesc(@Param("email") String email);
+    // Concurrent cancels of one booking race for this row: only one CONFIRMED -> CANCELLED can succeed
+    @Modifying
+    @Query("UPDATE Booking b SET b.bookingStatus = 'CANCELLED' WHERE b.id = :id AND b.bookingStatus = 'CONFIRMED'")
+    int cancelIfConfirmed(@Param("id") Long id);
+
+    // Ticket view replay: booking ids in id order, a chunk at a time
+    @Query("SELECT b.id FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Same, but only bookings that have no ticket view row yet
+    @Query("SELECT b.id FROM Booking b WHERE b.id > :afterId " +
+           "AND NOT EXISTS (SELECT v.bookingId FROM TicketView v WHERE v.bookingId = b.id) ORDER BY b.id")
+    List<Long> findIdsWithoutTicketViewAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Locks the bookings of a replay chunk so a cancellation can't land between reading and writing their rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Flight and airline in the same statement; passengers come from PassengerRepository.findByBookingIdIn
+    @EntityGraph(attributePaths = {"flight", "flight.airline"})
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids")
+    List<Booking> findWithFlightByIdIn(@Param("ids") Collection<Long> ids);
 
     List<Booking> findByEmailAndBookingStatus(String email, Booking.BookingStatus bookingStatus);
 
@@ -27,6 +57,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     boolean existsByPnr(String pnr);
 
+    // Every PNR through a database cursor, to fill the lookup guard at startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.pnr FROM Booking b")
+    Stream<String> streamAllPnrs();
+
    
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.flight.id = :flightId AND b.bookingStatus = 'CONFIRMED'")
     Long countConfirmedBookingsByFlightId(@Param("flightId") Long flightId);
@@ -1,34 +1,90 @@
 package com.flightapp.repository;
 
+import com.flightapp.dto.FlightSnapshot;
 import com.flightapp.entity.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
+    // Bookable search rows as FlightSnapshot, for queries over Flight f JOIN f.airline a
+    String SNAPSHOT_COLUMNS = "new com.flightapp.dto.FlightSnapshot(" +
+            "f.id, f.flightNumber, a.airlineName, a.airlineCode, f.fromLocation, f.toLocation, " +
+            "f.departureTime, f.arrivalTime, f.totalSeats, f.availableSeats, f.basePrice, true)";
+
     
     Optional<Flight> findByFlightNumber(String flightNumber);
 
     
-    @Query("SELECT f FROM Flight f WHERE " +
-           "f.fromLocation = :fromLocation AND " +
-           "f.toLocation = :toLocation AND " +
+    // Search results only need the response columns: selecting them with the airline joined in
+    // is one statement and leaves nothing in the persistence context to track
+    @Query("SELECT " + SNAPSHOT_COLUMNS + " FROM Flight f JOIN f.airline a WHERE " +
+           "f.fromLocationId = :fromLocationId AND " +
+           "f.toLocationId = :toLocationId AND " +
+           "f.departureTime >= :startDate AND " +
+           "f.departureTime < :endDate AND " +
+           "f.availableSeats >= :requiredSeats AND " +
+           "f.isActive = true AND " +
+           "f.flightStatus = 'SCHEDULED' " +
+           "ORDER BY f.departureTime ASC, f.id ASC")
+    List<FlightSnapshot> searchFlights(
+        @Param("fromLocationId") Integer fromLocationId,
+        @Param("toLocationId") Integer toLocationId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("requiredSeats") Integer requiredSeats
+    );
+
+    // Keyset page of searchFlights: rows after (afterDeparture, afterId). InnoDB appends the primary
+    // key to idx_flight_route_ids_date, so the index already holds rows in this order
+    @Query("SELECT " + SNAPSHOT_COLUMNS + " FROM Flight f JOIN f.airline a WHERE " +
+           "f.fromLocationId = :fromLocationId AND " +
+           "f.toLocationId = :toLocationId AND " +
+           "f.departureTime >= :startDate AND " +
+           "f.departureTime < :endDate AND " +
+           "(f.departureTime > :afterDeparture OR (f.departureTime = :afterDeparture AND f.id > :afterId)) AND " +
+           "f.availableSeats >= :requiredSeats AND " +
+           "f.isActive = true AND " +
+           "f.flightStatus = 'SCHEDULED' " +
+           "ORDER BY f.departureTime ASC, f.id ASC")
+    List<FlightSnapshot> searchFlightsAfter(
+        @Param("fromLocationId") Integer fromLocationId,
+        @Param("toLocationId") Integer toLocationId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("requiredSeats") Integer requiredSeats,
+        @Param("afterDeparture") LocalDateTime afterDeparture,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Same rows as searchFlights read through a database cursor, so memory stays flat however many go by
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + SNAPSHOT_COLUMNS + " FROM Flight f JOIN f.airline a WHERE " +
+           "f.fromLocationId = :fromLocationId AND " +
+           "f.toLocationId = :toLocationId AND " +
            "f.departureTime >= :startDate AND " +
            "f.departureTime < :endDate AND " +
            "f.availableSeats >= :requiredSeats AND " +
            "f.isActive = true AND " +
            "f.flightStatus = 'SCHEDULED' " +
-           "ORDER BY f.departureTime ASC")
-    List<Flight> searchFlights(
-        @Param("fromLocation") String fromLocation,
-        @Param("toLocation") String toLocation,
+           "ORDER BY f.departureTime ASC, f.id ASC")
+    Stream<FlightSnapshot> streamFlights(
+        @Param("fromLocationId") Integer fromLocationId,
+        @Param("toLocationId") Integer toLocationId,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate,
         @Param("requiredSeats") Integer requiredSeats
@@ -38,9 +94,98 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     @Query("SELECT f FROM Flight f WHERE f.airline.id = :airlineId AND f.isActive = true")
     List<Flight> findByAirlineId(@Param("airlineId") Long airlineId);
 
+    // Active or not, with the airline: every flight whose tickets show the airline
+    @Query("SELECT f FROM Flight f JOIN FETCH f.airline WHERE f.airline.id = :airlineId")
+    List<Flight> findAllByAirlineId(@Param("airlineId") Long airlineId);
+
+    // Airline details are copied into search snapshots; moving updated_at makes every node's refresh re-read them
+    @Modifying
+    @Query("UPDATE Flight f SET f.updatedAt = LOCAL DATETIME WHERE f.airline.id = :airlineId")
+    int touchByAirlineId(@Param("airlineId") Long airlineId);
+
     List<Flight> findByDepartureTimeAfterAndIsActiveTrue(LocalDateTime departureTime);
 
     boolean existsByFlightNumber(String flightNumber);
 
+    // Returns the number of rows updated: 0 means the flight is missing or short of seats
+    @Modifying
+    @Query("UPDATE Flight f SET " +
+           "f.availableSeats = f.availableSeats - :seats, " +
+           "f.updatedAt = LOCAL DATETIME " +
+           "WHERE f.id = :flightId AND f.availableSeats >= :seats")
+    int decrementAvailableSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+
+    // Returns the number of rows updated: 0 means the flight is missing or would exceed total seats
+    @Modifying
+    @Query("UPDATE Flight f SET " +
+           "f.availableSeats = f.availableSeats + :seats, " +
+           "f.updatedAt = LOCAL DATETIME " +
+           "WHERE f.id = :flightId AND f.availableSeats + :seats <= f.totalSeats")
+    int incrementAvailableSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+
+    // Every flight id through a database cursor, to fill the lookup guard at startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT f.id FROM Flight f")
+    Stream<Long> streamAllIds();
+
+    // Location backfill for flights stored before the location dictionary existed
+    @Query("SELECT DISTINCT f.fromLocation FROM Flight f WHERE f.fromLocationId IS NULL")
+    List<String> findUnmappedFromLocations();
+
+    @Query("SELECT DISTINCT f.toLocation FROM Flight f WHERE f.toLocationId IS NULL")
+    List<String> findUnmappedToLocations();
+
+    @Modifying
+    @Query("UPDATE Flight f SET " +
+           "f.fromLocationId = :locationId, " +
+           "f.fromLocation = :locationName, " +
+           "f.updatedAt = LOCAL DATETIME " +
+           "WHERE f.fromLocationId IS NULL AND f.fromLocation = :location")
+    int assignFromLocation(@Param("location") String location,
+                           @Param("locationId") Integer locationId,
+                           @Param("locationName") String locationName);
+
+    @Modifying
+    @Query("UPDATE Flight f SET " +
+           "f.toLocationId = :locationId, " +
+           "f.toLocation = :locationName, " +
+           "f.updatedAt = LOCAL DATETIME " +
+           "WHERE f.toLocationId IS NULL AND f.toLocation = :location")
+    int assignToLocation(@Param("location") String location,
+                         @Param("locationId") Integer locationId,
+                         @Param("locationName") String locationName);
+
+    // Upcoming flights per location, which ranks location suggestions
+    @Query("SELECT f.fromLocationId AS locationId, COUNT(f) AS flightCount FROM Flight f " +
+           "WHERE f.fromLocationId IS NOT NULL AND f.departureTime >= :fromDeparture AND f.isActive = true " +
+           "GROUP BY f.fromLocationId")
+    List<LocationFlightCount> countUpcomingFlightsByFromLocation(@Param("fromDeparture") LocalDateTime fromDeparture);
+
+    @Query("SELECT f.toLocationId AS locationId, COUNT(f) AS flightCount FROM Flight f " +
+           "WHERE f.toLocationId IS NOT NULL AND f.departureTime >= :fromDeparture AND f.isActive = true " +
+           "GROUP BY f.toLocationId")
+    List<LocationFlightCount> countUpcomingFlightsByToLocation(@Param("fromDeparture") LocalDateTime fromDeparture);
+
     List<Flight> findByFlightStatusAndIsActiveTrue(Flight.FlightStatus flightStatus);
-}
\ No newline at end of file
+
+    // Keyset-paged load of the search index: flights departing from the given time, ordered by id
+    @Query("SELECT f FROM Flight f JOIN FETCH f.airline " +
+           "WHERE f.departureTime >= :fromDeparture AND f.id > :afterId ORDER BY f.id")
+    List<Flight> findUpcomingAfterId(
+        @Param("fromDeparture") LocalDateTime fromDeparture,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    @Query("SELECT f FROM Flight f JOIN FETCH f.airline " +
+           "WHERE f.updatedAt >= :since AND f.departureTime >= :fromDeparture")
+    List<Flight> findChangedSince(
+        @Param("since") LocalDateTime since,
+        @Param("fromDeparture") LocalDateTime fromDeparture
+    );
+
+    interface LocationFlightCount {
+        Integer getLocationId();
+        Long getFlightCount();
+    }
+}
@@ -0,0 +1,33 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.FlightSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FlightSeatRepository extends JpaRepository<FlightSeat, Long> {
+
+    // Frees the seats of a hold that ended; a confirming booking then takes them under its own rows
+    @Modifying
+    @Query("DELETE FROM FlightSeat s WHERE s.hold.id = :holdId")
+    int deleteByHoldId(@Param("holdId") Long holdId);
+
+    // Rows for confirmed bookings made before flight_seats existed. Each row reuses its passenger's id,
+    // which the shared id generator never hands out twice. A seat sold twice back then keeps its oldest
+    // passenger. Seats that already have a row are skipped, so running it again inserts nothing.
+    @Modifying
+    @Query(value = "INSERT INTO flight_seats (id, flight_id, booking_id, seat_number, created_at, updated_at) " +
+           "SELECT p.id, b.flight_id, b.id, p.seat_number, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+           "FROM passengers p JOIN bookings b ON b.id = p.booking_id " +
+           "WHERE b.booking_status = 'CONFIRMED' " +
+           "AND NOT EXISTS (SELECT 1 FROM flight_seats s " +
+           "    WHERE s.flight_id = b.flight_id AND s.seat_number = p.seat_number) " +
+           "AND p.id = (SELECT MIN(p2.id) FROM passengers p2 JOIN bookings b2 ON b2.id = p2.booking_id " +
+           "    WHERE b2.flight_id = b.flight_id AND b2.booking_status = 'CONFIRMED' " +
+           "    AND p2.seat_number = p.seat_number)",
+           nativeQuery = true)
+    int backfillConfirmedSeats();
+}
@@ -0,0 +1,15 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Integer> {
+
+    Optional<Location> findByNormalizedName(String normalizedName);
+
+    Optional<Location> findByLocationCode(String locationCode);
+}
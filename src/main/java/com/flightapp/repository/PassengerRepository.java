@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +15,9 @@ public interface PassengerRepository extends JpaRepository<Passenger, Long> {
     @Query("SELECT p FROM Passenger p WHERE p.booking.id = :bookingId")
     List<Passenger> findByBookingId(@Param("bookingId") Long bookingId);
 
+    @Query("SELECT p FROM Passenger p WHERE p.booking.id IN :bookingIds ORDER BY p.id")
+    List<Passenger> findByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
     @Query("SELECT p FROM Passenger p WHERE p.booking.flight.id = :flightId")
     List<Passenger> findByFlightId(@Param("flightId") Long flightId);
 
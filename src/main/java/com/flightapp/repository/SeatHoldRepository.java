@@ -0,0 +1,32 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    List<SeatHold> findByHoldStatus(SeatHold.HoldStatus holdStatus);
+
+    // Comma separated seats of the flight's holds that have not ended yet
+    @Query("SELECT h.seatNumbers FROM SeatHold h WHERE h.flight.id = :flightId AND h.holdStatus = 'HELD'")
+    List<String> findHeldSeatNumbersByFlightId(@Param("flightId") Long flightId);
+
+    // Confirm and expiry race for the same row: only one HELD -> X transition can succeed
+    @Modifying
+    @Query("UPDATE SeatHold h SET h.holdStatus = 'CONFIRMED' " +
+           "WHERE h.id = :holdId AND h.holdStatus = 'HELD' AND h.expiresAt > :now")
+    int confirmIfActive(@Param("holdId") Long holdId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SeatHold h SET h.holdStatus = :newStatus " +
+           "WHERE h.id = :holdId AND h.holdStatus = 'HELD'")
+    int endIfHeld(@Param("holdId") Long holdId, @Param("newStatus") SeatHold.HoldStatus newStatus);
+}
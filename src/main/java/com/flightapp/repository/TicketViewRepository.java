@@ -0,0 +1,54 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.TicketView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketViewRepository extends JpaRepository<TicketView, Long> {
+
+    Optional<TicketView> findByPnr(String pnr);
+
+    List<TicketView> findByPnrIn(Collection<String> pnrs);
+
+    @Query("SELECT v FROM TicketView v WHERE v.email = :email ORDER BY v.bookingDate DESC, v.bookingId DESC")
+    List<TicketView> findHistory(@Param("email") String email);
+
+    // First page of booking history, newest first
+    @Query("SELECT v FROM TicketView v WHERE v.email = :email ORDER BY v.bookingDate DESC, v.bookingId DESC")
+    List<TicketView> findHistoryPage(@Param("email") String email, Pageable pageable);
+
+    // Next page: bookings older than the (bookingDate, bookingId) position of the last one returned
+    @Query("SELECT v FROM TicketView v WHERE v.email = :email " +
+           "AND (v.bookingDate < :bookingDate OR (v.bookingDate = :bookingDate AND v.bookingId < :bookingId)) " +
+           "ORDER BY v.bookingDate DESC, v.bookingId DESC")
+    List<TicketView> findHistoryPageBefore(
+        @Param("email") String email,
+        @Param("bookingDate") LocalDateTime bookingDate,
+        @Param("bookingId") Long bookingId,
+        Pageable pageable
+    );
+
+    @Modifying
+    @Query("UPDATE TicketView v SET v.bookingStatus = :bookingStatus WHERE v.bookingId = :bookingId")
+    int updateBookingStatus(@Param("bookingId") Long bookingId,
+                            @Param("bookingStatus") Booking.BookingStatus bookingStatus);
+
+    @Modifying
+    @Query("UPDATE TicketView v SET v.flightJson = :flightJson WHERE v.flightId = :flightId")
+    int updateFlightJson(@Param("flightId") Long flightId, @Param("flightJson") String flightJson);
+
+    @Modifying
+    @Query("DELETE FROM TicketView v WHERE v.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+}
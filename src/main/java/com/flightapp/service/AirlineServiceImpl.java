@@ -3,14 +3,19 @@ package com.flightapp.service;
 import com.flightapp.dto.AirlineRequest;
 import com.flightapp.dto.AirlineResponse;
 import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
 import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.exceptions.ResourceNotFoundException;
 import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
 import com.flightapp.service.AirlineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,6 +26,11 @@ import java.util.stream.Collectors;
 public class AirlineServiceImpl implements AirlineService {
 
     private final AirlineRepository airlineRepository;
+    private final TicketCache ticketCache;
+    private final TicketViewProjector ticketViewProjector;
+    private final FlightRepository flightRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
 
     @Override
     public AirlineResponse addAirline(AirlineRequest request) {
@@ -51,7 +61,7 @@ public class AirlineServiceImpl implements AirlineService {
     public AirlineResponse getAirlineById(Long id) {
         log.info("Fetching airline with ID: {}", id);
         Airline airline = airlineRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Airline not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Airline", "id", id));
         return mapToResponse(airline);
     }
 
@@ -60,7 +70,7 @@ public class AirlineServiceImpl implements AirlineService {
     public AirlineResponse getAirlineByCode(String airlineCode) {
         log.info("Fetching airline with code: {}", airlineCode);
         Airline airline = airlineRepository.findByAirlineCode(airlineCode)
-                .orElseThrow(() -> new IllegalArgumentException("Airline not found with code: " + airlineCode));
+                .orElseThrow(() -> new ResourceNotFoundException("Airline", "airline code", airlineCode));
         return mapToResponse(airline);
     }
 
@@ -78,13 +88,19 @@ public class AirlineServiceImpl implements AirlineService {
         log.info("Updating airline with ID: {}", id);
         
         Airline airline = airlineRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Airline not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Airline", "id", id));
+
+        // Tickets and search results show the airline name of their flight
+        boolean renamed = !airline.getAirlineName().equals(request.getAirlineName());
 
         // Update fields
         airline.setAirlineName(request.getAirlineName());
         airline.setContactNumber(request.getContactNumber());
 
         Airline updatedAirline = airlineRepository.save(airline);
+        if (renamed) {
+            airlineRenamed(updatedAirline);
+        }
         log.info("Airline updated successfully");
 
         return mapToResponse(updatedAirline);
@@ -95,7 +111,7 @@ public class AirlineServiceImpl implements AirlineService {
         log.info("Deactivating airline with ID: {}", id);
         
         Airline airline = airlineRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Airline not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Airline", "id", id));
 
         airline.setIsActive(false);
         airlineRepository.save(airline);
@@ -103,6 +119,25 @@ public class AirlineServiceImpl implements AirlineService {
         log.info("Airline deactivated successfully");
     }
 
+    // Copies the new name everywhere the airline's flights are denormalized
+    private void airlineRenamed(Airline airline) {
+        // Other nodes pick the new name up on their next index refresh
+        flightRepository.touchByAirlineId(airline.getId());
+
+        List<Flight> flights = flightRepository.findAllByAirlineId(airline.getId());
+        ticketViewProjector.airlineChanged(airline.getId(), flights);
+        ticketCache.flightDetailsChanged();
+
+        // This node's index and result cache see it as soon as the transaction commits
+        LocalDateTime indexedFrom = LocalDate.now().atStartOfDay();
+        for (Flight flight : flights) {
+            if (!flight.getDepartureTime().isBefore(indexedFrom)) {
+                flightSearchIndex.flightSaved(flight);
+                flightSearchCache.invalidate(flight.getFromLocation(), flight.getToLocation(), flight.getDepartureTime());
+            }
+        }
+    }
+
     // Helper method to map Entity to DTO
     private AirlineResponse mapToResponse(Airline airline) {
         return AirlineResponse.builder()
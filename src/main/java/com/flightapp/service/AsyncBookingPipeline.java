@@ -0,0 +1,241 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingRequestStatus;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional asynchronous booking path for flash sales.
+ *
+ * Requests go onto a bounded queue chosen by flight ID, and each queue has a single writer
+ * thread. The writer drains up to max-batch-size requests and applies them in one transaction,
+ * so request threads no longer pile up on the flight locks. If any booking in a micro-batch
+ * fails, the batch is rolled back and its requests are applied one by one. That way one sold
+ * out seat only fails its own request. Between the bookings of a batch the persistence context
+ * is flushed and cleared, because the seat decrement is a bulk update that bypasses it and the
+ * next booking would otherwise check and price against the flight as the previous one saw it.
+ *
+ * Partitions line up with {@link FlightLockService} stripes: a stripe always belongs to the same
+ * writer, so two writers never wait on each other's locks. Request status is kept in memory for
+ * status-ttl-minutes and does not survive a restart.
+ */
+@Service
+@Slf4j
+public class AsyncBookingPipeline implements DisposableBean {
+
+    private final BookingService bookingService;
+    private final FlightLockService flightLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxBatchSize;
+
+    private final Partition[] partitions;
+    private final BoundedTtlCache<String, BookingRequestStatus> statuses;
+
+    public AsyncBookingPipeline(
+            BookingService bookingService,
+            FlightLockService flightLockService,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${flightapp.booking.async.partitions:8}") int partitionCount,
+            @Value("${flightapp.booking.async.queue-capacity:5000}") int queueCapacity,
+            @Value("${flightapp.booking.async.max-batch-size:50}") int maxBatchSize,
+            @Value("${flightapp.booking.async.status-ttl-minutes:60}") long statusTtlMinutes,
+            @Value("${flightapp.booking.async.status-cache-size:100000}") int statusCacheSize) {
+        if (partitionCount < 1 || flightLockService.getStripeCount() % partitionCount != 0) {
+            throw new IllegalArgumentException("flightapp.booking.async.partitions must divide the "
+                    + flightLockService.getStripeCount() + " booking lock stripes but was " + partitionCount);
+        }
+        this.bookingService = bookingService;
+        this.flightLockService = flightLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.maxBatchSize = maxBatchSize;
+        this.statuses = new BoundedTtlCache<>(statusCacheSize,
+                TimeUnit.MINUTES.toMillis(statusTtlMinutes), Clock.systemUTC());
+
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, queueCapacity);
+        }
+    }
+
+    public BookingRequestStatus submit(Long flightId, BookingRequest request) {
+        BookingRequestStatus queued = BookingRequestStatus.builder()
+                .requestId(UUID.randomUUID().toString())
+                .flightId(flightId)
+                .status(BookingRequestStatus.QUEUED)
+                .submittedAt(LocalDateTime.now())
+                .build();
+
+        statuses.put(queued.getRequestId(), queued);
+        if (!partitionFor(flightId).queue.offer(new BookingTask(queued, request))) {
+            statuses.remove(queued.getRequestId());
+            throw new BusinessException("Booking queue is full. Please try again");
+        }
+
+        log.info("Queued booking request {} for flight ID: {}", queued.getRequestId(), flightId);
+        return queued;
+    }
+
+    public BookingRequestStatus getStatus(String requestId) {
+        BookingRequestStatus status = statuses.get(requestId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Booking request", "id", requestId);
+        }
+        return status;
+    }
+
+    // Requests waiting in the queues, not counting batches being applied
+    public int getQueuedCount() {
+        int queued = 0;
+        for (Partition partition : partitions) {
+            queued += partition.queue.size();
+        }
+        return queued;
+    }
+
+    @Override
+    public void destroy() {
+        for (Partition partition : partitions) {
+            partition.writer.interrupt();
+        }
+    }
+
+    private Partition partitionFor(Long flightId) {
+        return partitions[flightLockService.stripeFor(flightId) % partitions.length];
+    }
+
+    private void applyBatch(List<BookingTask> batch) {
+        for (BookingTask task : batch) {
+            updateStatus(task, BookingRequestStatus.PROCESSING, null, null);
+        }
+
+        List<BookingResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> {
+                List<BookingResponse> booked = new ArrayList<>(batch.size());
+                for (BookingTask task : batch) {
+                    if (!booked.isEmpty()) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                    booked.add(bookingService.bookFlight(task.flightId(), task.request()));
+                }
+                return booked;
+            });
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return;
+            }
+            log.info("Micro-batch of {} bookings rolled back ({}); applying them one by one",
+                    batch.size(), ex.getMessage());
+            batch.forEach(this::applySingle);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            confirm(batch.get(i), responses.get(i));
+        }
+    }
+
+    private void applySingle(BookingTask task) {
+        try {
+            confirm(task, transactionTemplate.execute(status ->
+                    bookingService.bookFlight(task.flightId(), task.request())));
+        } catch (RuntimeException ex) {
+            fail(task, ex);
+        }
+    }
+
+    private void confirm(BookingTask task, BookingResponse response) {
+        updateStatus(task, BookingRequestStatus.CONFIRMED,
+                "Flight booked successfully. PNR: " + response.getPnr(), response);
+    }
+
+    private void fail(BookingTask task, RuntimeException ex) {
+        String message;
+        if (ex instanceof BusinessException || ex instanceof ResourceNotFoundException) {
+            message = ex.getMessage();
+        } else if (ex instanceof DataIntegrityViolationException) {
+            message = "One of the selected seats was booked by another request";
+        } else {
+            log.error("Booking request {} failed", task.status().getRequestId(), ex);
+            message = "Booking failed. Please try again";
+        }
+        updateStatus(task, BookingRequestStatus.FAILED, message, null);
+    }
+
+    private void updateStatus(BookingTask task, String state, String message, BookingResponse booking) {
+        BookingRequestStatus submitted = task.status();
+        boolean done = BookingRequestStatus.CONFIRMED.equals(state) || BookingRequestStatus.FAILED.equals(state);
+        statuses.put(submitted.getRequestId(), BookingRequestStatus.builder()
+                .requestId(submitted.getRequestId())
+                .flightId(submitted.getFlightId())
+                .status(state)
+                .message(message)
+                .booking(booking)
+                .submittedAt(submitted.getSubmittedAt())
+                .completedAt(done ? LocalDateTime.now() : null)
+                .build());
+    }
+
+    private record BookingTask(BookingRequestStatus status, BookingRequest request) {
+
+        Long flightId() {
+            return status.getFlightId();
+        }
+    }
+
+    private final class Partition implements Runnable {
+
+        private final BlockingQueue<BookingTask> queue;
+        private final Thread writer;
+
+        Partition(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.writer = new Thread(this, "booking-writer-" + index);
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+
+        @Override
+        public void run() {
+            List<BookingTask> batch = new ArrayList<>(maxBatchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                try {
+                    applyBatch(batch);
+                } catch (RuntimeException ex) {
+                    log.error("Booking writer failed to apply a batch of {}", batch.size(), ex);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.flightapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.entity.IdempotencyRecord;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a booking at most once per Idempotency-Key.
+ *
+ * Completed responses are served from a bounded TTL cache, then from the idempotency_keys
+ * table, without touching flights or passengers. A duplicate arriving while the first request
+ * is still running waits for its result instead of booking in parallel. Across nodes the
+ * unique key on idempotency_keys makes the second insert fail, and the stored response is
+ * returned instead. Failed bookings are not stored, so the client can retry with the same key.
+ */
+@Service
+@Slf4j
+public class BookingIdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final BookingService bookingService;
+    private final FlightLockService flightLockService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitTimeoutMillis;
+
+    private final BoundedTtlCache<String, StoredBooking> completedBookings;
+    private final ConcurrentMap<String, CompletableFuture<StoredBooking>> inFlight = new ConcurrentHashMap<>();
+
+    public BookingIdempotencyService(
+            BookingService bookingService,
+            FlightLockService flightLockService,
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${flightapp.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${flightapp.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${flightapp.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this.bookingService = bookingService;
+        this.flightLockService = flightLockService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.completedBookings = new BoundedTtlCache<>(cacheSize, ttl.toMillis(), Clock.systemUTC());
+    }
+
+    public BookingResponse bookFlight(String idempotencyKey, Long flightId, BookingRequest request) {
+        String key = validateKey(idempotencyKey);
+        String fingerprint = fingerprint(flightId, request);
+
+        StoredBooking cached = completedBookings.get(key);
+        if (cached != null) {
+            log.info("Replaying booking PNR: {} for Idempotency-Key: {}", cached.response().getPnr(), key);
+            return cached.replay(fingerprint);
+        }
+
+        CompletableFuture<StoredBooking> ours = new CompletableFuture<>();
+        CompletableFuture<StoredBooking> running = inFlight.putIfAbsent(key, ours);
+        if (running != null) {
+            log.info("Waiting for in-flight booking with Idempotency-Key: {}", key);
+            return await(running).replay(fingerprint);
+        }
+
+        try {
+            StoredBooking result = findStored(key).orElseGet(() -> book(key, fingerprint, flightId, request));
+            completedBookings.put(key, result);
+            ours.complete(result);
+            return result.replay(fingerprint);
+        } catch (RuntimeException ex) {
+            ours.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${flightapp.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    // Helper methods
+
+    private StoredBooking book(String key, String fingerprint, Long flightId, BookingRequest request) {
+        try {
+            // Locked before the transaction starts, as in bookFlight; the booking re-enters the lock
+            return flightLockService.withFlightLock(flightId, () -> transactionTemplate.execute(status -> {
+                // Claim the key first: a concurrent insert of the same key on another node
+                // blocks here and fails once this transaction commits
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .requestFingerprint(fingerprint)
+                        .expiresAt(LocalDateTime.now().plus(ttl))
+                        .build());
+
+                BookingResponse response = bookingService.bookFlight(flightId, request);
+                record.setResponseBody(toJson(response));
+                return new StoredBooking(fingerprint, response);
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            // Either another node stored this key first, or the booking itself conflicted
+            return findStored(key).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<StoredBooking> findStored(String key) {
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findByIdempotencyKey(key);
+        if (record.isEmpty() || record.get().getResponseBody() == null) {
+            return Optional.empty();
+        }
+        if (!record.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+            return Optional.empty();
+        }
+        return Optional.of(new StoredBooking(
+                record.get().getRequestFingerprint(), fromJson(record.get().getResponseBody())));
+    }
+
+    private StoredBooking await(CompletableFuture<StoredBooking> running) {
+        try {
+            return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private String validateKey(String idempotencyKey) {
+        String key = idempotencyKey.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
+
+    private String fingerprint(Long flightId, BookingRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((flightId + ":").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint booking request", ex);
+        }
+    }
+
+    private String toJson(BookingResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not store booking response", ex);
+        }
+    }
+
+    private BookingResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, BookingResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored booking response", ex);
+        }
+    }
+
+    private record StoredBooking(String fingerprint, BookingResponse response) {
+
+        BookingResponse replay(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new DuplicateResourceException(
+                        "Idempotency-Key was already used for a different booking request");
+            }
+            return response;
+        }
+    }
+}
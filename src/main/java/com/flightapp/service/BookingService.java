@@ -1,7 +1,9 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
 import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.TicketLookupResult;
 
 import java.util.List;
 
@@ -13,9 +15,15 @@ public interface BookingService {
     
     BookingResponse getBookingByPNR(String pnr);
 
+    // One result per requested PNR, in request order; at most 500 PNRs
+    List<TicketLookupResult> lookupTickets(List<String> pnrs);
+
    
     List<BookingResponse> getBookingHistory(String email);
 
+    // Newest first, one page at a time; pass back nextCursor of the previous page as cursor
+    BookingHistoryPage getBookingHistoryPage(String email, Integer pageSize, String cursor);
+
    //can only cancel if the cancellation date is before 24 hrs 
     void cancelBooking(String pnr);
 }
\ No newline at end of file
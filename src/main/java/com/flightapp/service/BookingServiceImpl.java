@@ -1,28 +1,40 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
 import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.FlightSnapshot;
 import com.flightapp.dto.PassengerRequest;
+import com.flightapp.dto.TicketLookupResult;
 import com.flightapp.entity.Booking;
 import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightSeat;
 import com.flightapp.entity.Passenger;
+import com.flightapp.entity.TicketView;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
-import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.TicketViewRepository;
 import com.flightapp.service.BookingService;
 import com.flightapp.service.FlightService;
 import com.flightapp.service.PNRGeneratorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,16 +43,35 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_TICKET_LOOKUP = 500;
+
     private final BookingRepository bookingRepository;
     private final FlightRepository flightRepository;
-    private final PassengerRepository passengerRepository;
     private final FlightService flightService;
     private final PNRGeneratorService pnrGeneratorService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final FlightLockService flightLockService;
+    private final SeatHoldService seatHoldService;
+    private final PricingEngine pricingEngine;
+    private final TicketCache ticketCache;
+    private final LookupGuard lookupGuard;
+    private final TicketViewRepository ticketViewRepository;
+    private final TicketViewProjector ticketViewProjector;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponse bookFlight(Long flightId, BookingRequest request) {
         log.info("Booking flight ID: {} for email: {}", flightId, request.getEmail());
 
+        // Serialize seat check, insert and decrement per flight until the transaction completes.
+        // The lock is waited for before the transaction takes a connection from the pool.
+        return flightLockService.inTransaction(flightId, transactionTemplate, () -> book(flightId, request));
+    }
+
+    private BookingResponse book(Long flightId, BookingRequest request) {
         // Fetch flight
         Flight flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
@@ -59,16 +90,35 @@ public class BookingServiceImpl implements BookingService {
                 "Number of passengers must be between 1 and 9");
         }
 
-        // Check seat availability
-        if (flight.getAvailableSeats() < passengerCount) {
-            throw new com.flightapp.exceptions.BusinessException(
-                "Not enough seats available. Only " + flight.getAvailableSeats() + " seats remaining");
+        // The fare quoted by search holds while its token is valid; without a token the live fare applies
+        long fareMinor = request.getPriceToken() != null
+                ? pricingEngine.redeemToken(request.getPriceToken(), flightId)
+                : pricingEngine.fareMinor(FlightSnapshot.of(flight));
+
+        Set<String> seatNumbers = collectSeatNumbers(request.getPassengers());
+
+        if (request.getHoldId() != null) {
+            // Held seats were already reserved and taken off availableSeats
+            seatHoldService.confirmHold(request.getHoldId(), flightId, seatNumbers);
+        } else {
+            // Check seat availability
+            if (flight.getAvailableSeats() < passengerCount) {
+                throw new com.flightapp.exceptions.BusinessException(
+                    "Not enough seats available. Only " + flight.getAvailableSeats() + " seats remaining");
+            }
+
+            // Check seats against the in-memory occupancy bitmap and mark them taken (freed on rollback)
+            seatOccupancyIndex.reserve(flightId, seatNumbers);
+
+            // Reserve seats first: the guarded decrement fails instead of overselling
+            // when concurrent bookings race for the last seats
+            flightService.updateAvailableSeats(flightId, -passengerCount);
         }
 
-        // Validate seat numbers are unique and not already booked
-        validateSeatNumbers(flightId, request.getPassengers());
-        String pnr = generateUniquePNR();
-        BigDecimal totalAmount = flight.getBasePrice().multiply(BigDecimal.valueOf(passengerCount));
+        // Unique by construction: no existence check against the bookings table
+        String pnr = pnrGeneratorService.generatePNR();
+        lookupGuard.pnrIssued(pnr);
+        BigDecimal totalAmount = BigDecimal.valueOf(fareMinor * passengerCount, 2);
 
         Booking booking = Booking.builder()
                 .pnr(pnr)
@@ -91,28 +141,71 @@ public class BookingServiceImpl implements BookingService {
                     .build();
             
             booking.addPassenger(passenger);
+            booking.addSeatReservation(FlightSeat.builder()
+                    .flight(flight)
+                    .seatNumber(passengerReq.getSeatNumber())
+                    .build());
         }
 
-        // Save booking (cascades to passengers)
+        // Save booking (cascades to passengers and seat reservations;
+        // uk_flight_seat rejects a seat taken concurrently by another transaction)
         Booking savedBooking = bookingRepository.save(booking);
-
-        // Update available seats
-        flightService.updateAvailableSeats(flightId, -passengerCount);
+        TicketView ticket = ticketViewProjector.bookingCreated(savedBooking);
 
         log.info("Booking successful. PNR: {}", pnr);
 
-        return mapToResponse(savedBooking);
+        return TicketViews.toResponse(ticket);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public BookingResponse getBookingByPNR(String pnr) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookingResponse getBookingByPNR(String requestedPnr) {
+        // PNRs are issued in upper case, and the guard and cache are case-sensitive
+        String pnr = normalizePnr(requestedPnr);
         log.info("Fetching booking with PNR: {}", pnr);
 
-        Booking booking = bookingRepository.findByPnr(pnr)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found with PNR: " + pnr));
+        if (!lookupGuard.mightExistPnr(pnr)) {
+            throw new com.flightapp.exceptions.ResourceNotFoundException("Booking", "PNR", pnr);
+        }
+
+        // Cache hits need no transaction or connection; a miss reads one ticket_view row
+        return ticketCache.get(pnr, () -> TicketViews.toResponse(ticketViewRepository.findByPnr(pnr)
+                .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
+                    "Booking", "PNR", pnr))));
+    }
 
-        return mapToResponse(booking);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TicketLookupResult> lookupTickets(List<String> pnrs) {
+        if (pnrs.isEmpty() || pnrs.size() > MAX_TICKET_LOOKUP) {
+            throw new com.flightapp.exceptions.BusinessException(
+                "Lookup must have between 1 and " + MAX_TICKET_LOOKUP + " PNRs");
+        }
+        log.info("Looking up {} ticket(s)", pnrs.size());
+
+        // PNRs are issued in upper case; the ones the lookup guard rules out are never queried
+        Set<String> candidates = pnrs.stream()
+                .map(BookingServiceImpl::normalizePnr)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        candidates.removeIf(pnr -> !lookupGuard.mightExistPnr(pnr));
+
+        // Cached tickets are served as they are; the rest take one statement however many there are
+        Map<String, BookingResponse> tickets = candidates.isEmpty()
+                ? Map.of()
+                : ticketCache.getAll(candidates, missing -> ticketViewRepository.findByPnrIn(missing).stream()
+                        .map(TicketViews::toResponse)
+                        .collect(Collectors.toMap(BookingResponse::getPnr, Function.identity())));
+
+        return pnrs.stream()
+                .map(pnr -> {
+                    BookingResponse ticket = tickets.get(normalizePnr(pnr));
+                    return TicketLookupResult.builder()
+                            .pnr(pnr)
+                            .found(ticket != null)
+                            .ticket(ticket)
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -120,11 +213,34 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponse> getBookingHistory(String email) {
         log.info("Fetching booking history for email: {}", email);
 
-        List<Booking> bookings = bookingRepository.findByEmailOrderByCreatedAtDesc(email);
+        return mapAll(ticketViewRepository.findHistory(email));
+    }
 
-        return bookings.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public BookingHistoryPage getBookingHistoryPage(String email, Integer pageSize, String cursor) {
+        int size = pageSize != null ? pageSize : DEFAULT_HISTORY_PAGE_SIZE;
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new com.flightapp.exceptions.BusinessException(
+                "Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        HistoryCursor before = cursor != null ? HistoryCursor.decode(cursor) : null;
+        log.info("Fetching booking history for email: {} before {}", email, before);
+
+        // One extra row tells whether another page follows
+        List<TicketView> bookings = before == null
+                ? ticketViewRepository.findHistoryPage(email, PageRequest.ofSize(size + 1))
+                : ticketViewRepository.findHistoryPageBefore(
+                        email, before.createdAt(), before.bookingId(), PageRequest.ofSize(size + 1));
+
+        boolean hasMore = bookings.size() > size;
+        if (hasMore) {
+            bookings = bookings.subList(0, size);
+        }
+        return BookingHistoryPage.builder()
+                .bookings(mapAll(bookings))
+                .nextCursor(hasMore ? HistoryCursor.of(bookings.get(size - 1)).encode() : null)
+                .build();
     }
 
     @Override
@@ -132,11 +248,12 @@ public class BookingServiceImpl implements BookingService {
         log.info("Cancelling booking with PNR: {}", pnr);
 
         Booking booking = bookingRepository.findByPnr(pnr)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found with PNR: " + pnr));
+                .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
+                    "Booking", "PNR", pnr));
 
         // Check if already cancelled
         if (booking.getBookingStatus() == Booking.BookingStatus.CANCELLED) {
-            throw new IllegalArgumentException("Booking is already cancelled");
+            throw new com.flightapp.exceptions.BusinessException("Booking is already cancelled");
         }
 
         // Validate 24-hour cancellation rule
@@ -145,89 +262,52 @@ public class BookingServiceImpl implements BookingService {
         Duration timeUntilDeparture = Duration.between(now, departureTime);
 
         if (timeUntilDeparture.toHours() < 24) {
-            throw new IllegalArgumentException("Cannot cancel booking. Cancellation is only allowed 24 hours before departure");
+            throw new com.flightapp.exceptions.BusinessException(
+                "Cannot cancel booking. Cancellation is only allowed 24 hours before departure");
         }
 
-        // Update booking status
+        // Only the cancel that wins the status change gives the seats back
+        if (bookingRepository.cancelIfConfirmed(booking.getId()) == 0) {
+            throw new com.flightapp.exceptions.BusinessException("Booking is already cancelled");
+        }
+
+        // Give the seats back to flight_seats
         booking.setBookingStatus(Booking.BookingStatus.CANCELLED);
+        booking.getSeatReservations().clear();
         bookingRepository.save(booking);
+        ticketViewProjector.bookingStatusChanged(booking);
+        ticketCache.bookingChanged(pnr);
 
         // Release seats
         flightService.updateAvailableSeats(booking.getFlight().getId(), booking.getNumberOfSeats());
+        seatOccupancyIndex.release(booking.getFlight().getId(), booking.getPassengers().stream()
+                .map(Passenger::getSeatNumber)
+                .collect(Collectors.toList()));
 
         log.info("Booking cancelled successfully. PNR: {}", pnr);
     }
 
     // Helper methods
 
-    private void validateSeatNumbers(Long flightId, List<PassengerRequest> passengers) {
+    private Set<String> collectSeatNumbers(List<PassengerRequest> passengers) {
         // Check for duplicate seat numbers in request
         Set<String> seatNumbers = new HashSet<>();
         for (PassengerRequest passenger : passengers) {
             if (!seatNumbers.add(passenger.getSeatNumber())) {
-                throw new IllegalArgumentException("Duplicate seat number: " + passenger.getSeatNumber());
-            }
-        }
-
-        // Check if seats are already booked
-        List<String> bookedSeats = passengerRepository.findBookedSeatsByFlightId(flightId);
-        for (String seatNumber : seatNumbers) {
-            if (bookedSeats.contains(seatNumber)) {
-                throw new IllegalArgumentException("Seat " + seatNumber + " is already booked");
+                throw new com.flightapp.exceptions.BusinessException(
+                    "Duplicate seat number: " + passenger.getSeatNumber());
             }
         }
+        return seatNumbers;
     }
 
-    private String generateUniquePNR() {
-        String pnr;
-        int attempts = 0;
-        do {
-            pnr = pnrGeneratorService.generatePNR();
-            attempts++;
-            if (attempts > 10) {
-                throw new RuntimeException("Failed to generate unique PNR after 10 attempts");
-            }
-        } while (bookingRepository.existsByPnr(pnr));
-        
-        return pnr;
+    private static String normalizePnr(String pnr) {
+        return pnr.trim().toUpperCase(Locale.ROOT);
     }
 
-    private BookingResponse mapToResponse(Booking booking) {
-        Flight flight = booking.getFlight();
-
-        // Map flight details
-        BookingResponse.FlightDetailsDto flightDetails = BookingResponse.FlightDetailsDto.builder()
-                .flightId(flight.getId())
-                .flightNumber(flight.getFlightNumber())
-                .airlineName(flight.getAirline().getAirlineName())
-                .fromLocation(flight.getFromLocation())
-                .toLocation(flight.getToLocation())
-                .departureTime(flight.getDepartureTime())
-                .arrivalTime(flight.getArrivalTime())
-                .build();
-
-        // Map passenger details
-        List<BookingResponse.PassengerDetailsDto> passengerDetails = booking.getPassengers().stream()
-                .map(p -> BookingResponse.PassengerDetailsDto.builder()
-                        .passengerName(p.getPassengerName())
-                        .gender(p.getGender().name())
-                        .age(p.getAge())
-                        .seatNumber(p.getSeatNumber())
-                        .mealPreference(p.getMealPreference().name())
-                        .build())
+    private List<BookingResponse> mapAll(List<TicketView> tickets) {
+        return tickets.stream()
+                .map(TicketViews::toResponse)
                 .collect(Collectors.toList());
-
-        return BookingResponse.builder()
-                .bookingId(booking.getId())
-                .pnr(booking.getPnr())
-                .contactName(booking.getContactName())
-                .email(booking.getEmail())
-                .numberOfSeats(booking.getNumberOfSeats())
-                .totalAmount(booking.getTotalAmount())
-                .bookingStatus(booking.getBookingStatus().name())
-                .bookingDate(booking.getCreatedAt())
-                .flight(flightDetails)
-                .passengers(passengerDetails)
-                .build();
     }
-}
\ No newline at end of file
+}
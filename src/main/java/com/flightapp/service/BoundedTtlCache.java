@@ -0,0 +1,95 @@
+package com.flightapp.service;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small size-bounded cache whose entries expire a fixed time after they were written.
+ * Entries are kept in write order, which is also expiry order, so the oldest entry is
+ * the one dropped when the cache is full. Access is synchronized; entries are cheap
+ * to copy and the critical sections are a few map operations. Hits, misses and
+ * evictions (by size or expiry, not explicit removal) are counted for monitoring.
+ * Hot read paths use {@link ConcurrentTtlCache} instead.
+ */
+final class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    BoundedTtlCache(int maxSize, long ttlMillis, Clock clock) {
+        if (maxSize < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    synchronized void put(K key, V value) {
+        // Re-insert so the entry moves to the end of the write order
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+        evictExpired();
+        if (entries.size() > maxSize) {
+            Iterator<K> oldest = entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            evictions++;
+        }
+    }
+
+    synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    synchronized Stats stats() {
+        return new Stats(entries.size(), hits, misses, evictions);
+    }
+
+    private void evictExpired() {
+        long now = clock.millis();
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && iterator.next().getValue().expiresAt <= now) {
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    record Stats(int size, long hits, long misses, long evictions) {
+    }
+}
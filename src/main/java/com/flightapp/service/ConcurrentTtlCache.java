@@ -0,0 +1,143 @@
+package com.flightapp.service;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache whose entries expire a fixed time after they were written, for the
+ * hot read paths. {@link BoundedTtlCache} takes one lock per call, which every search or
+ * ticket lookup would queue on; here a read is a lock-free map lookup and the counters are
+ * LongAdders, so reads never contend.
+ *
+ * Writes are striped by key. Each stripe keeps the keys written to it in write order (also
+ * expiry order) and holds an even share of the size bound, so a write locks only its stripe
+ * to drop expired entries and the oldest one when the stripe is full. A rewritten or removed
+ * key leaves its old slot in that order until it reaches the head, so a stripe can drop an
+ * entry slightly before it is full; it never holds more than its share. Small caches use a
+ * single stripe and drop exactly the oldest entry.
+ */
+final class ConcurrentTtlCache<K, V> {
+
+    private static final int MAX_STRIPES = 64;
+    private static final int MIN_STRIPE_SIZE = 64;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Stripe<K, V>[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    ConcurrentTtlCache(int maxSize, long ttlMillis, Clock clock) {
+        if (maxSize < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+
+        // A power of two, so a stripe is picked with a mask
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, maxSize / MIN_STRIPE_SIZE)));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(maxSize / stripeCount);
+        }
+    }
+
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, clock.millis() + ttlMillis);
+        Stripe<K, V> stripe = stripeFor(key);
+        // The stripe lock keeps its write order in step with the map for each of its keys
+        synchronized (stripe) {
+            entries.put(key, entry);
+            stripe.written.addLast(new Written<>(key, entry));
+            long now = clock.millis();
+            while (!stripe.written.isEmpty()) {
+                Written<K, V> oldest = stripe.written.peekFirst();
+                if (stripe.written.size() <= stripe.capacity && oldest.entry.expiresAt > now) {
+                    break;
+                }
+                stripe.written.pollFirst();
+                // Only if the slot still holds the current entry of its key
+                if (entries.remove(oldest.key, oldest.entry)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    void remove(K key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    Stats stats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    // Helper methods
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Compared by identity, so a slot never removes a newer entry of its key
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private record Written<K, V>(K key, Entry<V> entry) {
+    }
+
+    private static final class Stripe<K, V> {
+
+        private final int capacity;
+        private final ArrayDeque<Written<K, V>> written = new ArrayDeque<>();
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    record Stats(int size, long hits, long misses, long evictions) {
+    }
+}
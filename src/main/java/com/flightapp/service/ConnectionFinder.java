@@ -0,0 +1,280 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+
+/**
+ * Finds itineraries with up to two stops by walking the search index as a time-dependent graph.
+ *
+ * First legs are the origin's departures on the travel day. Each later leg has to leave its
+ * stop inside the layover window after the previous arrival, and the last leg is looked up
+ * on its (stop, destination) route directly. No airport is visited twice. The best results
+ * seen so far are kept in a bounded heap. Direct and one-stop itineraries are collected
+ * first, because they are cheap and usually fill the heap. After that, a partial two-stop
+ * itinerary that can no longer beat the worst kept result is dropped. When ranking by
+ * duration, candidates are scanned in departure order, so the rest of a window is skipped as
+ * soon as one departure is too late. Seat counts are read from the live index snapshots, and
+ * legs are priced and ranked at their live {@link PricingEngine} fares.
+ */
+@Component
+public class ConnectionFinder {
+
+    private static final int DEFAULT_MAX_STOPS = 2;
+    private static final int DEFAULT_MAX_RESULTS = 10;
+    // The index loads within seconds of startup
+    private static final long INDEX_LOADING_RETRY_AFTER_SECONDS = 5;
+
+    private final FlightSearchIndex flightSearchIndex;
+    private final LocationDictionary locationDictionary;
+    private final PricingEngine pricingEngine;
+    private final int defaultMinLayoverMinutes;
+    private final int defaultMaxLayoverMinutes;
+
+    public ConnectionFinder(
+            FlightSearchIndex flightSearchIndex,
+            LocationDictionary locationDictionary,
+            PricingEngine pricingEngine,
+            @Value("${flightapp.search.connections.min-layover-minutes:45}") int defaultMinLayoverMinutes,
+            @Value("${flightapp.search.connections.max-layover-minutes:360}") int defaultMaxLayoverMinutes) {
+        this.flightSearchIndex = flightSearchIndex;
+        this.locationDictionary = locationDictionary;
+        this.pricingEngine = pricingEngine;
+        this.defaultMinLayoverMinutes = defaultMinLayoverMinutes;
+        this.defaultMaxLayoverMinutes = defaultMaxLayoverMinutes;
+    }
+
+    /**
+     * Best itineraries for the request, best first.
+     */
+    public List<Itinerary> find(ConnectionSearchRequest request) {
+        if (!flightSearchIndex.isReady()) {
+            throw new ServiceUnavailableException("Connection search is not available yet. Please try again shortly",
+                    INDEX_LOADING_RETRY_AFTER_SECONDS);
+        }
+        // Codes and differently typed names become the display names the index holds
+        String fromLocation = locationDictionary.canonicalName(request.getFromLocation());
+        String toLocation = locationDictionary.canonicalName(request.getToLocation());
+        String origin = FlightSearchIndex.RouteKey.normalize(fromLocation);
+        String destination = FlightSearchIndex.RouteKey.normalize(toLocation);
+        if (origin.equals(destination)) {
+            throw new BusinessException("From and to locations must be different");
+        }
+
+        int minLayover = request.getMinLayoverMinutes() != null ? request.getMinLayoverMinutes() : defaultMinLayoverMinutes;
+        int maxLayover = request.getMaxLayoverMinutes() != null ? request.getMaxLayoverMinutes() : defaultMaxLayoverMinutes;
+        if (minLayover > maxLayover) {
+            throw new BusinessException("Minimum layover cannot be longer than maximum layover");
+        }
+
+        Search search = new Search(
+                origin,
+                destination,
+                toLocation,
+                request.getNumberOfPassengers(),
+                request.getMaxStops() != null ? request.getMaxStops() : DEFAULT_MAX_STOPS,
+                Duration.ofMinutes(minLayover),
+                Duration.ofMinutes(maxLayover),
+                request.getSortBy() != null ? request.getSortBy() : ConnectionSearchRequest.SortBy.DURATION,
+                request.getMaxResults() != null ? request.getMaxResults() : DEFAULT_MAX_RESULTS);
+        search.run(fromLocation, request.getTravelDate());
+        return search.results();
+    }
+
+    public record Itinerary(List<FlightSnapshot> legs, Duration duration, BigDecimal totalPrice) {
+
+        public LocalDateTime departureTime() {
+            return legs.get(0).departureTime();
+        }
+
+        public LocalDateTime arrivalTime() {
+            return legs.get(legs.size() - 1).arrivalTime();
+        }
+    }
+
+    // State of one search
+    private final class Search {
+
+        private final String origin;
+        private final String destination;
+        private final String destinationLocation;
+        private final int seats;
+        private final int maxStops;
+        private final Duration minLayover;
+        private final Duration maxLayover;
+        private final ConnectionSearchRequest.SortBy sortBy;
+        private final int limit;
+        private final Comparator<Itinerary> ranking;
+        private final PriorityQueue<Itinerary> best; // worst kept result on top
+        // Least a further leg can add: one layover plus the shortest flight, and the lowest fare
+        private final Duration legLowerBound;
+        private final Duration shortestFlight;
+        private final BigDecimal lowestFare;
+        // Flights from a stop to the destination, by the stop's location as stored on the flight
+        private final Map<String, NavigableMap<FlightSearchIndex.Slot, FlightSnapshot>> lastLegsFrom = new HashMap<>();
+
+        Search(String origin, String destination, String destinationLocation, int seats, int maxStops,
+               Duration minLayover, Duration maxLayover, ConnectionSearchRequest.SortBy sortBy, int limit) {
+            this.origin = origin;
+            this.destination = destination;
+            this.destinationLocation = destinationLocation;
+            this.seats = seats;
+            this.maxStops = maxStops;
+            this.minLayover = minLayover;
+            this.maxLayover = maxLayover;
+            this.sortBy = sortBy;
+            this.limit = limit;
+            this.ranking = sortBy == ConnectionSearchRequest.SortBy.PRICE
+                    ? Comparator.comparing(Itinerary::totalPrice).thenComparing(Itinerary::duration)
+                            .thenComparing(Itinerary::departureTime)
+                    : Comparator.comparing(Itinerary::duration).thenComparing(Itinerary::totalPrice)
+                            .thenComparing(Itinerary::departureTime);
+            this.best = new PriorityQueue<>(limit + 1, ranking.reversed());
+            this.shortestFlight = flightSearchIndex.shortestFlight();
+            this.legLowerBound = minLayover.plus(shortestFlight);
+            this.lowestFare = pricingEngine.lowestFare(flightSearchIndex.lowestBasePrice());
+        }
+
+        void run(String fromLocation, LocalDate travelDate) {
+            List<FlightSnapshot> firstLegs = new ArrayList<>();
+            for (FlightSnapshot first : flightSearchIndex.departuresBetween(
+                    fromLocation, travelDate.atStartOfDay(), travelDate.plusDays(1).atStartOfDay()).values()) {
+                if (hasSeats(first) && !isLocation(first.toLocation(), origin)) {
+                    firstLegs.add(first);
+                }
+            }
+
+            // Direct flights and one stop first: they are cheap to find and usually fill the
+            // heap with results good enough to prune most two-stop candidates
+            for (FlightSnapshot first : firstLegs) {
+                if (isLocation(first.toLocation(), destination)) {
+                    offer(List.of(first), fare(first));
+                } else if (maxStops > 0) {
+                    finish(first, null, first, fare(first));
+                }
+            }
+            if (maxStops < 2) {
+                return;
+            }
+            for (FlightSnapshot first : firstLegs) {
+                if (!isLocation(first.toLocation(), destination) && !cannotBeat(first, first, fare(first), 2)) {
+                    extendWithStop(first);
+                }
+            }
+        }
+
+        List<Itinerary> results() {
+            List<Itinerary> results = new ArrayList<>(best);
+            results.sort(ranking);
+            return results;
+        }
+
+        // Second legs that stop again on the way to the destination
+        private void extendWithStop(FlightSnapshot first) {
+            String firstStop = FlightSearchIndex.RouteKey.normalize(first.toLocation());
+            for (FlightSnapshot second : flightSearchIndex.departuresBetween(first.toLocation(),
+                    first.arrivalTime().plus(minLayover), first.arrivalTime().plus(maxLayover)).values()) {
+                if (tooLate(first, second, 1)) {
+                    break;
+                }
+                if (!hasSeats(second)
+                        || isLocation(second.toLocation(), destination)
+                        || isLocation(second.toLocation(), origin)
+                        || isLocation(second.toLocation(), firstStop)) {
+                    continue;
+                }
+                BigDecimal price = fare(first).add(fare(second));
+                if (!cannotBeat(first, second, price, 1)) {
+                    finish(first, second, second, price);
+                }
+            }
+        }
+
+        // Last legs from where previous landed to the destination
+        private void finish(FlightSnapshot first, FlightSnapshot second, FlightSnapshot previous, BigDecimal priceSoFar) {
+            NavigableMap<FlightSearchIndex.Slot, FlightSnapshot> lastLegs = lastLegsFrom.computeIfAbsent(
+                    previous.toLocation(), stop -> flightSearchIndex.route(stop, destinationLocation));
+            if (lastLegs.isEmpty()) {
+                return;
+            }
+
+            for (FlightSnapshot last : FlightSearchIndex.between(lastLegs,
+                    previous.arrivalTime().plus(minLayover), previous.arrivalTime().plus(maxLayover)).values()) {
+                if (tooLate(first, last, 0)) {
+                    break;
+                }
+                if (hasSeats(last)) {
+                    BigDecimal price = priceSoFar.add(fare(last));
+                    offer(second == null ? List.of(first, last) : List.of(first, second, last), price);
+                }
+            }
+        }
+
+        private BigDecimal fare(FlightSnapshot flight) {
+            return pricingEngine.fare(flight);
+        }
+
+        private boolean hasSeats(FlightSnapshot flight) {
+            return flight.bookable() && flight.availableSeats() >= seats;
+        }
+
+        private void offer(List<FlightSnapshot> legs, BigDecimal totalPrice) {
+            Duration duration = Duration.between(legs.get(0).departureTime(), legs.get(legs.size() - 1).arrivalTime());
+            if (best.size() == limit && worseThanKept(duration, totalPrice)) {
+                return;
+            }
+            Itinerary itinerary = new Itinerary(legs, duration, totalPrice);
+            if (best.size() < limit) {
+                best.add(itinerary);
+            } else if (ranking.compare(itinerary, best.peek()) < 0) {
+                best.poll();
+                best.add(itinerary);
+            }
+        }
+
+        // An itinerary that still needs legsLeft legs after previous can't make the kept results
+        private boolean cannotBeat(FlightSnapshot first, FlightSnapshot previous, BigDecimal priceSoFar, int legsLeft) {
+            return best.size() == limit && worseThanKept(
+                    Duration.between(first.departureTime(), previous.arrivalTime()).plus(legLowerBound.multipliedBy(legsLeft)),
+                    priceSoFar.add(lowestFare.multiply(BigDecimal.valueOf(legsLeft))));
+        }
+
+        // Departures are scanned in time order, so when ranking by duration every later one is too late
+        // as well. next still has to be flown, followed by legsAfter more legs.
+        private boolean tooLate(FlightSnapshot first, FlightSnapshot next, int legsAfter) {
+            return sortBy == ConnectionSearchRequest.SortBy.DURATION && best.size() == limit
+                    && Duration.between(first.departureTime(), next.departureTime())
+                            .plus(shortestFlight)
+                            .plus(legLowerBound.multipliedBy(legsAfter))
+                            .compareTo(best.peek().duration()) > 0;
+        }
+
+        private boolean worseThanKept(Duration duration, BigDecimal price) {
+            Itinerary worst = best.peek();
+            return sortBy == ConnectionSearchRequest.SortBy.PRICE
+                    ? price.compareTo(worst.totalPrice()) > 0
+                    : duration.compareTo(worst.duration()) > 0;
+        }
+    }
+
+    // Case-insensitive match against a normalized location, without allocating
+    private static boolean isLocation(String location, String normalized) {
+        return location.length() == normalized.length() ? location.equalsIgnoreCase(normalized)
+                : location.trim().equalsIgnoreCase(normalized);
+    }
+}
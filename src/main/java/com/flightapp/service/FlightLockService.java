@@ -0,0 +1,176 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LockStripeStats;
+import com.flightapp.exceptions.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by flight ID.
+ * Bookings on the same flight are serialized, bookings on other flights only meet
+ * when their IDs hash to the same stripe. Wait and hold times are tracked per stripe.
+ */
+@Service
+@Slf4j
+public class FlightLockService {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+
+    public FlightLockService(
+            @Value("${flightapp.booking.lock-stripes:64}") int stripeCount,
+            @Value("${flightapp.booking.lock-timeout-ms:5000}") long timeoutMillis) {
+        // Round up to a power of two so the stripe is a mask instead of a modulo
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripes.length - 1;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Locks the flight's stripe for the rest of the current transaction.
+     * Outside a transaction use {@link #withFlightLock} instead.
+     */
+    public void lockUntilCompletion(Long flightId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("lockUntilCompletion requires an active transaction");
+        }
+        Stripe stripe = acquire(flightId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.release();
+            }
+        });
+    }
+
+    /**
+     * Runs the action in a transaction with the flight's stripe locked until it completes.
+     * Without a running transaction the lock is taken before the transaction starts, so
+     * a caller waiting for the lock holds no pooled connection. Inside one it joins it.
+     */
+    public <T> T inTransaction(Long flightId, TransactionOperations transaction, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lockUntilCompletion(flightId);
+            return action.get();
+        }
+        return withFlightLock(flightId, () -> transaction.execute(status -> action.get()));
+    }
+
+    public <T> T withFlightLock(Long flightId, Supplier<T> action) {
+        Stripe stripe = acquire(flightId);
+        try {
+            return action.get();
+        } finally {
+            stripe.release();
+        }
+    }
+
+    public int stripeFor(Long flightId) {
+        long h = flightId * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential IDs
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    // Stats of every stripe that has been used at least once
+    public List<LockStripeStats> getStripeStats() {
+        List<LockStripeStats> stats = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            long acquisitions = stripe.acquisitions.sum();
+            if (acquisitions == 0) {
+                continue;
+            }
+            stats.add(LockStripeStats.builder()
+                    .stripe(i)
+                    .acquisitions(acquisitions)
+                    .contendedAcquisitions(stripe.contended.sum())
+                    .timeouts(stripe.timeouts.sum())
+                    .queueLength(stripe.lock.getQueueLength())
+                    .avgWaitMicros(stripe.waitNanos.sum() / acquisitions / 1_000)
+                    .maxWaitMicros(stripe.maxWaitNanos.get() / 1_000)
+                    .avgHoldMicros(stripe.holdNanos.sum() / acquisitions / 1_000)
+                    .maxHoldMicros(stripe.maxHoldNanos.get() / 1_000)
+                    .build());
+        }
+        return stats;
+    }
+
+    private Stripe acquire(Long flightId) {
+        Stripe stripe = stripes[stripeFor(flightId)];
+        long start = System.nanoTime();
+        boolean contended = stripe.lock.isLocked() && !stripe.lock.isHeldByCurrentThread();
+
+        boolean acquired;
+        try {
+            acquired = stripe.lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Booking interrupted. Please try again");
+        }
+        if (!acquired) {
+            stripe.timeouts.increment();
+            log.warn("Timed out waiting for booking lock on flight ID: {}", flightId);
+            throw new BusinessException("Flight is busy. Please try again");
+        }
+
+        stripe.acquired(System.nanoTime() - start, contended);
+        return stripe;
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong maxHoldNanos = new AtomicLong();
+
+        // Only written and read by the lock owner
+        private long heldSince;
+
+        void acquired(long waited, boolean wasContended) {
+            if (lock.getHoldCount() > 1) {
+                return; // re-entry: the outer acquisition is already being measured
+            }
+            heldSince = System.nanoTime();
+            acquisitions.increment();
+            if (wasContended) {
+                contended.increment();
+            }
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+
+        void release() {
+            if (lock.getHoldCount() == 1) {
+                long held = System.nanoTime() - heldSince;
+                holdNanos.add(held);
+                maxHoldNanos.accumulateAndGet(held, Math::max);
+            }
+            lock.unlock();
+        }
+    }
+}
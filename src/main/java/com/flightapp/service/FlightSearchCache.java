@@ -0,0 +1,107 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.SearchCacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches flight search results by (route, travel day, passengers).
+ *
+ * A flight change invalidates every passenger count for that route and day after the
+ * change commits, because a seat change can add a flight to a result as well as
+ * remove one. Each route and day has a generation counter (striped) that invalidation
+ * bumps. A result computed across a bump is dropped, so a search that read the old
+ * state can't cache it after the invalidation ran. Changes made on other nodes only
+ * arrive through the TTL, so keep it close to the search index refresh interval.
+ */
+@Component
+@Slf4j
+public class FlightSearchCache {
+
+    // Highest passenger count FlightSearchRequest accepts
+    static final int MAX_PASSENGERS = 9;
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final ConcurrentTtlCache<SearchKey, List<FlightSearchResponse>> results;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final LongAdder invalidations = new LongAdder();
+
+    public FlightSearchCache(
+            @Value("${flightapp.search.cache.max-entries:10000}") int maxEntries,
+            @Value("${flightapp.search.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.results = new ConcurrentTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds).toMillis(), Clock.systemUTC());
+    }
+
+    /**
+     * Returns the cached result for the search, or runs it and caches what it returns.
+     */
+    public List<FlightSearchResponse> get(String fromLocation, String toLocation, LocalDate travelDate, int passengers,
+                                          Supplier<List<FlightSearchResponse>> search) {
+        SearchKey key = new SearchKey(FlightSearchIndex.RouteKey.of(fromLocation, toLocation), travelDate, passengers);
+        List<FlightSearchResponse> cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripeFor(key.routeKey(), travelDate);
+        long generation = generations.get(stripe);
+        List<FlightSearchResponse> computed = List.copyOf(search.get());
+        results.put(key, computed);
+        if (generations.get(stripe) != generation) {
+            // Invalidated while searching: the result may predate the change
+            results.remove(key);
+        }
+        return computed;
+    }
+
+    /**
+     * Drops cached searches on the flight's route and departure day once the current transaction commits.
+     */
+    public void invalidate(String fromLocation, String toLocation, LocalDateTime departureTime) {
+        FlightSearchIndex.RouteKey routeKey = FlightSearchIndex.RouteKey.of(fromLocation, toLocation);
+        LocalDate day = departureTime.toLocalDate();
+        AfterCommit.run(() -> {
+            generations.incrementAndGet(stripeFor(routeKey, day));
+            for (int passengers = 1; passengers <= MAX_PASSENGERS; passengers++) {
+                results.remove(new SearchKey(routeKey, day, passengers));
+            }
+            invalidations.increment();
+        });
+    }
+
+    public SearchCacheStats getStats() {
+        ConcurrentTtlCache.Stats stats = results.stats();
+        long lookups = stats.hits() + stats.misses();
+        return SearchCacheStats.builder()
+                .entries(stats.size())
+                .maxEntries(results.maxSize())
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .hitRate(lookups == 0 ? 0.0 : (double) stats.hits() / lookups)
+                .evictions(stats.evictions())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    // Helper methods
+
+    private static int stripeFor(FlightSearchIndex.RouteKey routeKey, LocalDate day) {
+        int hash = 31 * routeKey.hashCode() + day.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private record SearchKey(FlightSearchIndex.RouteKey routeKey, LocalDate travelDate, int passengers) {
+    }
+}
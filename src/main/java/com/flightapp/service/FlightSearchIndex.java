@@ -0,0 +1,314 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * In-memory flight search index: per (from, to) route, flight snapshots sorted by departure time.
+ * The same snapshots are also kept per origin, which is the time-dependent graph the
+ * connection search walks.
+ *
+ * Loaded in pages once the application is ready. Until then {@link #isReady()} is false,
+ * search goes to the database and connection search asks the client to retry. Changes committed by this node are applied after commit.
+ * Changes made by other nodes arrive through a periodic refresh of flights whose updated_at
+ * moved. The refresh window overlaps the previous one, so it also repairs a local update that
+ * raced with the previous refresh. Results can lag the database by about one refresh interval.
+ * That is fine for search, because booking re-checks seats against the database.
+ */
+@Component
+@Slf4j
+public class FlightSearchIndex {
+
+    // Refresh windows overlap by this much to cover commit delays and clock skew between nodes
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private final FlightRepository flightRepository;
+    private final int loadPageSize;
+
+    private final ConcurrentMap<RouteKey, ConcurrentSkipListMap<Slot, FlightSnapshot>> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentSkipListMap<Slot, FlightSnapshot>> departures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, FlightSnapshot> flightsById = new ConcurrentHashMap<>();
+
+    // Lower bounds for pruning multi-leg searches; they never loosen, so they stay valid after removals
+    private final AtomicLong shortestFlightSeconds = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicReference<BigDecimal> lowestBasePrice = new AtomicReference<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastRefreshStartedAt;
+
+    public FlightSearchIndex(
+            FlightRepository flightRepository,
+            @Value("${flightapp.search.index.load-page-size:5000}") int loadPageSize) {
+        this.flightRepository = flightRepository;
+        this.loadPageSize = loadPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime fromDeparture = LocalDate.now().atStartOfDay();
+
+        long afterId = Long.MIN_VALUE;
+        List<Flight> page;
+        do {
+            page = flightRepository.findUpcomingAfterId(fromDeparture, afterId, PageRequest.ofSize(loadPageSize));
+            for (Flight flight : page) {
+                put(FlightSnapshot.of(flight));
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == loadPageSize);
+
+        lastRefreshStartedAt = startedAt;
+        ready = true;
+        log.info("Flight search index loaded {} flights on {} routes in {} ms",
+                flightsById.size(), routes.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${flightapp.search.index.refresh-ms:30000}",
+            initialDelayString = "${flightapp.search.index.refresh-ms:30000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+
+        List<Flight> changed = flightRepository.findChangedSince(lastRefreshStartedAt.minus(REFRESH_OVERLAP), today);
+        for (Flight flight : changed) {
+            put(FlightSnapshot.of(flight));
+        }
+        int departed = evictDepartedBefore(today);
+        lastRefreshStartedAt = startedAt;
+
+        if (!changed.isEmpty() || departed > 0) {
+            log.info("Flight search index refreshed {} flights, dropped {} departed", changed.size(), departed);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return flightsById.size();
+    }
+
+    /**
+     * Bookable flights on the route departing on the given day with at least the requested
+     * number of seats, ordered by departure time.
+     */
+    public List<FlightSnapshot> search(String fromLocation, String toLocation, LocalDate travelDate, int seats) {
+        return search(fromLocation, toLocation, travelDate, travelDate, seats);
+    }
+
+    /**
+     * Same as {@link #search(String, String, LocalDate, int)} over the days from firstDay to lastDay inclusive.
+     */
+    public List<FlightSnapshot> search(String fromLocation, String toLocation, LocalDate firstDay, LocalDate lastDay,
+                                       int seats) {
+        NavigableMap<Slot, FlightSnapshot> route = routes.get(RouteKey.of(fromLocation, toLocation));
+        if (route == null) {
+            return List.of();
+        }
+
+        List<FlightSnapshot> matches = new ArrayList<>();
+        for (FlightSnapshot flight : between(route, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay()).values()) {
+            if (flight.bookable() && flight.availableSeats() >= seats) {
+                matches.add(flight);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * One page of {@link #search(String, String, LocalDate, int)}: at most limit matches that come
+     * strictly after (afterDeparture, afterId) in (departureTime, id) order.
+     */
+    public List<FlightSnapshot> searchAfter(String fromLocation, String toLocation, LocalDate travelDate, int seats,
+                                            LocalDateTime afterDeparture, long afterId, int limit) {
+        List<FlightSnapshot> matches = new ArrayList<>();
+        for (FlightSnapshot flight : dayAfter(fromLocation, toLocation, travelDate, afterDeparture, afterId).values()) {
+            if (matches.size() == limit) {
+                break;
+            }
+            if (flight.bookable() && flight.availableSeats() >= seats) {
+                matches.add(flight);
+            }
+        }
+        return matches;
+    }
+
+    // Hands every match of search(...) to the action in order without collecting them
+    public void forEachMatch(String fromLocation, String toLocation, LocalDate travelDate, int seats,
+                             Consumer<FlightSnapshot> action) {
+        for (FlightSnapshot flight : dayAfter(fromLocation, toLocation, travelDate,
+                travelDate.atStartOfDay(), Long.MIN_VALUE).values()) {
+            if (flight.bookable() && flight.availableSeats() >= seats) {
+                action.accept(flight);
+            }
+        }
+    }
+
+    public FlightSnapshot get(Long flightId) {
+        return flightsById.get(flightId);
+    }
+
+    // Adds or replaces the flight once the surrounding transaction commits
+    public void flightSaved(Flight flight) {
+        FlightSnapshot snapshot = FlightSnapshot.of(flight);
+        AfterCommit.run(() -> put(snapshot));
+    }
+
+    // Applies a committed change of availableSeats; negative for bookings, positive for releases
+    public void seatsAdjusted(Long flightId, int seatsToAdjust) {
+        AfterCommit.run(() -> flightsById.computeIfPresent(flightId, (id, current) -> {
+            FlightSnapshot updated = current.withAvailableSeats(current.availableSeats() + seatsToAdjust);
+            routeFor(updated).put(Slot.of(updated), updated);
+            departuresFor(updated).put(Slot.of(updated), updated);
+            return updated;
+        }));
+    }
+
+    // Flights leaving the location with departure in [from, to), ordered by departure time
+    NavigableMap<Slot, FlightSnapshot> departuresBetween(String location, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Slot, FlightSnapshot> leaving = departures.get(RouteKey.normalize(location));
+        return leaving == null ? Collections.emptyNavigableMap() : between(leaving, from, to);
+    }
+
+    // Every flight on the route ordered by departure time, or an empty map
+    NavigableMap<Slot, FlightSnapshot> route(String fromLocation, String toLocation) {
+        NavigableMap<Slot, FlightSnapshot> route = routes.get(RouteKey.of(fromLocation, toLocation));
+        return route == null ? Collections.emptyNavigableMap() : route;
+    }
+
+    // No indexed flight is shorter than this
+    Duration shortestFlight() {
+        long seconds = shortestFlightSeconds.get();
+        return seconds == Long.MAX_VALUE ? Duration.ZERO : Duration.ofSeconds(seconds);
+    }
+
+    // No indexed flight has a lower base price than this
+    BigDecimal lowestBasePrice() {
+        BigDecimal price = lowestBasePrice.get();
+        return price == null ? BigDecimal.ZERO : price;
+    }
+
+    // The flights in the map with departure in [from, to)
+    static NavigableMap<Slot, FlightSnapshot> between(NavigableMap<Slot, FlightSnapshot> flights,
+                                                     LocalDateTime from, LocalDateTime to) {
+        return flights.subMap(new Slot(from, Long.MIN_VALUE), true, new Slot(to, Long.MIN_VALUE), false);
+    }
+
+    // Helper methods
+
+    // Flights on the route departing on the day, starting after the given position
+    private NavigableMap<Slot, FlightSnapshot> dayAfter(String fromLocation, String toLocation, LocalDate travelDate,
+                                                        LocalDateTime afterDeparture, long afterId) {
+        NavigableMap<Slot, FlightSnapshot> day = route(fromLocation, toLocation)
+                .headMap(new Slot(travelDate.plusDays(1).atStartOfDay(), Long.MIN_VALUE), false);
+        Slot after = new Slot(afterDeparture, afterId);
+        LocalDateTime dayStart = travelDate.atStartOfDay();
+        return after.departureTime().isBefore(dayStart)
+                ? day.tailMap(new Slot(dayStart, Long.MIN_VALUE), true)
+                : day.tailMap(after, false);
+    }
+
+    private void put(FlightSnapshot snapshot) {
+        flightsById.compute(snapshot.id(), (id, previous) -> {
+            // Replacing in place keeps the flight visible; only a moved flight leaves its old slot
+            if (previous != null && (!Slot.of(previous).equals(Slot.of(snapshot))
+                    || !RouteKey.of(previous).equals(RouteKey.of(snapshot)))) {
+                routeFor(previous).remove(Slot.of(previous));
+                departuresFor(previous).remove(Slot.of(previous));
+            }
+            routeFor(snapshot).put(Slot.of(snapshot), snapshot);
+            departuresFor(snapshot).put(Slot.of(snapshot), snapshot);
+            return snapshot;
+        });
+        shortestFlightSeconds.accumulateAndGet(
+                Duration.between(snapshot.departureTime(), snapshot.arrivalTime()).toSeconds(), Math::min);
+        lowestBasePrice.accumulateAndGet(snapshot.basePrice(),
+                (lowest, price) -> lowest == null || price.compareTo(lowest) < 0 ? price : lowest);
+    }
+
+    private int evictDepartedBefore(LocalDateTime cutoff) {
+        int evicted = 0;
+        for (ConcurrentSkipListMap<Slot, FlightSnapshot> route : routes.values()) {
+            NavigableMap<Slot, FlightSnapshot> departed = route.headMap(new Slot(cutoff, Long.MIN_VALUE), false);
+            for (FlightSnapshot flight : departed.values()) {
+                flightsById.remove(flight.id());
+                evicted++;
+            }
+            departed.clear();
+        }
+        for (ConcurrentSkipListMap<Slot, FlightSnapshot> leaving : departures.values()) {
+            leaving.headMap(new Slot(cutoff, Long.MIN_VALUE), false).clear();
+        }
+        return evicted;
+    }
+
+    private ConcurrentSkipListMap<Slot, FlightSnapshot> routeFor(FlightSnapshot snapshot) {
+        return routes.computeIfAbsent(RouteKey.of(snapshot),
+                key -> new ConcurrentSkipListMap<>());
+    }
+
+    private ConcurrentSkipListMap<Slot, FlightSnapshot> departuresFor(FlightSnapshot snapshot) {
+        return departures.computeIfAbsent(RouteKey.normalize(snapshot.fromLocation()),
+                key -> new ConcurrentSkipListMap<>());
+    }
+
+    // Locations compare case-insensitively, like the default MySQL collation
+    record RouteKey(String fromLocation, String toLocation) {
+
+        static RouteKey of(String fromLocation, String toLocation) {
+            return new RouteKey(normalize(fromLocation), normalize(toLocation));
+        }
+
+        static RouteKey of(FlightSnapshot snapshot) {
+            return of(snapshot.fromLocation(), snapshot.toLocation());
+        }
+
+        static String normalize(String location) {
+            return LocationDictionary.normalize(location);
+        }
+    }
+
+    record Slot(LocalDateTime departureTime, long flightId) implements Comparable<Slot> {
+
+        static Slot of(FlightSnapshot snapshot) {
+            return new Slot(snapshot.departureTime(), snapshot.id());
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byTime = departureTime.compareTo(other.departureTime);
+            return byTime != 0 ? byTime : Long.compare(flightId, other.flightId);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.flightapp.service;
+
+import com.flightapp.repository.FlightSeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Brings an existing flight_seats table up to the current mapping at startup. Schema updates
+ * add columns but never relax one, so what they leave behind is done here, once per database.
+ * Confirmed bookings made before the table existed get their rows too, so the unique seat key
+ * covers them on every node and not just in this node's seat maps.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightSeatMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightSeatRepository flightSeatRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Runs ahead of the other startup loaders
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        if (bookingIdRequired()) {
+            // Seat holds take rows too, and those have no booking
+            jdbcTemplate.execute("ALTER TABLE flight_seats MODIFY booking_id BIGINT NULL");
+            log.info("flight_seats.booking_id is now nullable");
+        }
+
+        // A no-op once every confirmed seat has its row
+        Integer backfilled = transactionTemplate.execute(status -> flightSeatRepository.backfillConfirmedSeats());
+        if (backfilled != null && backfilled > 0) {
+            log.info("Backfilled flight_seats with {} seat(s) of existing confirmed bookings", backfilled);
+        }
+    }
+
+    // Helper methods
+
+    private boolean bookingIdRequired() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, "flight_seats", "booking_id")) {
+                return columns.next() && columns.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls;
+            }
+        }));
+    }
+}
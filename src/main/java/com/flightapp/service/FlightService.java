@@ -1,10 +1,19 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FareCalendarDay;
+import com.flightapp.dto.FareCalendarRequest;
 import com.flightapp.dto.FlightInventoryRequest;
+import com.flightapp.dto.FlightSearchPage;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.RoundTripSearchResponse;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 
 public interface FlightService {
 
@@ -13,6 +22,17 @@ public interface FlightService {
 
     List<FlightSearchResponse> searchFlights(FlightSearchRequest request);
 
+    FlightSearchPage searchFlightsPage(FlightSearchRequest request);
+
+    // Hands each result to the sink as it is read instead of collecting them
+    void streamFlights(FlightSearchRequest request, Consumer<FlightSearchResponse> sink);
+
+    RoundTripSearchResponse searchRoundTrip(FlightSearchRequest request);
+
+    List<ItineraryResponse> searchConnections(ConnectionSearchRequest request);
+
+    SortedMap<LocalDate, FareCalendarDay> getFareCalendar(FareCalendarRequest request);
+
     FlightSearchResponse getFlightById(Long flightId);
 
     void updateAvailableSeats(Long flightId, Integer seatsToAdjust);
@@ -1,8 +1,15 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FareCalendarDay;
+import com.flightapp.dto.FareCalendarRequest;
 import com.flightapp.dto.FlightInventoryRequest;
+import com.flightapp.dto.FlightSearchPage;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.RoundTripSearchResponse;
 import com.flightapp.entity.Airline;
 import com.flightapp.entity.Flight;
 import com.flightapp.exceptions.BusinessException;
@@ -12,14 +19,24 @@ import com.flightapp.repository.FlightRepository;
 import com.flightapp.service.FlightService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +46,17 @@ public class FlightServiceImpl implements FlightService {
 
     private final FlightRepository flightRepository;
     private final AirlineRepository airlineRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchExecutor flightSearchExecutor;
+    private final ConnectionFinder connectionFinder;
+    private final TransactionTemplate transactionTemplate;
+    private final LocationDictionary locationDictionary;
+    private final LocationSuggester locationSuggester;
+    private final PricingEngine pricingEngine;
+    private final LookupGuard lookupGuard;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
 
     @Override
     public FlightSearchResponse addFlightInventory(FlightInventoryRequest request) {
@@ -51,12 +79,17 @@ public class FlightServiceImpl implements FlightService {
                 .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
                     "Airline", "airline code", request.getAirlineCode()));
 
+        LocationDictionary.Entry from = locationDictionary.register(request.getFromLocation());
+        LocationDictionary.Entry to = locationDictionary.register(request.getToLocation());
+
         // Create flight
         Flight flight = Flight.builder()
                 .flightNumber(request.getFlightNumber())
                 .airline(airline)
-                .fromLocation(request.getFromLocation())
-                .toLocation(request.getToLocation())
+                .fromLocation(from.name())
+                .toLocation(to.name())
+                .fromLocationId(from.id())
+                .toLocationId(to.id())
                 .departureTime(request.getDepartureTime())
                 .arrivalTime(request.getArrivalTime())
                 .totalSeats(request.getTotalSeats())
@@ -67,90 +100,433 @@ public class FlightServiceImpl implements FlightService {
                 .build();
 
         Flight savedFlight = flightRepository.save(flight);
+        flightSearchIndex.flightSaved(savedFlight);
+        lookupGuard.flightAdded(savedFlight.getId());
+        flightSearchCache.invalidate(savedFlight.getFromLocation(), savedFlight.getToLocation(),
+                savedFlight.getDepartureTime());
+        locationSuggester.flightAdded(from, to);
         log.info("Flight inventory added successfully with ID: {}", savedFlight.getId());
 
         return mapToSearchResponse(savedFlight);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // A cached or indexed search never touches the database, so don't open a transaction for it
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<FlightSearchResponse> searchFlights(FlightSearchRequest request) {
         log.info("Searching flights from {} to {} on {}", 
                 request.getFromLocation(), request.getToLocation(), request.getTravelDate());
 
-        // Create date range for the entire day
-        LocalDateTime startDate = request.getTravelDate().atStartOfDay();
-        LocalDateTime endDate = request.getTravelDate().atTime(LocalTime.MAX);
+        SearchRefinement refinement = SearchRefinement.requested(request)
+                ? SearchRefinement.of(request, pricingEngine::fareMinor) : null;
+        Route route = resolveRoute(request.getFromLocation(), request.getToLocation());
+        if (route == null) {
+            log.info("Unknown location in search from {} to {}", request.getFromLocation(), request.getToLocation());
+            return List.of();
+        }
 
-        // Search flights
-        List<Flight> flights = flightRepository.searchFlights(
-                request.getFromLocation(),
-                request.getToLocation(),
-                startDate,
-                endDate,
-                request.getNumberOfPassengers()
+        // Filtered, re-sorted or limited searches skip the result cache and map only what they return
+        if (refinement != null) {
+            List<FlightSearchResponse> flights = findRefinedFlights(route, request, refinement);
+            log.info("Found {} flights matching search criteria and filters", flights.size());
+            return flights;
+        }
+
+        List<FlightSearchResponse> flights = flightSearchCache.get(
+                route.from().name(),
+                route.to().name(),
+                request.getTravelDate(),
+                request.getNumberOfPassengers(),
+                () -> findFlights(route, request)
         );
 
         log.info("Found {} flights matching search criteria", flights.size());
+        return flights;
+    }
 
-        return flights.stream()
-                .map(this::mapToSearchResponse)
+    @Override
+    // Pages skip the result cache: a page is a short walk of the index or one bounded query
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public FlightSearchPage searchFlightsPage(FlightSearchRequest request) {
+        // The cursor is a position in departure order, and a filtered page could come back short
+        if (SearchRefinement.requested(request)) {
+            throw new BusinessException("Filters, sorting and maxResults are not supported with paging");
+        }
+        int pageSize = request.getPageSize() != null ? request.getPageSize() : DEFAULT_PAGE_SIZE;
+        LocalDateTime startDate = request.getTravelDate().atStartOfDay();
+        SearchCursor after = request.getCursor() != null
+                ? SearchCursor.decode(request.getCursor())
+                : new SearchCursor(startDate, Long.MIN_VALUE);
+        log.info("Searching flights from {} to {} on {} after {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate(), after);
+
+        Route route = resolveRoute(request.getFromLocation(), request.getToLocation());
+        if (route == null) {
+            return FlightSearchPage.builder().flights(List.of()).build();
+        }
+
+        // One extra row tells whether another page follows
+        List<FlightSnapshot> flights;
+        if (flightSearchIndex.isReady()) {
+            flights = flightSearchIndex.searchAfter(
+                    route.from().name(),
+                    route.to().name(),
+                    request.getTravelDate(),
+                    request.getNumberOfPassengers(),
+                    after.departureTime(),
+                    after.flightId(),
+                    pageSize + 1);
+        } else {
+            flights = flightRepository.searchFlightsAfter(
+                    route.from().id(),
+                    route.to().id(),
+                    startDate,
+                    startDate.plusDays(1),
+                    request.getNumberOfPassengers(),
+                    after.departureTime(),
+                    after.flightId(),
+                    PageRequest.ofSize(pageSize + 1));
+        }
+
+        boolean hasMore = flights.size() > pageSize;
+        if (hasMore) {
+            flights = flights.subList(0, pageSize);
+        }
+        return FlightSearchPage.builder()
+                .flights(flights.stream().map(this::mapToSearchResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? SearchCursor.of(flights.get(pageSize - 1)).encode() : null)
+                .build();
+    }
+
+    @Override
+    // Only the database path needs a transaction, and it has to stay open while the cursor is read
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamFlights(FlightSearchRequest request, Consumer<FlightSearchResponse> sink) {
+        log.info("Streaming flights from {} to {} on {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        // Flights are written in departure order as they are read, so only filters apply
+        if (request.getMaxResults() != null
+                || (request.getSortBy() != null && request.getSortBy() != FlightSearchRequest.SortBy.DEPARTURE)) {
+            throw new BusinessException("Sorting and maxResults are not supported when streaming");
+        }
+        SearchRefinement refinement = SearchRefinement.of(request, pricingEngine::fareMinor);
+        Consumer<FlightSnapshot> matches = flight -> {
+            if (refinement.matches(flight)) {
+                sink.accept(mapToSearchResponse(flight));
+            }
+        };
+
+        Route route = resolveRoute(request.getFromLocation(), request.getToLocation());
+        if (route == null) {
+            return;
+        }
+
+        if (flightSearchIndex.isReady()) {
+            flightSearchIndex.forEachMatch(
+                    route.from().name(),
+                    route.to().name(),
+                    request.getTravelDate(),
+                    request.getNumberOfPassengers(),
+                    matches);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<FlightSnapshot> flights = flightRepository.streamFlights(
+                    route.from().id(),
+                    route.to().id(),
+                    request.getTravelDate().atStartOfDay(),
+                    request.getTravelDate().plusDays(1).atStartOfDay(),
+                    request.getNumberOfPassengers())) {
+                flights.forEach(matches);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public RoundTripSearchResponse searchRoundTrip(FlightSearchRequest request) {
+        log.info("Searching round trip {} - {} leaving {} returning {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate(), request.getReturnDate());
+
+        if (request.getReturnDate() == null) {
+            throw new BusinessException("Return date is required for a round trip");
+        }
+        if (request.getReturnDate().isBefore(request.getTravelDate())) {
+            throw new BusinessException("Return date cannot be before travel date");
+        }
+
+        FlightSearchRequest returnLeg = FlightSearchRequest.builder()
+                .fromLocation(request.getToLocation())
+                .toLocation(request.getFromLocation())
+                .travelDate(request.getReturnDate())
+                .numberOfPassengers(request.getNumberOfPassengers())
+                .isRoundTrip(false)
+                .airlineCodes(request.getAirlineCodes())
+                .minPrice(request.getMinPrice())
+                .maxPrice(request.getMaxPrice())
+                .maxDurationMinutes(request.getMaxDurationMinutes())
+                .sortBy(request.getSortBy())
+                .maxResults(request.getMaxResults())
+                .build();
+
+        // Legs served from the index take microseconds, less than handing one to another thread
+        if (flightSearchIndex.isReady()) {
+            return RoundTripSearchResponse.builder()
+                    .outboundFlights(searchFlights(request))
+                    .returnFlights(searchFlights(returnLeg))
+                    .build();
+        }
+
+        // Database legs: the return leg runs on the search pool while this thread searches the
+        // outbound leg, so the response takes as long as the slower leg rather than both
+        CompletableFuture<List<FlightSearchResponse>> returnFlights =
+                flightSearchExecutor.submit(() -> searchFlights(returnLeg));
+        List<FlightSearchResponse> outboundFlights = searchFlights(request);
+
+        try {
+            return RoundTripSearchResponse.builder()
+                    .outboundFlights(outboundFlights)
+                    .returnFlights(returnFlights.join())
+                    .build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ItineraryResponse> searchConnections(ConnectionSearchRequest request) {
+        log.info("Searching connections from {} to {} on {}",
+                request.getFromLocation(), request.getToLocation(), request.getTravelDate());
+
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request);
+
+        log.info("Found {} itineraries matching search criteria", itineraries.size());
+
+        return itineraries.stream()
+                .map(this::mapToItineraryResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public SortedMap<LocalDate, FareCalendarDay> getFareCalendar(FareCalendarRequest request) {
+        LocalDate firstDay = request.getTravelDate().minusDays(request.getFlexDays());
+        if (firstDay.isBefore(LocalDate.now())) {
+            firstDay = LocalDate.now();
+        }
+        LocalDate lastDay = request.getTravelDate().plusDays(request.getFlexDays());
+        log.info("Building fare calendar from {} to {} for {} to {}",
+                request.getFromLocation(), request.getToLocation(), firstDay, lastDay);
+
+        // Every day in the window gets an entry so the client can show the empty ones too
+        SortedMap<LocalDate, FareCalendarDay> calendar = new TreeMap<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            calendar.put(day, FareCalendarDay.builder().flightCount(0).maxAvailableSeats(0).build());
+        }
+
+        Route route = resolveRoute(request.getFromLocation(), request.getToLocation());
+        if (route == null) {
+            return calendar;
+        }
+
+        // The index holds the live seat counts, so the summary is built from it on every call.
+        // While it is still loading the window's flights are read from the database instead;
+        // fares depend on each flight's seats sold, so they can't be aggregated in SQL.
+        List<FlightSnapshot> flights = flightSearchIndex.isReady()
+                ? flightSearchIndex.search(route.from().name(), route.to().name(), firstDay, lastDay,
+                        request.getNumberOfPassengers())
+                : flightRepository.searchFlights(route.from().id(), route.to().id(), firstDay.atStartOfDay(),
+                        lastDay.plusDays(1).atStartOfDay(), request.getNumberOfPassengers());
+        for (FlightSnapshot flight : flights) {
+            FareCalendarDay day = calendar.get(flight.departureTime().toLocalDate());
+            BigDecimal fare = pricingEngine.fare(flight);
+            if (day.getMinFare() == null || fare.compareTo(day.getMinFare()) < 0) {
+                day.setMinFare(fare);
+            }
+            if (day.getMinBasePrice() == null || flight.basePrice().compareTo(day.getMinBasePrice()) < 0) {
+                day.setMinBasePrice(flight.basePrice());
+            }
+            day.setFlightCount(day.getFlightCount() + 1);
+            day.setMaxAvailableSeats(Math.max(day.getMaxAvailableSeats(), flight.availableSeats()));
+        }
+        return calendar;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FlightSearchResponse getFlightById(Long flightId) {
         log.info("Fetching flight with ID: {}", flightId);
+
+        if (!lookupGuard.mightExistFlight(flightId)) {
+            throw new com.flightapp.exceptions.ResourceNotFoundException("Flight", "id", flightId);
+        }
         
         Flight flight = flightRepository.findById(flightId)
-                .orElseThrow(() -> new IllegalArgumentException("Flight not found with ID: " + flightId));
+                .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
+                    "Flight", "id", flightId));
 
-        return mapToSearchResponse(flight);
+        // Viewing a flight is what selects it for booking, so only this response carries a price
+        // token. Search results skip it: signing one per result was an HMAC for every row listed.
+        FlightSnapshot snapshot = FlightSnapshot.of(flight);
+        long fare = pricingEngine.fareMinor(snapshot);
+        FlightSearchResponse response = mapToSearchResponse(snapshot, fare);
+        response.setPriceToken(pricingEngine.issueToken(flightId, fare));
+        return response;
     }
 
     @Override
     public void updateAvailableSeats(Long flightId, Integer seatsToAdjust) {
         log.info("Updating available seats for flight ID: {}, adjustment: {}", flightId, seatsToAdjust);
 
-        Flight flight = flightRepository.findById(flightId)
-                .orElseThrow(() -> new IllegalArgumentException("Flight not found with ID: " + flightId));
+        // Single guarded UPDATE: the row lock taken by the statement serializes concurrent
+        // bookers, and the WHERE clause decides whether the adjustment is allowed
+        int updatedRows = seatsToAdjust < 0
+                ? flightRepository.decrementAvailableSeats(flightId, -seatsToAdjust)
+                : flightRepository.incrementAvailableSeats(flightId, seatsToAdjust);
+
+        if (updatedRows == 0) {
+            // Guard rejected the update - find out why for a meaningful error
+            flightRepository.findById(flightId)
+                    .orElseThrow(() -> new com.flightapp.exceptions.ResourceNotFoundException(
+                        "Flight", "id", flightId));
 
-        int newAvailableSeats = flight.getAvailableSeats() + seatsToAdjust;
+            if (seatsToAdjust < 0) {
+                throw new BusinessException("Not enough seats available");
+            }
+            throw new BusinessException("Available seats cannot exceed total seats");
+        }
+
+        flightSearchIndex.seatsAdjusted(flightId, seatsToAdjust);
+        invalidateSearches(flightId);
+        log.info("Available seats updated for flight ID: {}", flightId);
+    }
 
-        // Validate seat availability
-        if (newAvailableSeats < 0) {
-            throw new IllegalArgumentException("Not enough seats available");
+    // Route and day come from the index when it has the flight; otherwise the flight is
+    // usually already in the persistence context of the booking that changed its seats
+    private void invalidateSearches(Long flightId) {
+        FlightSnapshot snapshot = flightSearchIndex.get(flightId);
+        if (snapshot != null) {
+            flightSearchCache.invalidate(snapshot.fromLocation(), snapshot.toLocation(), snapshot.departureTime());
+            return;
         }
+        flightRepository.findById(flightId).ifPresent(flight -> flightSearchCache.invalidate(
+                flight.getFromLocation(), flight.getToLocation(), flight.getDepartureTime()));
+    }
+
+    // Resolves both ends of a search once; null when either is not a known location
+    private Route resolveRoute(String fromLocation, String toLocation) {
+        LocationDictionary.Entry from = locationDictionary.resolve(fromLocation);
+        LocationDictionary.Entry to = from != null ? locationDictionary.resolve(toLocation) : null;
+        return to != null ? new Route(from, to) : null;
+    }
 
-        if (newAvailableSeats > flight.getTotalSeats()) {
-            throw new IllegalArgumentException("Available seats cannot exceed total seats");
+    // Runs a search that missed the cache
+    private List<FlightSearchResponse> findFlights(Route route, FlightSearchRequest request) {
+        if (flightSearchIndex.isReady()) {
+            return flightSearchIndex.search(
+                            route.from().name(),
+                            route.to().name(),
+                            request.getTravelDate(),
+                            request.getNumberOfPassengers()
+                    ).stream()
+                    .map(this::mapToSearchResponse)
+                    .collect(Collectors.toList());
         }
 
-        flight.setAvailableSeats(newAvailableSeats);
-        flightRepository.save(flight);
+        // Index still loading - search the database
+        // The whole day: the query's end bound is exclusive
+        LocalDateTime startDate = request.getTravelDate().atStartOfDay();
+        LocalDateTime endDate = request.getTravelDate().plusDays(1).atStartOfDay();
 
-        log.info("Available seats updated. New count: {}", newAvailableSeats);
+        List<FlightSnapshot> flights = flightRepository.searchFlights(
+                route.from().id(),
+                route.to().id(),
+                startDate,
+                endDate,
+                request.getNumberOfPassengers()
+        );
+
+        return flights.stream()
+                .map(this::mapToSearchResponse)
+                .collect(Collectors.toList());
+    }
+
+    private List<FlightSearchResponse> findRefinedFlights(Route route, FlightSearchRequest request,
+                                                         SearchRefinement refinement) {
+        if (flightSearchIndex.isReady()) {
+            flightSearchIndex.forEachMatch(
+                    route.from().name(),
+                    route.to().name(),
+                    request.getTravelDate(),
+                    request.getNumberOfPassengers(),
+                    refinement);
+        } else {
+            // Index still loading - filter the day's flights from the database
+            flightRepository.searchFlights(
+                    route.from().id(),
+                    route.to().id(),
+                    request.getTravelDate().atStartOfDay(),
+                    request.getTravelDate().plusDays(1).atStartOfDay(),
+                    request.getNumberOfPassengers()
+            ).forEach(refinement);
+        }
+
+        return refinement.results().stream()
+                .map(this::mapToSearchResponse)
+                .collect(Collectors.toList());
     }
 
     // Helper method to map Entity to DTO
     private FlightSearchResponse mapToSearchResponse(Flight flight) {
-        // Calculate duration
-        Duration duration = Duration.between(flight.getDepartureTime(), flight.getArrivalTime());
-        String durationStr = String.format("%dh %dm", duration.toHours(), duration.toMinutesPart());
+        return mapToSearchResponse(FlightSnapshot.of(flight));
+    }
 
+    private FlightSearchResponse mapToSearchResponse(FlightSnapshot flight) {
+        return mapToSearchResponse(flight, pricingEngine.fareMinor(flight));
+    }
+
+    private FlightSearchResponse mapToSearchResponse(FlightSnapshot flight, long fare) {
         return FlightSearchResponse.builder()
-                .flightId(flight.getId())
-                .flightNumber(flight.getFlightNumber())
-                .airlineName(flight.getAirline().getAirlineName())
-                .airlineCode(flight.getAirline().getAirlineCode())
-                .fromLocation(flight.getFromLocation())
-                .toLocation(flight.getToLocation())
-                .departureTime(flight.getDepartureTime())
-                .arrivalTime(flight.getArrivalTime())
-                .availableSeats(flight.getAvailableSeats())
-                .basePrice(flight.getBasePrice())
-                .duration(durationStr)
+                .flightId(flight.id())
+                .flightNumber(flight.flightNumber())
+                .airlineName(flight.airlineName())
+                .airlineCode(flight.airlineCode())
+                .fromLocation(flight.fromLocation())
+                .toLocation(flight.toLocation())
+                .departureTime(flight.departureTime())
+                .arrivalTime(flight.arrivalTime())
+                .availableSeats(flight.availableSeats())
+                .basePrice(flight.basePrice())
+                .duration(formatDuration(flight.departureTime(), flight.arrivalTime()))
+                .fare(BigDecimal.valueOf(fare, 2))
+                .build();
+    }
+
+    private ItineraryResponse mapToItineraryResponse(ConnectionFinder.Itinerary itinerary) {
+        return ItineraryResponse.builder()
+                .legs(itinerary.legs().stream()
+                        .map(this::mapToSearchResponse)
+                        .collect(Collectors.toList()))
+                .stops(itinerary.legs().size() - 1)
+                .departureTime(itinerary.departureTime())
+                .arrivalTime(itinerary.arrivalTime())
+                .duration(formatDuration(itinerary.departureTime(), itinerary.arrivalTime()))
+                .totalPrice(itinerary.totalPrice())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static String formatDuration(LocalDateTime departureTime, LocalDateTime arrivalTime) {
+        Duration duration = Duration.between(departureTime, arrivalTime);
+        return String.format("%dh %dm", duration.toHours(), duration.toMinutesPart());
+    }
+
+    // The index and result cache key on display names, the database on location ids
+    private record Route(LocationDictionary.Entry from, LocationDictionary.Entry to) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.flightapp.service;
+
+import com.flightapp.entity.TicketView;
+import com.flightapp.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last booking on a history page in (createdAt desc, id desc) order, handed
+ * to clients as an opaque token for the next page.
+ */
+record HistoryCursor(LocalDateTime createdAt, long bookingId) {
+
+    private static final char SEPARATOR = '|';
+
+    static HistoryCursor of(TicketView ticket) {
+        return new HistoryCursor(ticket.getBookingDate(), ticket.getBookingId());
+    }
+
+    static HistoryCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("Invalid history cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid history cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt.toString() + SEPARATOR + bookingId).getBytes(StandardCharsets.UTF_8));
+    }
+}
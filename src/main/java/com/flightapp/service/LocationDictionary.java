@@ -0,0 +1,219 @@
+package com.flightapp.service;
+
+import com.flightapp.entity.Location;
+import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.LocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory view of the locations table: normalized name or IATA code to the location's id
+ * and display name. Search input is resolved here once, so "DEL", "delhi" and "Delhi " all
+ * reach the same flights and the database query compares integer ids.
+ *
+ * Locations are never removed. A name or code this node has not seen yet is looked up in the
+ * database, which picks up locations registered by other nodes. A lookup that finds nothing is
+ * remembered for a short TTL, so repeated searches for a misspelt or made-up place don't reach
+ * the database each time; a location registered on another node resolves here once that expires.
+ */
+@Component
+@Slf4j
+public class LocationDictionary {
+
+    private static final int CODE_LENGTH = 3;
+
+    private final LocationRepository locationRepository;
+    private final FlightRepository flightRepository;
+
+    // Registration commits on its own, so a lost race on the unique name never fails the caller's transaction
+    private final TransactionTemplate requiresNew;
+
+    private final ConcurrentMap<String, Entry> byName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> byCode = new ConcurrentHashMap<>();
+
+    // Normalized inputs the database had no location for; checked after the maps, so a local add wins
+    private final BoundedTtlCache<String, Boolean> misses;
+
+    @Autowired
+    public LocationDictionary(
+            LocationRepository locationRepository,
+            FlightRepository flightRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${flightapp.locations.miss-cache.max-entries:10000}") int maxMisses,
+            @Value("${flightapp.locations.miss-cache.ttl-seconds:60}") long missTtlSeconds) {
+        this(locationRepository, flightRepository, transactionManager, maxMisses,
+                Duration.ofSeconds(missTtlSeconds).toMillis(), Clock.systemUTC());
+    }
+
+    LocationDictionary(LocationRepository locationRepository, FlightRepository flightRepository,
+                       PlatformTransactionManager transactionManager, int maxMisses, long missTtlMillis,
+                       Clock clock) {
+        this.locationRepository = locationRepository;
+        this.flightRepository = flightRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.misses = new BoundedTtlCache<>(maxMisses, missTtlMillis, clock);
+    }
+
+    // Runs before the search index loads so backfilled flights are indexed under their canonical names
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        locationRepository.findAll().forEach(this::put);
+        int backfilled = backfillFlights();
+        log.info("Location dictionary loaded {} locations, backfilled {} flight locations", byName.size(), backfilled);
+    }
+
+    /**
+     * The location with the given name or IATA code, in any case; null when there is none.
+     * A name wins over a code that happens to spell the same.
+     */
+    public Entry resolve(String nameOrCode) {
+        String key = normalize(nameOrCode);
+        Entry entry = byName.get(key);
+        if (entry == null && key.length() == CODE_LENGTH) {
+            entry = byCode.get(key);
+        }
+        if (entry != null) {
+            return entry;
+        }
+        if (misses.get(key) != null) {
+            return null;
+        }
+
+        Location location = locationRepository.findByNormalizedName(key)
+                .or(() -> key.length() == CODE_LENGTH
+                        ? locationRepository.findByLocationCode(key.toUpperCase(Locale.ROOT))
+                        : Optional.<Location>empty())
+                .orElse(null);
+        if (location == null) {
+            misses.put(key, Boolean.TRUE);
+            return null;
+        }
+        return put(location);
+    }
+
+    // Display name of the location, or the input itself when it is not a known location
+    public String canonicalName(String nameOrCode) {
+        Entry entry = resolve(nameOrCode);
+        return entry != null ? entry.name() : nameOrCode;
+    }
+
+    /**
+     * The location for a flight's from/to field, creating it on first use. Codes are never
+     * matched here: an unknown three-letter input becomes a new name, not a guess.
+     */
+    public Entry register(String name) {
+        String normalized = normalize(name);
+        Entry known = byName.get(normalized);
+        if (known != null) {
+            return known;
+        }
+
+        try {
+            return put(requiresNew.execute(status -> locationRepository.findByNormalizedName(normalized)
+                    .orElseGet(() -> locationRepository.saveAndFlush(Location.builder()
+                            .locationName(name.trim())
+                            .normalizedName(normalized)
+                            .build()))));
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently by another request or node
+            return put(locationRepository.findByNormalizedName(normalized).orElseThrow(() -> e));
+        }
+    }
+
+    /**
+     * Creates the location or sets the IATA code of the existing one with that name.
+     */
+    public Entry define(String name, String code) {
+        String normalized = normalize(name);
+        String upperCode = code.trim().toUpperCase(Locale.ROOT);
+
+        Location saved = requiresNew.execute(status -> {
+            Location location = locationRepository.findByNormalizedName(normalized)
+                    .orElseGet(() -> Location.builder()
+                            .locationName(name.trim())
+                            .normalizedName(normalized)
+                            .build());
+            locationRepository.findByLocationCode(upperCode)
+                    .filter(other -> !other.getId().equals(location.getId()))
+                    .ifPresent(other -> {
+                        throw new DuplicateResourceException("Location", "code", upperCode);
+                    });
+            location.setLocationCode(upperCode);
+            return locationRepository.saveAndFlush(location);
+        });
+
+        // A replaced code no longer resolves on this node; other nodes forget it on restart
+        Entry previous = byName.get(normalized);
+        if (previous != null && previous.code() != null) {
+            byCode.remove(previous.code().toLowerCase(Locale.ROOT));
+        }
+        return put(saved);
+    }
+
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+
+    // Same key for the same place however it was typed
+    static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Helper methods
+
+    private Entry put(Location location) {
+        Entry entry = new Entry(location.getId(), location.getLocationCode(), location.getLocationName());
+        byName.put(location.getNormalizedName(), entry);
+        if (entry.code() != null) {
+            byCode.put(entry.code().toLowerCase(Locale.ROOT), entry);
+        }
+        return entry;
+    }
+
+    private int backfillFlights() {
+        List<String> fromLocations = flightRepository.findUnmappedFromLocations();
+        List<String> toLocations = flightRepository.findUnmappedToLocations();
+        if (fromLocations.isEmpty() && toLocations.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        for (String location : fromLocations) {
+            Entry entry = register(location);
+            updated += requiresNew.execute(status ->
+                    flightRepository.assignFromLocation(location, entry.id(), entry.name()));
+        }
+        for (String location : toLocations) {
+            Entry entry = register(location);
+            updated += requiresNew.execute(status ->
+                    flightRepository.assignToLocation(location, entry.id(), entry.name()));
+        }
+        return updated;
+    }
+
+    public record Entry(int id, String code, String name) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Location autocomplete over every location with upcoming flights. A location matches a
+ * prefix of its name, of any word in its name, or of its IATA code. Matches are ranked by
+ * how many upcoming flights leave from or arrive at the location.
+ *
+ * All keys sit in one array sorted by text. A lookup binary-searches the first key with the
+ * prefix and scans the keys that share it, without copying the query. Flight counts change in
+ * place as flights are added. The array is rebuilt only when a location is added, renamed or
+ * given a code. Counts never go down when flights depart or are cancelled, so the ranking
+ * drifts slowly until the next restart.
+ */
+@Component
+@Slf4j
+public class LocationSuggester {
+
+    private final LocationDictionary locationDictionary;
+    private final FlightRepository flightRepository;
+    private final int maxSuggestions;
+
+    private final ConcurrentMap<Integer, Suggestion> byId = new ConcurrentHashMap<>();
+    private volatile Key[] keys = new Key[0];
+
+    public LocationSuggester(
+            LocationDictionary locationDictionary,
+            FlightRepository flightRepository,
+            @Value("${flightapp.locations.suggest.max-results:10}") int maxSuggestions) {
+        this.locationDictionary = locationDictionary;
+        this.flightRepository = flightRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    // After the location dictionary, which backfills the flights' location ids
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void load() {
+        LocalDateTime fromDeparture = LocalDate.now().atStartOfDay();
+        Map<Integer, Long> flightCounts = new HashMap<>();
+        for (FlightRepository.LocationFlightCount count : flightRepository.countUpcomingFlightsByFromLocation(fromDeparture)) {
+            flightCounts.merge(count.getLocationId(), count.getFlightCount(), Long::sum);
+        }
+        for (FlightRepository.LocationFlightCount count : flightRepository.countUpcomingFlightsByToLocation(fromDeparture)) {
+            flightCounts.merge(count.getLocationId(), count.getFlightCount(), Long::sum);
+        }
+
+        synchronized (this) {
+            for (LocationDictionary.Entry entry : locationDictionary.entries()) {
+                byId.put(entry.id(), new Suggestion(entry, new AtomicLong(flightCounts.getOrDefault(entry.id(), 0L))));
+            }
+            rebuildKeys();
+        }
+        log.info("Location suggestions loaded {} locations, {} keys", byId.size(), keys.length);
+    }
+
+    /**
+     * Up to {@code limit} locations (capped at the configured maximum) matching the query
+     * as a prefix, in any case, busiest first. Allocates only the result and a scratch array
+     * of {@code limit} slots.
+     */
+    public List<LocationResponse> suggest(String query, int limit) {
+        int start = 0;
+        int end = query.length();
+        while (start < end && Character.isWhitespace(query.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(query.charAt(end - 1))) {
+            end--;
+        }
+        int count = Math.min(limit, maxSuggestions);
+        if (start == end || count <= 0) {
+            return List.of();
+        }
+
+        Key[] keys = this.keys;
+        Suggestion[] top = new Suggestion[count];
+        int found = 0;
+        for (int i = firstWithPrefix(keys, query, start, end);
+             i < keys.length && comparePrefix(keys[i].text(), query, start, end) == 0;
+             i++) {
+            Suggestion candidate = keys[i].suggestion();
+            long flights = candidate.flights.get();
+            if (flights == 0 || contains(top, found, candidate)) {
+                continue;
+            }
+            // Insertion into the busiest-first top list; on ties the earlier key, alphabetically, stays ahead
+            int at = found;
+            while (at > 0 && top[at - 1].flights.get() < flights) {
+                at--;
+            }
+            if (at == count) {
+                continue;
+            }
+            System.arraycopy(top, at, top, at + 1, Math.min(found, count - 1) - at);
+            top[at] = candidate;
+            if (found < count) {
+                found++;
+            }
+        }
+
+        List<LocationResponse> suggestions = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            suggestions.add(top[i].response);
+        }
+        return suggestions;
+    }
+
+    public void flightAdded(LocationDictionary.Entry from, LocationDictionary.Entry to) {
+        AfterCommit.run(() -> {
+            current(from).flights.incrementAndGet();
+            current(to).flights.incrementAndGet();
+        });
+    }
+
+    // Picks up a new name or IATA code of the location
+    public void locationSaved(LocationDictionary.Entry entry) {
+        current(entry);
+    }
+
+    // Helper methods
+
+    private Suggestion current(LocationDictionary.Entry entry) {
+        Suggestion suggestion = byId.get(entry.id());
+        if (suggestion != null && suggestion.entry.equals(entry)) {
+            return suggestion;
+        }
+        synchronized (this) {
+            Suggestion previous = byId.get(entry.id());
+            if (previous != null && previous.entry.equals(entry)) {
+                return previous;
+            }
+            suggestion = new Suggestion(entry, previous != null ? previous.flights : new AtomicLong());
+            byId.put(entry.id(), suggestion);
+            rebuildKeys();
+            return suggestion;
+        }
+    }
+
+    // Callers hold the monitor, so concurrent rebuilds never publish a stale array
+    private void rebuildKeys() {
+        List<Key> rebuilt = new ArrayList<>(byId.size() * 2);
+        for (Suggestion suggestion : byId.values()) {
+            String name = LocationDictionary.normalize(suggestion.entry.name());
+            rebuilt.add(new Key(name, suggestion));
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isLetterOrDigit(name.charAt(i - 1)) && Character.isLetterOrDigit(name.charAt(i))) {
+                    rebuilt.add(new Key(name.substring(i), suggestion));
+                }
+            }
+            if (suggestion.entry.code() != null) {
+                rebuilt.add(new Key(LocationDictionary.normalize(suggestion.entry.code()), suggestion));
+            }
+        }
+        rebuilt.sort(Comparator.comparing(Key::text));
+        keys = rebuilt.toArray(new Key[0]);
+    }
+
+    // Index of the first key that is not below the query prefix
+    private static int firstWithPrefix(Key[] keys, String query, int start, int end) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(keys[mid].text(), query, start, end) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Negative below the prefix, 0 when the key starts with it, positive above it
+    private static int comparePrefix(String key, String query, int start, int end) {
+        int length = end - start;
+        int common = Math.min(key.length(), length);
+        for (int i = 0; i < common; i++) {
+            int diff = key.charAt(i) - Character.toLowerCase(query.charAt(start + i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return key.length() < length ? -1 : 0;
+    }
+
+    private static boolean contains(Suggestion[] top, int found, Suggestion candidate) {
+        for (int i = 0; i < found; i++) {
+            if (top[i] == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Key(String text, Suggestion suggestion) {
+    }
+
+    private static final class Suggestion {
+
+        private final LocationDictionary.Entry entry;
+        private final LocationResponse response;
+        private final AtomicLong flights;
+
+        private Suggestion(LocationDictionary.Entry entry, AtomicLong flights) {
+            this.entry = Objects.requireNonNull(entry);
+            this.response = LocationResponse.builder()
+                    .id(entry.id())
+                    .locationName(entry.name())
+                    .locationCode(entry.code())
+                    .build();
+            this.flights = flights;
+        }
+    }
+}
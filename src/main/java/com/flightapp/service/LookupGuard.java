@@ -0,0 +1,151 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LookupGuardStats;
+import com.flightapp.entity.TimeOrderedIdGenerator;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Answers "definitely does not exist" for PNRs and flight ids without touching the database.
+ * Every issued PNR and flight id is kept in a scalable Bloom filter, filled at startup by
+ * streaming the keys and then as this node issues new ones.
+ *
+ * Other nodes issue keys this filter never sees, so it only vouches for keys issued before
+ * its load started, minus a grace period for transactions that were still open. PNRs and
+ * flight ids carry their issue time, and anything newer goes to the database as before.
+ * Keys from the future cannot exist yet and are turned away too. Until the load finishes
+ * nothing is turned away except those.
+ */
+@Component
+@Slf4j
+public class LookupGuard {
+
+    private final BookingRepository bookingRepository;
+    private final FlightRepository flightRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScalableBloomFilter pnrs;
+    private final ScalableBloomFilter flightIds;
+    private final long graceMillis;
+    private final LongSupplier clock;
+
+    // Keys issued before this instant are in the filters if they exist at all
+    private volatile long trustedBeforeMillis = Long.MIN_VALUE;
+
+    private final LongAdder rejectedPnrs = new LongAdder();
+    private final LongAdder rejectedFlightIds = new LongAdder();
+
+    @Autowired
+    public LookupGuard(
+            BookingRepository bookingRepository,
+            FlightRepository flightRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${flightapp.lookup-guard.expected-pnrs:1000000}") long expectedPnrs,
+            @Value("${flightapp.lookup-guard.expected-flights:100000}") long expectedFlights,
+            @Value("${flightapp.lookup-guard.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${flightapp.lookup-guard.grace-seconds:300}") long graceSeconds) {
+        this(bookingRepository, flightRepository, transactionTemplate, expectedPnrs, expectedFlights,
+                falsePositiveRate, graceSeconds * 1000, System::currentTimeMillis);
+    }
+
+    LookupGuard(BookingRepository bookingRepository, FlightRepository flightRepository,
+                TransactionTemplate transactionTemplate, long expectedPnrs, long expectedFlights,
+                double falsePositiveRate, long graceMillis, LongSupplier clock) {
+        this.bookingRepository = bookingRepository;
+        this.flightRepository = flightRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.pnrs = new ScalableBloomFilter(expectedPnrs, falsePositiveRate);
+        this.flightIds = new ScalableBloomFilter(expectedFlights, falsePositiveRate);
+        this.graceMillis = graceMillis;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = clock.getAsLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> issued = bookingRepository.streamAllPnrs()) {
+                issued.forEach(this::pnrIssued);
+            }
+            try (Stream<Long> ids = flightRepository.streamAllIds()) {
+                ids.forEach(this::flightAdded);
+            }
+        });
+        trustedBeforeMillis = startedAt - graceMillis;
+        log.info("Lookup guard loaded {} PNRs and {} flight ids",
+                pnrs.stats().keys(), flightIds.stats().keys());
+    }
+
+    // Called as soon as the key is issued; a rolled-back booking only leaves a false positive behind
+    public void pnrIssued(String pnr) {
+        pnrs.add(ScalableBloomFilter.hash(pnr.toUpperCase(Locale.ROOT)));
+    }
+
+    public void flightAdded(long flightId) {
+        flightIds.add(ScalableBloomFilter.hash(flightId));
+    }
+
+    /**
+     * False only when no booking has this PNR; true means look it up.
+     */
+    public boolean mightExistPnr(String pnr) {
+        String key = pnr.toUpperCase(Locale.ROOT);
+        long issuedAtSecond = PNRGeneratorService.issuedAtEpochSecond(key);
+        // Older-format PNRs carry no time and were all issued before the filter loaded
+        long issuedAt = issuedAtSecond < 0 ? Long.MIN_VALUE + 1 : issuedAtSecond * 1000;
+        boolean mightExist = mightExist(issuedAt, pnrs, ScalableBloomFilter.hash(key));
+        if (!mightExist) {
+            rejectedPnrs.increment();
+        }
+        return mightExist;
+    }
+
+    /**
+     * False only when no flight has this id; true means look it up.
+     */
+    public boolean mightExistFlight(long flightId) {
+        boolean mightExist = flightId > 0 && mightExist(
+                TimeOrderedIdGenerator.issuedAtEpochMilli(flightId), flightIds, ScalableBloomFilter.hash(flightId));
+        if (!mightExist) {
+            rejectedFlightIds.increment();
+        }
+        return mightExist;
+    }
+
+    public List<LookupGuardStats> getStats() {
+        return List.of(stats("pnr", pnrs, rejectedPnrs), stats("flightId", flightIds, rejectedFlightIds));
+    }
+
+    // Helper methods
+
+    private boolean mightExist(long issuedAtMillis, ScalableBloomFilter filter, long hash) {
+        if (issuedAtMillis > clock.getAsLong() + graceMillis) {
+            return false;
+        }
+        return issuedAtMillis >= trustedBeforeMillis || filter.mightContain(hash);
+    }
+
+    private static LookupGuardStats stats(String keyType, ScalableBloomFilter filter, LongAdder rejected) {
+        ScalableBloomFilter.Stats stats = filter.stats();
+        return LookupGuardStats.builder()
+                .keyType(keyType)
+                .keys(stats.keys())
+                .stages(stats.stages())
+                .memoryBytes(stats.memoryBytes())
+                .falsePositiveRate(stats.falsePositiveRate())
+                .rejectedLookups(rejected.sum())
+                .build();
+    }
+}
@@ -1,29 +1,140 @@
 package com.flightapp.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+/**
+ * Generates PNRs that are unique by construction, so no existence check is needed.
+ *
+ * A 51-bit value is packed as [31 bits: seconds since 2025-01-01][4 bits: node id][16 bits: sequence],
+ * run through a fixed bijective mix so consecutive PNRs do not look sequential, and written as
+ * 10 base-36 characters. The first character is always a letter, which keeps new PNRs apart from
+ * the older YYMMDD + 4 random format. Like the entity id generator, a burst of more than 65,536
+ * PNRs in one second borrows the next second, and a clock that steps back does not repeat values.
+ * Uniqueness across nodes relies on each instance having its own {@code flightapp.node-id}.
+ */
 @Service
 public class PNRGeneratorService {
 
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final SecureRandom random = new SecureRandom();
+    static final int PNR_LENGTH = 10;
+    static final long EPOCH_SECONDS = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 16;
+    static final int VALUE_BITS = 51;
 
-    
-     // Generate a unique PNR number
-     // Format: YYMMDD + 4 random characters
-     
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+    // Odd multipliers are invertible modulo 2^51, so the mix below is a permutation
+    private static final long MIX_1 = 0x5DEECE66DL * 2 + 1;
+    private static final long MIX_2 = 0x2545F4914F6CDD1DL | 1;
+
+    private static final long UNMIX_1 = inverse(MIX_1);
+    private static final long UNMIX_2 = inverse(MIX_2);
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // Last issued (seconds << SEQUENCE_BITS | sequence)
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public PNRGeneratorService(@Value("${flightapp.node-id:0}") int nodeId) {
+        this(nodeId, () -> System.currentTimeMillis() / 1000);
+    }
+
+    PNRGeneratorService(int nodeId, LongSupplier epochSecondClock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "flightapp.node-id must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = epochSecondClock;
+    }
+
+    // Generate a unique PNR number
+    // Format: one letter followed by 9 base-36 characters
     public String generatePNR() {
-        String datePart = LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("yyMMdd"));
-        StringBuilder randomPart = new StringBuilder(4);
-        for (int i = 0; i < 4; i++) {
-            randomPart.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+        long now = clock.getAsLong() - EPOCH_SECONDS;
+        long next;
+        while (true) {
+            long previous = lastState.get();
+            next = (previous >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+
+        long seconds = next >>> SEQUENCE_BITS;
+        long value = (seconds << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+        return encode(mix(value & VALUE_MASK));
+    }
+
+    static long mix(long value) {
+        value = (value * MIX_1) & VALUE_MASK;
+        value ^= value >>> 26;
+        value = (value * MIX_2) & VALUE_MASK;
+        value ^= value >>> 23;
+        return value;
+    }
+
+    static long unmix(long value) {
+        value ^= (value >>> 23) ^ (value >>> 46);
+        value = (value * UNMIX_2) & VALUE_MASK;
+        value ^= value >>> 26;
+        value = (value * UNMIX_1) & VALUE_MASK;
+        return value;
+    }
+
+    /**
+     * The second a PNR of the current format was issued in (epoch seconds), or -1 for any
+     * other string, such as a PNR of the older YYMMDD format.
+     */
+    public static long issuedAtEpochSecond(String pnr) {
+        long value = decode(pnr);
+        return value < 0 ? -1 : (unmix(value) >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_SECONDS;
+    }
+
+    // 2^51 < 23 * 36^9, so the leading digit is 0-22 and maps to a letter A-W
+    static String encode(long value) {
+        char[] pnr = new char[PNR_LENGTH];
+        for (int i = PNR_LENGTH - 1; i > 0; i--) {
+            pnr[i] = ALPHANUMERIC.charAt((int) (value % 36));
+            value /= 36;
         }
+        pnr[0] = ALPHANUMERIC.charAt(10 + (int) value);
+        return new String(pnr);
+    }
+
+    // Inverse of encode; -1 when the string is not a PNR of the current format
+    static long decode(String pnr) {
+        if (pnr.length() != PNR_LENGTH || pnr.charAt(0) < 'A' || pnr.charAt(0) > 'W') {
+            return -1;
+        }
+        long value = pnr.charAt(0) - 'A';
+        for (int i = 1; i < PNR_LENGTH; i++) {
+            int digit = ALPHANUMERIC.indexOf(pnr.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 36 + digit;
+        }
+        return value <= VALUE_MASK ? value : -1;
+    }
 
-        return datePart + randomPart;
+    // Multiplicative inverse of an odd number modulo 2^64 (and so modulo 2^51), by Newton's iteration
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,217 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Live fares: base price x load-factor multiplier x days-to-departure multiplier, rounded to
+ * whole rupees. The configured fare buckets are compiled at startup into two int tables of
+ * basis points. One is indexed by percent of seats sold and one by days to departure. A fare
+ * is then two array reads and integer arithmetic on the snapshot's minor-unit base price,
+ * with no allocation and no database access.
+ *
+ * A quoted fare is handed out with a price token: flight id, fare and expiry, signed with
+ * HMAC-SHA256. Booking with a valid token charges the quoted fare even if the live fare has
+ * moved since. Tokens verify on every node that shares {@code flightapp.pricing.token-secret}.
+ */
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private static final int BASIS_POINTS = 10_000;
+    private static final long MINOR_PER_UNIT = 100;
+    // Both multipliers in basis points, then minor units rounded to whole rupees
+    private static final long ROUNDING_DIVISOR = (long) BASIS_POINTS * BASIS_POINTS * MINOR_PER_UNIT;
+    private static final String HMAC = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final char SEPARATOR = '.';
+
+    // Multiplier by percent of seats sold (0-100) and by days to departure (capped at the last index)
+    private final int[] loadFactorBasisPoints;
+    private final int[] daysToDepartureBasisPoints;
+    private final int lowestMultiplierBasisPoints;
+
+    private final Duration quoteTtl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    // Today's epoch day, recomputed when the clock passes midnight
+    private volatile long today;
+    private volatile long nextDayStartsAt;
+
+    @Autowired
+    public PricingEngine(
+            @Value("${flightapp.pricing.load-factor-breaks:50,70,85,95}") int[] loadFactorBreaks,
+            @Value("${flightapp.pricing.load-factor-multipliers:1.0,1.1,1.25,1.5,1.8}") double[] loadFactorMultipliers,
+            @Value("${flightapp.pricing.days-to-departure-breaks:3,7,14,30}") int[] daysToDepartureBreaks,
+            @Value("${flightapp.pricing.days-to-departure-multipliers:1.4,1.25,1.1,1.0,0.9}") double[] daysToDepartureMultipliers,
+            @Value("${flightapp.pricing.quote-ttl-minutes:15}") long quoteTtlMinutes,
+            @Value("${flightapp.pricing.token-secret:}") String tokenSecret) {
+        this(loadFactorBreaks, loadFactorMultipliers, daysToDepartureBreaks, daysToDepartureMultipliers,
+                Duration.ofMinutes(quoteTtlMinutes), tokenSecret, Clock.systemDefaultZone());
+    }
+
+    PricingEngine(int[] loadFactorBreaks, double[] loadFactorMultipliers,
+                  int[] daysToDepartureBreaks, double[] daysToDepartureMultipliers,
+                  Duration quoteTtl, String tokenSecret, Clock clock) {
+        if (loadFactorBreaks.length > 0 && loadFactorBreaks[loadFactorBreaks.length - 1] > 100) {
+            throw new IllegalArgumentException("flightapp.pricing.load-factor-breaks are percentages (0-100)");
+        }
+        this.loadFactorBasisPoints = compile("load-factor", loadFactorBreaks, loadFactorMultipliers, 101);
+        this.daysToDepartureBasisPoints = compile("days-to-departure", daysToDepartureBreaks, daysToDepartureMultipliers,
+                daysToDepartureBreaks.length > 0 ? daysToDepartureBreaks[daysToDepartureBreaks.length - 1] + 1 : 1);
+        this.lowestMultiplierBasisPoints = Arrays.stream(loadFactorBasisPoints).min().getAsInt()
+                * Arrays.stream(daysToDepartureBasisPoints).min().getAsInt() / BASIS_POINTS;
+        this.quoteTtl = quoteTtl;
+        this.clock = clock;
+
+        byte[] key;
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            log.warn("flightapp.pricing.token-secret is not set; price tokens only verify on this instance until it restarts");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = tokenSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        SecretKeySpec secretKey = new SecretKeySpec(key, HMAC);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC);
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Live fare per passenger in minor units (paise).
+     */
+    public long fareMinor(FlightSnapshot flight) {
+        int sold = flight.totalSeats() - flight.availableSeats();
+        int soldPercent = flight.totalSeats() > 0 ? Math.max(0, sold) * 100 / flight.totalSeats() : 0;
+        long days = flight.departureTime().toLocalDate().toEpochDay() - today();
+        int daysIndex = (int) Math.max(0, Math.min(days, daysToDepartureBasisPoints.length - 1));
+
+        long scaled = flight.basePriceMinor()
+                * loadFactorBasisPoints[Math.min(soldPercent, 100)]
+                * daysToDepartureBasisPoints[daysIndex];
+        return (scaled + ROUNDING_DIVISOR / 2) / ROUNDING_DIVISOR * MINOR_PER_UNIT;
+    }
+
+    public BigDecimal fare(FlightSnapshot flight) {
+        return BigDecimal.valueOf(fareMinor(flight), 2);
+    }
+
+    // No flight with this base price is ever priced below this fare; a bound for pruning by price
+    public BigDecimal lowestFare(BigDecimal basePrice) {
+        long basePriceMinor = basePrice.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        long scaled = basePriceMinor * lowestMultiplierBasisPoints * BASIS_POINTS;
+        return BigDecimal.valueOf(scaled / ROUNDING_DIVISOR * MINOR_PER_UNIT, 2);
+    }
+
+    // Token that lets a booking of the flight pay this fare until the quote expires
+    public String issueToken(long flightId, long fareMinor) {
+        long expiresAt = clock.millis() + quoteTtl.toMillis();
+        String payload = Long.toString(flightId, 36) + SEPARATOR + Long.toString(fareMinor, 36)
+                + SEPARATOR + Long.toString(expiresAt, 36);
+        return payload + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+    }
+
+    /**
+     * The quoted fare per passenger, in minor units, of a token issued for this flight.
+     */
+    public long redeemToken(String token, long flightId) {
+        int signatureStart = token.lastIndexOf(SEPARATOR);
+        if (signatureStart < 0) {
+            throw new BusinessException("Invalid price token");
+        }
+        String payload = token.substring(0, signatureStart);
+        String[] fields = payload.split("\\.");
+        if (fields.length != 3) {
+            throw new BusinessException("Invalid price token");
+        }
+
+        long tokenFlightId;
+        long fareMinor;
+        long expiresAt;
+        byte[] signature;
+        try {
+            tokenFlightId = Long.parseLong(fields[0], 36);
+            fareMinor = Long.parseLong(fields[1], 36);
+            expiresAt = Long.parseLong(fields[2], 36);
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid price token");
+        }
+
+        if (!MessageDigest.isEqual(sign(payload), signature) || tokenFlightId != flightId) {
+            throw new BusinessException("Invalid price token");
+        }
+        if (clock.millis() > expiresAt) {
+            throw new BusinessException("Price quote has expired, please search again");
+        }
+        return fareMinor;
+    }
+
+    // Helper methods
+
+    // Multiplier in basis points for every index below size; breaks[i] starts bucket i + 1
+    private static int[] compile(String name, int[] breaks, double[] multipliers, int size) {
+        if (multipliers.length != breaks.length + 1) {
+            throw new IllegalArgumentException("flightapp.pricing." + name
+                    + "-multipliers needs one more entry than the breaks: " + Arrays.toString(multipliers));
+        }
+        for (int i = 0; i < breaks.length; i++) {
+            if (breaks[i] < 0 || (i > 0 && breaks[i] <= breaks[i - 1])) {
+                throw new IllegalArgumentException("flightapp.pricing." + name
+                        + "-breaks must be ascending and not negative: " + Arrays.toString(breaks));
+            }
+        }
+
+        int[] table = new int[size];
+        int bucket = 0;
+        for (int i = 0; i < size; i++) {
+            while (bucket < breaks.length && i >= breaks[bucket]) {
+                bucket++;
+            }
+            if (multipliers[bucket] <= 0) {
+                throw new IllegalArgumentException("flightapp.pricing." + name + "-multipliers must be positive");
+            }
+            table[i] = (int) Math.round(multipliers[bucket] * BASIS_POINTS);
+        }
+        return table;
+    }
+
+    private long today() {
+        if (clock.millis() >= nextDayStartsAt) {
+            LocalDate date = LocalDate.now(clock);
+            today = date.toEpochDay();
+            nextDayStartsAt = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        }
+        return today;
+    }
+
+    private byte[] sign(String payload) {
+        return Arrays.copyOf(macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8)), SIGNATURE_BYTES);
+    }
+}
@@ -0,0 +1,158 @@
+package com.flightapp.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over 64-bit key hashes that grows instead of degrading. Keys go into the newest
+ * stage until it holds its capacity; then a stage with twice the capacity and half the
+ * false-positive rate is added. The first stage gets half the target rate, so the compound
+ * rate of all stages stays below the target however many keys arrive. A lookup checks every
+ * stage. Adds and lookups are lock-free; only adding a stage synchronizes.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private volatile Stage[] stages;
+
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter capacity must be positive and its rate between 0 and 1");
+        }
+        this.stages = new Stage[]{new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    void add(long hash) {
+        Stage stage = stages[stages.length - 1];
+        while (!stage.tryAdd(hash)) {
+            stage = grow(stage);
+        }
+    }
+
+    boolean mightContain(long hash) {
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Stats stats() {
+        long keys = 0;
+        long bytes = 0;
+        double noFalsePositive = 1;
+        for (Stage stage : stages) {
+            keys += stage.keys();
+            bytes += (long) stage.words.length() * Long.BYTES;
+            noFalsePositive *= 1 - stage.falsePositiveRate();
+        }
+        return new Stats(keys, stages.length, bytes, 1 - noFalsePositive);
+    }
+
+    // Murmur3 finalizer: spreads ids and string hashes over all 64 bits
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    // FNV-1a over the characters, then the finalizer
+    static long hash(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash(hash);
+    }
+
+    // Helper methods
+
+    private synchronized Stage grow(Stage full) {
+        Stage newest = stages[stages.length - 1];
+        if (newest != full) {
+            // Another thread already added a stage
+            return newest;
+        }
+        Stage next = new Stage(full.capacity * GROWTH, full.targetRate * TIGHTENING);
+        Stage[] grown = Arrays.copyOf(stages, stages.length + 1);
+        grown[grown.length - 1] = next;
+        stages = grown;
+        return next;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double targetRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double targetRate) {
+            this.capacity = capacity;
+            this.targetRate = targetRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(targetRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE);
+            this.words = new AtomicLongArray(wordCount);
+            this.bits = (long) wordCount * Long.SIZE;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        // False when the stage is full and the key belongs in the next one
+        boolean tryAdd(long hash) {
+            if (count.getAndIncrement() >= capacity) {
+                return false;
+            }
+            long step = step(hash);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(hash, step, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (current, set) -> current | set);
+                }
+            }
+            return true;
+        }
+
+        boolean mightContain(long hash) {
+            long step = step(hash);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(hash, step, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long keys() {
+            return Math.min(count.get(), capacity);
+        }
+
+        // Expected rate at the current fill: (1 - e^(-kn/m))^k
+        double falsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashes * keys() / bits), hashes);
+        }
+
+        // Double hashing: the i-th bit is hash + i * step, with a step independent of the hash
+        private long index(long hash, long step, int i) {
+            return ((hash + i * step) & Long.MAX_VALUE) % bits;
+        }
+
+        private static long step(long hash) {
+            return hash(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        }
+    }
+
+    record Stats(long keys, int stages, long memoryBytes, double falsePositiveRate) {
+    }
+}
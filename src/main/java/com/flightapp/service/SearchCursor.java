@@ -0,0 +1,41 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last flight on a search page in (departureTime, id) order, handed to
+ * clients as an opaque token for the next page.
+ */
+record SearchCursor(LocalDateTime departureTime, long flightId) {
+
+    private static final char SEPARATOR = '|';
+
+    static SearchCursor of(FlightSnapshot flight) {
+        return new SearchCursor(flight.departureTime(), flight.id());
+    }
+
+    static SearchCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("Invalid search cursor");
+            }
+            return new SearchCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid search cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((departureTime.toString() + SEPARATOR + flightId).getBytes(StandardCharsets.UTF_8));
+    }
+}
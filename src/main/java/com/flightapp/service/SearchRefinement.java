@@ -0,0 +1,156 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Filters, order and result limit of one one-way search, applied to flights as they are read
+ * from the index or the database. Price filters and the price order use the live fare. With
+ * a limit, only the best {@code limit} flights are kept in a heap whose top is the worst of
+ * them, so "cheapest 10" on a busy route neither sorts nor maps the rest of the route.
+ */
+final class SearchRefinement implements Consumer<FlightSnapshot> {
+
+    private static final Comparator<FlightSnapshot> BY_DEPARTURE =
+            Comparator.comparing(FlightSnapshot::departureTime).thenComparing(FlightSnapshot::id);
+    private static final Comparator<FlightSnapshot> BY_DURATION =
+            Comparator.comparingLong(SearchRefinement::durationSeconds).thenComparing(BY_DEPARTURE);
+
+    private final ToLongFunction<FlightSnapshot> fareMinor;
+    private final Set<String> airlineCodes;
+    private final long minFareMinor;
+    private final long maxFareMinor;
+    private final LocalTime departureAfter;
+    private final LocalTime departureBefore;
+    private final long maxDurationSeconds;
+    private final Comparator<FlightSnapshot> ordering;
+    private final int limit;
+
+    // Without a limit every match is kept and sorted at the end
+    private final List<FlightSnapshot> all;
+    private final PriorityQueue<FlightSnapshot> best; // worst kept flight on top
+
+    private SearchRefinement(FlightSearchRequest request, ToLongFunction<FlightSnapshot> fareMinor) {
+        this.fareMinor = fareMinor;
+        this.airlineCodes = request.getAirlineCodes() == null || request.getAirlineCodes().isEmpty() ? null
+                : request.getAirlineCodes().stream()
+                        .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                        .collect(Collectors.toUnmodifiableSet());
+        this.minFareMinor = request.getMinPrice() != null ? toMinor(request.getMinPrice(), RoundingMode.CEILING) : 0;
+        this.maxFareMinor = request.getMaxPrice() != null
+                ? toMinor(request.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+        this.departureAfter = request.getDepartureAfter();
+        this.departureBefore = request.getDepartureBefore();
+        this.maxDurationSeconds = request.getMaxDurationMinutes() != null
+                ? request.getMaxDurationMinutes() * 60L : Long.MAX_VALUE;
+        this.ordering = ordering(request.getSortBy(), fareMinor);
+        this.limit = request.getMaxResults() != null ? request.getMaxResults() : Integer.MAX_VALUE;
+        this.all = request.getMaxResults() == null ? new ArrayList<>() : null;
+        this.best = request.getMaxResults() != null ? new PriorityQueue<>(limit + 1, ordering.reversed()) : null;
+    }
+
+    // Whether the request asks for anything beyond the plain, cacheable search
+    static boolean requested(FlightSearchRequest request) {
+        return (request.getAirlineCodes() != null && !request.getAirlineCodes().isEmpty())
+                || request.getMinPrice() != null
+                || request.getMaxPrice() != null
+                || request.getDepartureAfter() != null
+                || request.getDepartureBefore() != null
+                || request.getMaxDurationMinutes() != null
+                || (request.getSortBy() != null && request.getSortBy() != FlightSearchRequest.SortBy.DEPARTURE)
+                || request.getMaxResults() != null;
+    }
+
+    // fareMinor gives the live fare of a flight in minor units
+    static SearchRefinement of(FlightSearchRequest request, ToLongFunction<FlightSnapshot> fareMinor) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new BusinessException("Minimum price cannot be above maximum price");
+        }
+        if (request.getDepartureAfter() != null && request.getDepartureBefore() != null
+                && request.getDepartureAfter().isAfter(request.getDepartureBefore())) {
+            throw new BusinessException("Departure window must start before it ends");
+        }
+        return new SearchRefinement(request, fareMinor);
+    }
+
+    boolean matches(FlightSnapshot flight) {
+        if (airlineCodes != null && !airlineCodes.contains(flight.airlineCode())) {
+            return false;
+        }
+        if (minFareMinor > 0 || maxFareMinor < Long.MAX_VALUE) {
+            long fare = fareMinor.applyAsLong(flight);
+            if (fare < minFareMinor || fare > maxFareMinor) {
+                return false;
+            }
+        }
+        LocalTime departure = flight.departureTime().toLocalTime();
+        if (departureAfter != null && departure.isBefore(departureAfter)) {
+            return false;
+        }
+        if (departureBefore != null && departure.isAfter(departureBefore)) {
+            return false;
+        }
+        return durationSeconds(flight) <= maxDurationSeconds;
+    }
+
+    @Override
+    public void accept(FlightSnapshot flight) {
+        if (!matches(flight)) {
+            return;
+        }
+        if (all != null) {
+            all.add(flight);
+        } else if (best.size() < limit) {
+            best.add(flight);
+        } else if (ordering.compare(flight, best.peek()) < 0) {
+            best.poll();
+            best.add(flight);
+        }
+    }
+
+    // Kept flights, best first
+    List<FlightSnapshot> results() {
+        List<FlightSnapshot> results = all != null ? all : new ArrayList<>(best);
+        results.sort(ordering);
+        return results;
+    }
+
+    // Helper methods
+
+    private static Comparator<FlightSnapshot> ordering(FlightSearchRequest.SortBy sortBy,
+                                                       ToLongFunction<FlightSnapshot> fareMinor) {
+        if (sortBy == null) {
+            return BY_DEPARTURE;
+        }
+        return switch (sortBy) {
+            case DEPARTURE -> BY_DEPARTURE;
+            case PRICE -> Comparator.comparingLong(fareMinor).thenComparing(BY_DEPARTURE);
+            case DURATION -> BY_DURATION;
+        };
+    }
+
+    private static long toMinor(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    // Both times are local to the same clock, so any fixed offset gives the difference
+    private static long durationSeconds(FlightSnapshot flight) {
+        return flight.arrivalTime().toEpochSecond(ZoneOffset.UTC) - flight.departureTime().toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,16 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.SeatHoldRequest;
+import com.flightapp.dto.SeatHoldResponse;
+
+import java.util.Collection;
+
+public interface SeatHoldService {
+
+    SeatHoldResponse holdSeats(Long flightId, SeatHoldRequest request);
+
+    // Called by bookFlight inside its transaction; the held seats become the booking's seats
+    void confirmHold(Long holdId, Long flightId, Collection<String> seatNumbers);
+
+    void releaseHold(Long holdId);
+}
@@ -0,0 +1,252 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.SeatHoldRequest;
+import com.flightapp.dto.SeatHoldResponse;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightSeat;
+import com.flightapp.entity.SeatHold;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.ResourceNotFoundException;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.FlightSeatRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+@Transactional
+public class SeatHoldServiceImpl implements SeatHoldService, DisposableBean {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final FlightSeatRepository flightSeatRepository;
+    private final FlightRepository flightRepository;
+    private final FlightService flightService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final FlightLockService flightLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultHoldMinutes;
+    private final int maxHoldMinutes;
+
+    // Expiry runs off the wheel, not off a periodic scan of seat_holds
+    private final ExecutorService expiryExecutor;
+    private final HashedTimingWheel expiryWheel;
+    private final ConcurrentMap<Long, HashedTimingWheel.Timeout> expiryTimeouts = new ConcurrentHashMap<>();
+
+    public SeatHoldServiceImpl(
+            SeatHoldRepository seatHoldRepository,
+            FlightSeatRepository flightSeatRepository,
+            FlightRepository flightRepository,
+            FlightService flightService,
+            SeatOccupancyIndex seatOccupancyIndex,
+            FlightLockService flightLockService,
+            TransactionTemplate transactionTemplate,
+            @Value("${flightapp.hold.default-minutes:10}") int defaultHoldMinutes,
+            @Value("${flightapp.hold.max-minutes:30}") int maxHoldMinutes,
+            @Value("${flightapp.hold.tick-millis:1000}") long tickMillis,
+            @Value("${flightapp.hold.wheel-size:512}") int wheelSize) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.flightSeatRepository = flightSeatRepository;
+        this.flightRepository = flightRepository;
+        this.flightService = flightService;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.flightLockService = flightLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultHoldMinutes = defaultHoldMinutes;
+        this.maxHoldMinutes = maxHoldMinutes;
+        this.expiryExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.expiryWheel = new HashedTimingWheel("seat-hold-wheel",
+                tickMillis, TimeUnit.MILLISECONDS, wheelSize, expiryExecutor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SeatHoldResponse holdSeats(Long flightId, SeatHoldRequest request) {
+        log.info("Holding seats {} on flight ID: {}", request.getSeatNumbers(), flightId);
+
+        // Same per-flight lock as a booking, waited for before the transaction takes a connection
+        return flightLockService.inTransaction(flightId, transactionTemplate, () -> hold(flightId, request));
+    }
+
+    private SeatHoldResponse hold(Long flightId, SeatHoldRequest request) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight", "id", flightId));
+
+        if (!flight.getIsActive() || flight.getFlightStatus() != Flight.FlightStatus.SCHEDULED) {
+            throw new BusinessException("Flight is not available for booking");
+        }
+
+        int holdMinutes = request.getHoldMinutes() != null ? request.getHoldMinutes() : defaultHoldMinutes;
+        if (holdMinutes > maxHoldMinutes) {
+            throw new BusinessException("Seats can be held for at most " + maxHoldMinutes + " minutes");
+        }
+
+        Set<String> seatNumbers = new LinkedHashSet<>(request.getSeatNumbers());
+        if (seatNumbers.size() != request.getSeatNumbers().size()) {
+            throw new BusinessException("Duplicate seat number in hold request");
+        }
+
+        // Same path as a booking, so held seats vanish from search and seat checks at once
+        seatOccupancyIndex.reserve(flightId, seatNumbers);
+        flightService.updateAvailableSeats(flightId, -seatNumbers.size());
+
+        SeatHold newHold = SeatHold.builder()
+                .flight(flight)
+                .seatNumbers(String.join(",", seatNumbers))
+                .seatCount(seatNumbers.size())
+                .expiresAt(LocalDateTime.now().plusMinutes(holdMinutes))
+                .holdStatus(SeatHold.HoldStatus.HELD)
+                .build();
+        for (String seatNumber : seatNumbers) {
+            newHold.addSeatReservation(FlightSeat.builder()
+                    .flight(flight)
+                    .seatNumber(seatNumber)
+                    .build());
+        }
+
+        // uk_flight_seat rejects a seat booked or held concurrently on another node
+        SeatHold hold = seatHoldRepository.save(newHold);
+
+        Long holdId = hold.getId();
+        AfterCommit.run(() -> scheduleExpiry(holdId, Duration.ofMinutes(holdMinutes)));
+
+        log.info("Seats held. Hold ID: {}, expires at: {}", holdId, hold.getExpiresAt());
+
+        return mapToResponse(hold, flightId);
+    }
+
+    @Override
+    public void confirmHold(Long holdId, Long flightId, Collection<String> seatNumbers) {
+        log.info("Confirming seat hold ID: {} for flight ID: {}", holdId, flightId);
+
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat hold", "id", holdId));
+
+        if (!hold.getFlight().getId().equals(flightId)) {
+            throw new BusinessException("Seat hold " + holdId + " is not for flight " + flightId);
+        }
+
+        if (!new HashSet<>(hold.getSeatNumberList()).equals(new HashSet<>(seatNumbers))) {
+            throw new BusinessException("Passenger seats must match the held seats: " + hold.getSeatNumbers());
+        }
+
+        if (seatHoldRepository.confirmIfActive(holdId, LocalDateTime.now()) == 0) {
+            throw new BusinessException("Seat hold has expired or is no longer active");
+        }
+        // The booking's own flight_seats rows take over the seats in the same transaction
+        flightSeatRepository.deleteByHoldId(holdId);
+
+        AfterCommit.run(() -> cancelExpiry(holdId));
+    }
+
+    @Override
+    public void releaseHold(Long holdId) {
+        log.info("Releasing seat hold ID: {}", holdId);
+
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat hold", "id", holdId));
+
+        if (!endHold(hold, SeatHold.HoldStatus.RELEASED)) {
+            throw new BusinessException("Seat hold is no longer active");
+        }
+
+        AfterCommit.run(() -> cancelExpiry(holdId));
+    }
+
+    // Reschedule holds that survived a restart; overdue ones expire on the first tick
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void recoverActiveHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int recovered = 0;
+        for (SeatHold hold : seatHoldRepository.findByHoldStatus(SeatHold.HoldStatus.HELD)) {
+            Duration remaining = Duration.between(now, hold.getExpiresAt());
+            scheduleExpiry(hold.getId(), remaining.isNegative() ? Duration.ZERO : remaining);
+            recovered++;
+        }
+        if (recovered > 0) {
+            log.info("Rescheduled expiry for {} active seat holds", recovered);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        expiryWheel.stop();
+        expiryExecutor.shutdownNow();
+    }
+
+    // Helper methods
+
+    private void expire(Long holdId) {
+        expiryTimeouts.remove(holdId);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    seatHoldRepository.findById(holdId)
+                            .ifPresent(hold -> {
+                                if (endHold(hold, SeatHold.HoldStatus.EXPIRED)) {
+                                    log.info("Seat hold ID: {} expired, released {} seats",
+                                            holdId, hold.getSeatCount());
+                                }
+                            }));
+        } catch (RuntimeException ex) {
+            log.error("Failed to expire seat hold ID: {}", holdId, ex);
+        }
+    }
+
+    // Gives the seats back if this call wins the HELD -> newStatus transition
+    private boolean endHold(SeatHold hold, SeatHold.HoldStatus newStatus) {
+        if (seatHoldRepository.endIfHeld(hold.getId(), newStatus) == 0) {
+            return false;
+        }
+        flightSeatRepository.deleteByHoldId(hold.getId());
+        Long flightId = hold.getFlight().getId();
+        flightService.updateAvailableSeats(flightId, hold.getSeatCount());
+        seatOccupancyIndex.release(flightId, hold.getSeatNumberList());
+        return true;
+    }
+
+    private void scheduleExpiry(Long holdId, Duration delay) {
+        expiryTimeouts.put(holdId,
+                expiryWheel.schedule(() -> expire(holdId), delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void cancelExpiry(Long holdId) {
+        HashedTimingWheel.Timeout timeout = expiryTimeouts.remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private SeatHoldResponse mapToResponse(SeatHold hold, Long flightId) {
+        return SeatHoldResponse.builder()
+                .holdId(hold.getId())
+                .flightId(flightId)
+                .seatNumbers(hold.getSeatNumberList())
+                .holdStatus(hold.getHoldStatus().name())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Occupied seats of a single flight.
+ * Regular seats ("12A") are bits at ordinal (row - 1) * 26 + letter; anything that
+ * does not parse as row + letter, including a row with a leading zero, falls back to a
+ * small string set, so two spellings are never the same seat here but different ones in
+ * the database.
+ * Not thread-safe on its own - callers synchronize on the instance.
+ */
+final class SeatMap {
+
+    private static final int LETTERS = 26;
+    private static final int MAX_ROW = 999;
+
+    private final BitSet occupied = new BitSet();
+    private final Set<String> irregularSeats = new HashSet<>();
+    private long lastUsed;
+
+    boolean isOccupied(String seatNumber) {
+        int ordinal = ordinal(seatNumber);
+        return ordinal >= 0 ? occupied.get(ordinal) : irregularSeats.contains(seatNumber);
+    }
+
+    // Returns the first seat already taken, or null after marking all of them
+    String occupyAll(Collection<String> seatNumbers) {
+        for (String seatNumber : seatNumbers) {
+            if (isOccupied(seatNumber)) {
+                return seatNumber;
+            }
+        }
+        for (String seatNumber : seatNumbers) {
+            occupy(seatNumber);
+        }
+        return null;
+    }
+
+    void occupy(String seatNumber) {
+        int ordinal = ordinal(seatNumber);
+        if (ordinal >= 0) {
+            occupied.set(ordinal);
+        } else {
+            irregularSeats.add(seatNumber);
+        }
+    }
+
+    void free(String seatNumber) {
+        int ordinal = ordinal(seatNumber);
+        if (ordinal >= 0) {
+            occupied.clear(ordinal);
+        } else {
+            irregularSeats.remove(seatNumber);
+        }
+    }
+
+    void touch(long now) {
+        lastUsed = now;
+    }
+
+    long lastUsed() {
+        return lastUsed;
+    }
+
+    int occupiedCount() {
+        return occupied.cardinality() + irregularSeats.size();
+    }
+
+    // Parses "<row digits><one letter>" without allocating; -1 when the seat is irregular
+    static int ordinal(String seatNumber) {
+        int last = seatNumber.length() - 1;
+        if (last < 1) {
+            return -1;
+        }
+        char letter = seatNumber.charAt(last);
+        // "012A" stays apart from "12A", as it does under the flight_seats key
+        if (letter < 'A' || letter > 'Z' || seatNumber.charAt(0) == '0') {
+            return -1;
+        }
+        int row = 0;
+        for (int i = 0; i < last; i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+        if (row < 1 || row > MAX_ROW) {
+            return -1;
+        }
+        return (row - 1) * LETTERS + (letter - 'A');
+    }
+}
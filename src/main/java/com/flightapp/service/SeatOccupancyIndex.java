@@ -0,0 +1,206 @@
+package com.flightapp.service;
+
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory seat occupancy per flight, so seat validation needs no passengers query.
+ * A flight's map is loaded from the booked passengers and the active seat holds the first
+ * time it is used, and then kept current by reserve (booking, hold) and release
+ * (cancellation, hold expiry).
+ *
+ * Maps not used for a while are dropped by a periodic sweep, which also trims the
+ * least recently used ones when more than max-flights are loaded. Departed flights
+ * stop being used, so they age out the same way. A dropped map is reloaded on next
+ * use; the idle time keeps a sweep well clear of a booking still in flight.
+ */
+@Component
+@Slf4j
+public class SeatOccupancyIndex {
+
+    private final PassengerRepository passengerRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final int maxFlights;
+    private final long idleMillis;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatOccupancyIndex(
+            PassengerRepository passengerRepository,
+            SeatHoldRepository seatHoldRepository,
+            @Value("${flightapp.seat-index.max-flights:20000}") int maxFlights,
+            @Value("${flightapp.seat-index.idle-minutes:60}") long idleMinutes) {
+        this(passengerRepository, seatHoldRepository, maxFlights,
+                TimeUnit.MINUTES.toMillis(idleMinutes), System::currentTimeMillis);
+    }
+
+    SeatOccupancyIndex(PassengerRepository passengerRepository, SeatHoldRepository seatHoldRepository,
+                       int maxFlights, long idleMillis, LongSupplier clock) {
+        if (maxFlights < 1 || idleMillis < 1) {
+            throw new IllegalArgumentException("Seat index size and idle time must be positive");
+        }
+        this.passengerRepository = passengerRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.maxFlights = maxFlights;
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Marks the seats as taken, or throws if any of them already is.
+     * Inside a transaction the seats are freed again if it rolls back.
+     */
+    public void reserve(Long flightId, Collection<String> seatNumbers) {
+        SeatMap seatMap = seatMapFor(flightId);
+
+        String takenSeat;
+        synchronized (seatMap) {
+            seatMap.touch(clock.getAsLong());
+            takenSeat = seatMap.occupyAll(seatNumbers);
+        }
+        if (takenSeat != null) {
+            throw new BusinessException("Seat " + takenSeat + " is already booked");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<String> reserved = List.copyOf(seatNumbers);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        free(flightId, reserved);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Frees the seats. Inside a transaction this happens only once it commits,
+     * so a failed cancellation never exposes seats that are still booked.
+     */
+    public void release(Long flightId, Collection<String> seatNumbers) {
+        List<String> released = List.copyOf(seatNumbers);
+        AfterCommit.run(() -> free(flightId, released));
+    }
+
+    public boolean isBooked(Long flightId, String seatNumber) {
+        SeatMap seatMap = seatMapFor(flightId);
+        synchronized (seatMap) {
+            seatMap.touch(clock.getAsLong());
+            return seatMap.isOccupied(seatNumber);
+        }
+    }
+
+    // Drops a flight's map; it is rebuilt from the database on next use
+    public void evict(Long flightId) {
+        seatMaps.remove(flightId);
+    }
+
+    public int loadedFlights() {
+        return seatMaps.size();
+    }
+
+    /**
+     * Drops maps idle for longer than idle-minutes, then the least recently used ones
+     * beyond max-flights. Returns how many were dropped.
+     */
+    @Scheduled(fixedDelayString = "${flightapp.seat-index.sweep-ms:60000}",
+            initialDelayString = "${flightapp.seat-index.sweep-ms:60000}")
+    public int evictIdle() {
+        long idleBefore = clock.getAsLong() - idleMillis;
+        List<Map.Entry<Long, Long>> remaining = new ArrayList<>();
+        int evicted = 0;
+        for (Map.Entry<Long, SeatMap> entry : seatMaps.entrySet()) {
+            long lastUsed = lastUsed(entry.getValue());
+            if (lastUsed < idleBefore) {
+                evicted += dropIfUnusedSince(entry.getKey(), entry.getValue(), lastUsed);
+            } else {
+                remaining.add(Map.entry(entry.getKey(), lastUsed));
+            }
+        }
+        int excess = remaining.size() - maxFlights;
+        if (excess > 0) {
+            remaining.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+            for (Map.Entry<Long, Long> entry : remaining.subList(0, excess)) {
+                SeatMap seatMap = seatMaps.get(entry.getKey());
+                if (seatMap != null) {
+                    evicted += dropIfUnusedSince(entry.getKey(), seatMap, entry.getValue());
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Dropped {} seat maps, {} still loaded", evicted, seatMaps.size());
+        }
+        return evicted;
+    }
+
+    private static long lastUsed(SeatMap seatMap) {
+        synchronized (seatMap) {
+            return seatMap.lastUsed();
+        }
+    }
+
+    // Skips the map if it was used after the sweep looked at it
+    private int dropIfUnusedSince(Long flightId, SeatMap seatMap, long lastUsed) {
+        synchronized (seatMap) {
+            return seatMap.lastUsed() == lastUsed && seatMaps.remove(flightId, seatMap) ? 1 : 0;
+        }
+    }
+
+    private void free(Long flightId, Collection<String> seatNumbers) {
+        SeatMap seatMap = seatMaps.get(flightId);
+        if (seatMap == null) {
+            return; // not loaded - the next load reads the committed state
+        }
+        synchronized (seatMap) {
+            seatNumbers.forEach(seatMap::free);
+        }
+    }
+
+    // Loads outside computeIfAbsent: its two queries would hold the bin lock of other flights
+    private SeatMap seatMapFor(Long flightId) {
+        SeatMap seatMap = seatMaps.get(flightId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        SeatMap loaded = load(flightId);
+        SeatMap raced = seatMaps.putIfAbsent(flightId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private SeatMap load(Long flightId) {
+        SeatMap seatMap = new SeatMap();
+        seatMap.touch(clock.getAsLong());
+        passengerRepository.findBookedSeatsByFlightId(flightId).forEach(seatMap::occupy);
+        // Held seats are not in passengers until the hold is confirmed, but are just as taken
+        for (String heldSeats : seatHoldRepository.findHeldSeatNumbersByFlightId(flightId)) {
+            for (String seatNumber : heldSeats.split(",")) {
+                seatMap.occupy(seatNumber);
+            }
+        }
+        log.debug("Loaded seat map for flight ID: {} with {} occupied seats",
+                flightId, seatMap.occupiedCount());
+        return seatMap;
+    }
+}
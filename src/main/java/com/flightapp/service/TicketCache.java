@@ -0,0 +1,153 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.BookingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of built tickets (BookingResponse) by PNR.
+ *
+ * Every entry carries the version stamps it was built under: the version of its PNR's
+ * stripe and the version of the flight details all tickets embed. A booking change bumps
+ * its PNR's stripe and a change to flight details (an airline rename) bumps the flight
+ * details version, both right after the change commits and before the writing request
+ * returns. An entry whose stamps no longer match is never served, and a ticket built
+ * across a bump is not cached, so a read that saw the old state can't outlive the write.
+ * Changes made on other nodes only arrive through the TTL.
+ */
+@Component
+public class TicketCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final ConcurrentTtlCache<String, Ticket> tickets;
+    private final AtomicLongArray bookingVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong flightDetailsVersion = new AtomicLong();
+
+    public TicketCache(
+            @Value("${flightapp.ticket.cache.max-entries:20000}") int maxEntries,
+            @Value("${flightapp.ticket.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.tickets = new ConcurrentTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds).toMillis(), Clock.systemUTC());
+    }
+
+    /**
+     * Returns the cached ticket for the PNR, or builds it with the loader and caches it.
+     * Nothing is cached when the loader throws.
+     */
+    public BookingResponse get(String pnr, Supplier<BookingResponse> loader) {
+        int stripe = stripeFor(pnr);
+        Ticket cached = tickets.get(pnr);
+        if (cached != null) {
+            if (isCurrent(cached, stripe)) {
+                return cached.response();
+            }
+            tickets.remove(pnr);
+        }
+
+        long bookingVersion = bookingVersions.get(stripe);
+        long flightVersion = flightDetailsVersion.get();
+        BookingResponse loaded = loader.get();
+        if (bookingVersions.get(stripe) == bookingVersion && flightDetailsVersion.get() == flightVersion) {
+            tickets.put(pnr, new Ticket(loaded, bookingVersion, flightVersion));
+        }
+        return loaded;
+    }
+
+    /**
+     * Batch form of {@link #get}: cached tickets are served as they are and the rest are built
+     * with one call to the loader, which leaves out PNRs without a booking. The result holds
+     * the found tickets by PNR.
+     */
+    public Map<String, BookingResponse> getAll(Collection<String> pnrs,
+                                               Function<List<String>, Map<String, BookingResponse>> loader) {
+        Map<String, BookingResponse> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String pnr : pnrs) {
+            Ticket cached = tickets.get(pnr);
+            if (cached != null && isCurrent(cached, stripeFor(pnr))) {
+                found.put(pnr, cached.response());
+            } else {
+                missing.add(pnr);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long[] bookingVersion = new long[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            bookingVersion[i] = bookingVersions.get(stripeFor(missing.get(i)));
+        }
+        long flightVersion = flightDetailsVersion.get();
+        Map<String, BookingResponse> loaded = loader.apply(missing);
+        boolean flightDetailsUnchanged = flightDetailsVersion.get() == flightVersion;
+        for (int i = 0; i < missing.size(); i++) {
+            String pnr = missing.get(i);
+            BookingResponse response = loaded.get(pnr);
+            if (response == null) {
+                continue;
+            }
+            found.put(pnr, response);
+            if (flightDetailsUnchanged && bookingVersions.get(stripeFor(pnr)) == bookingVersion[i]) {
+                tickets.put(pnr, new Ticket(response, bookingVersion[i], flightVersion));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stops serving the cached ticket of the PNR once the current transaction commits.
+     */
+    public void bookingChanged(String pnr) {
+        AfterCommit.run(() -> {
+            bookingVersions.incrementAndGet(stripeFor(pnr));
+            tickets.remove(pnr);
+        });
+    }
+
+    /**
+     * Stops serving every cached ticket once the current transaction commits; for changes to
+     * the flight details tickets embed, which touch the tickets of many bookings at once.
+     */
+    public void flightDetailsChanged() {
+        AfterCommit.run(flightDetailsVersion::incrementAndGet);
+    }
+
+    /**
+     * Stops serving every cached ticket right away; after ticket_view was rebuilt.
+     */
+    public void invalidateAll() {
+        flightDetailsVersion.incrementAndGet();
+    }
+
+    int size() {
+        return tickets.size();
+    }
+
+    // Helper methods
+
+    private boolean isCurrent(Ticket ticket, int stripe) {
+        return ticket.bookingVersion() == bookingVersions.get(stripe)
+                && ticket.flightDetailsVersion() == flightDetailsVersion.get();
+    }
+
+    private static int stripeFor(String pnr) {
+        int hash = pnr.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private record Ticket(BookingResponse response, long bookingVersion, long flightDetailsVersion) {
+    }
+}
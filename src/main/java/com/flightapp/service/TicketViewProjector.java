@@ -0,0 +1,41 @@
+package com.flightapp.service;
+
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.TicketView;
+import com.flightapp.repository.TicketViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps ticket_view in step with the normalized tables. Every method is called inside the
+ * transaction that made the change, so a row commits or rolls back with its booking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketViewProjector {
+
+    private final TicketViewRepository ticketViewRepository;
+
+    // After the new booking and its passengers were saved
+    public TicketView bookingCreated(Booking booking) {
+        return ticketViewRepository.save(TicketViews.of(booking, booking.getPassengers()));
+    }
+
+    public void bookingStatusChanged(Booking booking) {
+        ticketViewRepository.updateBookingStatus(booking.getId(), booking.getBookingStatus());
+    }
+
+    // Tickets show the airline name of their flight; one update per flight of the airline
+    public void airlineChanged(Long airlineId, List<Flight> flights) {
+        int updated = 0;
+        for (Flight flight : flights) {
+            updated += ticketViewRepository.updateFlightJson(flight.getId(), TicketViews.flightJson(flight));
+        }
+        log.info("Updated {} ticket view(s) of airline {}", updated, airlineId);
+    }
+}
@@ -0,0 +1,157 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.TicketViewReplayStats;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Passenger;
+import com.flightapp.entity.TicketView;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.TicketViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds ticket_view from bookings, flights, airlines and passengers. Booking ids are read
+ * in id order a chunk at a time, and each chunk is rebuilt in its own transaction on a
+ * bounded pool: its bookings are locked, read with their flights and airlines in one
+ * statement and their passengers in another, and their rows are replaced with batched
+ * inserts. When the pool is busy the reading thread rebuilds a chunk itself.
+ *
+ * At startup only bookings without a row are replayed, which fills the view the first time
+ * and is a single index scan after that. An airline renamed while a chunk with its flights
+ * is being rebuilt can keep the old name in that chunk until the next replay.
+ */
+@Component
+@Slf4j
+public class TicketViewReplayer {
+
+    private final BookingRepository bookingRepository;
+    private final PassengerRepository passengerRepository;
+    private final TicketViewRepository ticketViewRepository;
+    private final TicketCache ticketCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int threads;
+
+    public TicketViewReplayer(
+            BookingRepository bookingRepository,
+            PassengerRepository passengerRepository,
+            TicketViewRepository ticketViewRepository,
+            TicketCache ticketCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${flightapp.ticket-view.replay.chunk-size:500}") int chunkSize,
+            @Value("${flightapp.ticket-view.replay.threads:4}") int threads) {
+        this.bookingRepository = bookingRepository;
+        this.passengerRepository = passengerRepository;
+        this.ticketViewRepository = ticketViewRepository;
+        this.ticketCache = ticketCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayMissing() {
+        TicketViewReplayStats stats = replay(true);
+        log.info("Ticket view caught up with {} booking(s) in {} ms", stats.getBookings(), stats.getElapsedMillis());
+    }
+
+    /**
+     * Rewrites the row of every booking, then drops the cached tickets built from the old rows.
+     */
+    public TicketViewReplayStats replayAll() {
+        TicketViewReplayStats stats = replay(false);
+        ticketCache.invalidateAll();
+        log.info("Ticket view rebuilt from {} booking(s) in {} chunk(s), {} ms",
+                stats.getBookings(), stats.getChunks(), stats.getElapsedMillis());
+        return stats;
+    }
+
+    // Helper methods
+
+    private TicketViewReplayStats replay(boolean missingOnly) {
+        long startedAt = System.nanoTime();
+        ThreadPoolExecutor executor = newExecutor();
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try {
+            long afterId = 0;
+            List<Long> ids;
+            while (!(ids = nextIds(afterId, missingOnly)).isEmpty()) {
+                List<Long> chunk = ids;
+                chunks.add(executor.submit(() -> replayChunk(chunk)));
+                afterId = chunk.get(chunk.size() - 1);
+            }
+            long bookings = 0;
+            for (Future<Integer> chunk : chunks) {
+                bookings += chunk.get();
+            }
+            return TicketViewReplayStats.builder()
+                    .bookings(bookings)
+                    .chunks(chunks.size())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                    .build();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ticket view replay interrupted", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> nextIds(long afterId, boolean missingOnly) {
+        PageRequest chunk = PageRequest.ofSize(chunkSize);
+        return missingOnly
+                ? bookingRepository.findIdsWithoutTicketViewAfter(afterId, chunk)
+                : bookingRepository.findIdsAfter(afterId, chunk);
+    }
+
+    private int replayChunk(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            bookingRepository.lockByIdIn(ids);
+            List<Booking> bookings = bookingRepository.findWithFlightByIdIn(ids);
+            Map<Long, List<Passenger>> passengersByBooking = passengerRepository.findByBookingIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(passenger -> passenger.getBooking().getId()));
+
+            List<TicketView> views = bookings.stream()
+                    .map(booking -> TicketViews.of(booking,
+                            passengersByBooking.getOrDefault(booking.getId(), List.of())))
+                    .toList();
+            ticketViewRepository.deleteByBookingIdIn(ids);
+            ticketViewRepository.saveAll(views);
+            return views.size();
+        });
+    }
+
+    private ThreadPoolExecutor newExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-view-replay-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,96 @@
+package com.flightapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Passenger;
+import com.flightapp.entity.TicketView;
+
+import java.util.List;
+
+/**
+ * Builds ticket_view rows from bookings and tickets from ticket_view rows. The JSON columns
+ * hold the flight and passenger parts of BookingResponse as the API shows them.
+ */
+final class TicketViews {
+
+    // Own mapper: the stored format must not change with the web layer's settings
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+    private static final TypeReference<List<BookingResponse.PassengerDetailsDto>> PASSENGERS = new TypeReference<>() {
+    };
+
+    private TicketViews() {
+    }
+
+    static TicketView of(Booking booking, List<Passenger> passengers) {
+        return TicketView.builder()
+                .bookingId(booking.getId())
+                .pnr(booking.getPnr())
+                .email(booking.getEmail())
+                .contactName(booking.getContactName())
+                .numberOfSeats(booking.getNumberOfSeats())
+                .totalAmount(booking.getTotalAmount())
+                .bookingStatus(booking.getBookingStatus())
+                .bookingDate(booking.getCreatedAt())
+                .flightId(booking.getFlight().getId())
+                .flightJson(flightJson(booking.getFlight()))
+                .passengersJson(write(passengers.stream()
+                        .map(p -> BookingResponse.PassengerDetailsDto.builder()
+                                .passengerName(p.getPassengerName())
+                                .gender(p.getGender().name())
+                                .age(p.getAge())
+                                .seatNumber(p.getSeatNumber())
+                                .mealPreference(p.getMealPreference().name())
+                                .build())
+                        .toList()))
+                .build();
+    }
+
+    static String flightJson(Flight flight) {
+        return write(BookingResponse.FlightDetailsDto.builder()
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airlineName(flight.getAirline().getAirlineName())
+                .fromLocation(flight.getFromLocation())
+                .toLocation(flight.getToLocation())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .build());
+    }
+
+    static BookingResponse toResponse(TicketView view) {
+        try {
+            return BookingResponse.builder()
+                    .bookingId(view.getBookingId())
+                    .pnr(view.getPnr())
+                    .contactName(view.getContactName())
+                    .email(view.getEmail())
+                    .numberOfSeats(view.getNumberOfSeats())
+                    .totalAmount(view.getTotalAmount())
+                    .bookingStatus(view.getBookingStatus().name())
+                    .bookingDate(view.getBookingDate())
+                    .flight(JSON.readValue(view.getFlightJson(), BookingResponse.FlightDetailsDto.class))
+                    .passengers(JSON.readValue(view.getPassengersJson(), PASSENGERS))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable ticket view of booking " + view.getBookingId(), e);
+        }
+    }
+
+    // Helper methods
+
+    private static String write(Object value) {
+        try {
+            return JSON.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ticket view could not be written", e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingRequestStatus;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.AsyncBookingPipeline;
+import com.flightapp.service.BookingService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Flash-sale load: N clients book at once on 5 hot flights, through the synchronous path
+ * and through AsyncBookingPipeline. Clients are served by 200 request threads (Tomcat's
+ * default), so in the synchronous case most of them queue for a thread or a flight lock.
+ * Reports bookings/sec and per-client time to a confirmed booking (p50/p99).
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=AsyncBookingLoadBenchmark
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=32",
+        // Hold a whole 20k burst; at the default capacity the overflow is rejected as "queue is full"
+        "flightapp.booking.async.queue-capacity=20000"
+})
+@Tag("benchmark")
+@Slf4j
+class AsyncBookingLoadBenchmark {
+
+    private static final int[] CLIENTS = {1_000, 5_000, 20_000};
+    private static final int WARMUP_CLIENTS = 2_000;
+    private static final int REQUEST_THREADS = 200;
+    private static final int FLIGHTS = 5;
+    private static final int SEATS_PER_ROW = 6;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AsyncBookingPipeline asyncBookingPipeline;
+
+    private final AtomicInteger flightNumbers = new AtomicInteger();
+    private Airline airline;
+
+    @Test
+    void flashSale() throws Exception {
+        // Warm up both paths so the first measured run is not paying for JIT compilation
+        runSynchronous(WARMUP_CLIENTS);
+        runAsynchronous(WARMUP_CLIENTS);
+
+        for (int clients : CLIENTS) {
+            report("sync ", clients, runSynchronous(clients));
+            report("async", clients, runAsynchronous(clients));
+        }
+    }
+
+    private long[] runSynchronous(int clients) throws Exception {
+        Long[] flightIds = createFlights(clients);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<Long>> latencies = new ArrayList<>(clients);
+            for (int client = 0; client < clients; client++) {
+                final int index = client;
+                latencies.add(requestThreads.submit(() -> {
+                    bookingService.bookFlight(flightIds[index % FLIGHTS], bookingRequest(index / FLIGHTS));
+                    return System.nanoTime() - startedAt;
+                }));
+            }
+            return collect(latencies, startedAt, flightIds, clients);
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    private long[] runAsynchronous(int clients) throws Exception {
+        Long[] flightIds = createFlights(clients);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<String>> submitted = new ArrayList<>(clients);
+            for (int client = 0; client < clients; client++) {
+                final int index = client;
+                submitted.add(requestThreads.submit(() -> asyncBookingPipeline
+                        .submit(flightIds[index % FLIGHTS], bookingRequest(index / FLIGHTS))
+                        .getRequestId()));
+            }
+
+            // Poll like a client would, recording when each request was first seen confirmed
+            String[] requestIds = new String[clients];
+            for (int i = 0; i < clients; i++) {
+                requestIds[i] = submitted.get(i).get(2, TimeUnit.MINUTES);
+            }
+            long[] done = new long[clients];
+            int remaining = clients;
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+            while (remaining > 0 && System.nanoTime() < deadline) {
+                for (int i = 0; i < clients; i++) {
+                    if (done[i] == 0) {
+                        BookingRequestStatus status = asyncBookingPipeline.getStatus(requestIds[i]);
+                        if (BookingRequestStatus.CONFIRMED.equals(status.getStatus())) {
+                            done[i] = System.nanoTime() - startedAt;
+                            remaining--;
+                        }
+                    }
+                }
+                Thread.sleep(10);
+            }
+            assertEquals(0, remaining, "async bookings left unconfirmed");
+            return finish(done, startedAt, flightIds, clients);
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    private long[] collect(List<Future<Long>> latencies, long startedAt, Long[] flightIds, int clients)
+            throws Exception {
+        long[] done = new long[clients];
+        for (int i = 0; i < clients; i++) {
+            done[i] = latencies.get(i).get(10, TimeUnit.MINUTES);
+        }
+        return finish(done, startedAt, flightIds, clients);
+    }
+
+    private long[] finish(long[] done, long startedAt, Long[] flightIds, int clients) {
+        long elapsed = System.nanoTime() - startedAt;
+        int booked = 0;
+        for (Long flightId : flightIds) {
+            Flight flight = flightRepository.findById(flightId).orElseThrow();
+            booked += flight.getTotalSeats() - flight.getAvailableSeats();
+        }
+        assertEquals(clients, booked);
+
+        long[] sorted = done.clone();
+        Arrays.sort(sorted);
+        return new long[] {elapsed, sorted[sorted.length / 2], sorted[(int) (sorted.length * 0.99)]};
+    }
+
+    private void report(String mode, int clients, long[] result) {
+        log.info("{} {} clients: {} bookings/sec, p50 {} ms, p99 {} ms",
+                mode, clients,
+                String.format("%.0f", clients / (result[0] / 1_000_000_000.0)),
+                result[1] / 1_000_000, result[2] / 1_000_000);
+    }
+
+    // Helper methods
+
+    private Long[] createFlights(int clients) {
+        if (airline == null) {
+            airline = airlineRepository.save(Airline.builder()
+                    .airlineName("Flash Air")
+                    .airlineCode("FA")
+                    .isActive(true)
+                    .build());
+        }
+
+        int seats = (clients / FLIGHTS + 1) / SEATS_PER_ROW * SEATS_PER_ROW + SEATS_PER_ROW;
+        Long[] flightIds = new Long[FLIGHTS];
+        LocalDateTime departure = LocalDateTime.now().plusDays(10);
+        for (int i = 0; i < FLIGHTS; i++) {
+            flightIds[i] = flightRepository.save(Flight.builder()
+                    .flightNumber("FLASH" + flightNumbers.incrementAndGet())
+                    .airline(airline)
+                    .fromLocation("Delhi")
+                    .toLocation("Mumbai")
+                    .departureTime(departure.plusHours(i))
+                    .arrivalTime(departure.plusHours(i + 2))
+                    .totalSeats(seats)
+                    .availableSeats(seats)
+                    .basePrice(new BigDecimal("5000.00"))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build()).getId();
+        }
+        return flightIds;
+    }
+
+    private BookingRequest bookingRequest(int seatIndex) {
+        PassengerRequest passenger = PassengerRequest.builder()
+                .passengerName("Flash Buyer")
+                .gender("FEMALE")
+                .age(28)
+                .mealPreference("NONE")
+                .seatNumber((seatIndex / SEATS_PER_ROW + 1) + String.valueOf((char) ('A' + seatIndex % SEATS_PER_ROW)))
+                .build();
+
+        return BookingRequest.builder()
+                .contactName("Flash Buyer")
+                .email("flash" + seatIndex + "@example.com")
+                .passengers(List.of(passenger))
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.LockStripeStats;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.FlightLockService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Booking throughput when traffic is Zipf-distributed over flights (exponent 1.1):
+ * the hottest flight gets about a quarter of all bookings. Logs the busiest lock
+ * stripes so the wait/hold split between hot and cold flights is visible.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=BookingContentionBenchmark
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+@Tag("benchmark")
+@Slf4j
+class BookingContentionBenchmark {
+
+    private static final int FLIGHTS = 50;
+    private static final int THREADS = 32;
+    private static final int BOOKINGS_PER_THREAD = 60;
+    private static final int SEATS_PER_FLIGHT = 3000;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightLockService flightLockService;
+
+    @Test
+    void zipfianBookings() throws Exception {
+        Long[] flightIds = createFlights();
+        AtomicInteger[] nextSeat = new AtomicInteger[FLIGHTS];
+        AtomicInteger[] booked = new AtomicInteger[FLIGHTS];
+        for (int i = 0; i < FLIGHTS; i++) {
+            nextSeat[i] = new AtomicInteger();
+            booked[i] = new AtomicInteger();
+        }
+        ZipfianSampler sampler = new ZipfianSampler(FLIGHTS, 1.1);
+
+        ConcurrentRunner.Result result = ConcurrentRunner.run(THREADS, thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                int flight = sampler.next(random);
+                bookingService.bookFlight(flightIds[flight], bookingRequest(nextSeat[flight].getAndIncrement()));
+                booked[flight].incrementAndGet();
+            }
+            return true;
+        });
+
+        int totalBookings = THREADS * BOOKINGS_PER_THREAD;
+        log.info("Zipfian booking: {} threads, {} bookings over {} flights in {} ms ({} bookings/sec); " +
+                        "hottest flight took {} bookings",
+                THREADS, totalBookings, FLIGHTS,
+                String.format("%.1f", result.elapsedMillis()),
+                String.format("%.0f", totalBookings / (result.elapsedNanos() / 1_000_000_000.0)),
+                booked[0].get());
+
+        flightLockService.getStripeStats().stream()
+                .sorted(Comparator.comparingLong(LockStripeStats::getAcquisitions).reversed())
+                .limit(5)
+                .forEach(stats -> log.info("  stripe {}: {}", stats.getStripe(), stats));
+
+        assertEquals(THREADS, result.successes());
+        for (int i = 0; i < FLIGHTS; i++) {
+            int available = flightRepository.findById(flightIds[i]).orElseThrow().getAvailableSeats();
+            assertEquals(SEATS_PER_FLIGHT - booked[i].get(), available);
+        }
+    }
+
+    // Helper methods
+
+    private Long[] createFlights() {
+        Airline airline = airlineRepository.save(Airline.builder()
+                .airlineName("Zipf Air")
+                .airlineCode("ZA")
+                .isActive(true)
+                .build());
+
+        Long[] flightIds = new Long[FLIGHTS];
+        LocalDateTime departure = LocalDateTime.now().plusDays(10);
+        for (int i = 0; i < FLIGHTS; i++) {
+            flightIds[i] = flightRepository.save(Flight.builder()
+                    .flightNumber("ZIPF" + i)
+                    .airline(airline)
+                    .fromLocation("Delhi")
+                    .toLocation("Mumbai")
+                    .departureTime(departure.plusMinutes(i * 15L))
+                    .arrivalTime(departure.plusMinutes(i * 15L + 120))
+                    .totalSeats(SEATS_PER_FLIGHT)
+                    .availableSeats(SEATS_PER_FLIGHT)
+                    .basePrice(new BigDecimal("5000.00"))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build()).getId();
+        }
+        return flightIds;
+    }
+
+    private BookingRequest bookingRequest(int seatIndex) {
+        PassengerRequest passenger = PassengerRequest.builder()
+                .passengerName("Zipf Booker")
+                .gender("FEMALE")
+                .age(35)
+                .mealPreference("NONE")
+                .seatNumber((seatIndex / 6 + 1) + String.valueOf((char) ('A' + seatIndex % 6)))
+                .build();
+
+        return BookingRequest.builder()
+                .contactName("Zipf Booker")
+                .email("zipf" + seatIndex + "@example.com")
+                .passengers(List.of(passenger))
+                .build();
+    }
+}
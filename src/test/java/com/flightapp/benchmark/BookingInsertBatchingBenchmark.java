@@ -0,0 +1,160 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bookings/sec and JDBC statements per 9-passenger booking, with and without insert batching.
+ * Every booking inserts 1 booking row, 9 passengers and 9 flight_seats rows. Without batching
+ * (the old IDENTITY behaviour) each row is its own statement; with batching each table is one.
+ * Each variant gets its own in-memory database so the contexts do not share a schema.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=BookingInsertBatchingBenchmark
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Tag("benchmark")
+@Slf4j
+class BookingInsertBatchingBenchmark {
+
+    private static final int WARMUP_BOOKINGS = 50;
+    private static final int BOOKINGS = 300;
+    private static final int PASSENGERS = 9;
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:batch_off;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+    })
+    class H2Unbatched extends Scenario {
+        @Test
+        void bookings() {
+            measure("H2 dialect, batching off");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties =
+            "spring.datasource.url=jdbc:h2:mem:batch_on;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+    class H2Batched extends Scenario {
+        @Test
+        void bookings() {
+            measure("H2 dialect, batching on");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:batch_mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+    })
+    class MySqlDialectBatched extends Scenario {
+        @Test
+        void bookings() {
+            measure("MySQL dialect, batching on");
+        }
+    }
+
+    abstract static class Scenario {
+
+        @Autowired
+        private FlightRepository flightRepository;
+
+        @Autowired
+        private AirlineRepository airlineRepository;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        void measure(String label) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Long flightId = createFlight((WARMUP_BOOKINGS + BOOKINGS) * PASSENGERS);
+
+            for (int i = 0; i < WARMUP_BOOKINGS; i++) {
+                bookingService.bookFlight(flightId, bookingRequest(i));
+            }
+
+            statistics.clear();
+            long startedAt = System.nanoTime();
+            for (int i = WARMUP_BOOKINGS; i < WARMUP_BOOKINGS + BOOKINGS; i++) {
+                bookingService.bookFlight(flightId, bookingRequest(i));
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+            log.info("{}: {} bookings/sec, {} statements per booking ({} entity inserts per booking)",
+                    label,
+                    String.format("%.0f", BOOKINGS / seconds),
+                    String.format("%.1f", statistics.getPrepareStatementCount() / (double) BOOKINGS),
+                    String.format("%.1f", statistics.getEntityInsertCount() / (double) BOOKINGS));
+
+            // Booking and its ticket_view row, then a passenger and a seat per passenger
+            assertEquals((long) BOOKINGS * (2 + 2 * PASSENGERS), statistics.getEntityInsertCount());
+        }
+
+        private Long createFlight(int seats) {
+            Airline airline = airlineRepository.save(Airline.builder()
+                    .airlineName("Batch Air")
+                    .airlineCode("BA")
+                    .isActive(true)
+                    .build());
+
+            LocalDateTime departure = LocalDateTime.now().plusDays(10);
+            return flightRepository.save(Flight.builder()
+                    .flightNumber("BATCH1")
+                    .airline(airline)
+                    .fromLocation("Delhi")
+                    .toLocation("Mumbai")
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusHours(2))
+                    .totalSeats(seats)
+                    .availableSeats(seats)
+                    .basePrice(new BigDecimal("5000.00"))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build()).getId();
+        }
+
+        private BookingRequest bookingRequest(int row) {
+            List<PassengerRequest> passengers = new ArrayList<>(PASSENGERS);
+            for (int i = 0; i < PASSENGERS; i++) {
+                passengers.add(PassengerRequest.builder()
+                        .passengerName("Batch Passenger " + i)
+                        .gender("MALE")
+                        .age(30)
+                        .mealPreference("NONE")
+                        .seatNumber((row + 1) + String.valueOf((char) ('A' + i)))
+                        .build());
+            }
+
+            return BookingRequest.builder()
+                    .contactName("Batch Booker")
+                    .email("batch" + row + "@example.com")
+                    .passengers(passengers)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.flightapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * Fires N tasks at the same instant from N threads and measures wall time.
+ * A task returns true when its operation succeeded; exceptions count as failures.
+ */
+final class ConcurrentRunner {
+
+    private ConcurrentRunner() {
+    }
+
+    static Result run(int threads, IntPredicate task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>(threads);
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        return task.test(index);
+                    } catch (RuntimeException ex) {
+                        return false;
+                    }
+                }));
+            }
+
+            ready.await();
+            long startedAt = System.nanoTime();
+            start.countDown();
+
+            int successes = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(2, TimeUnit.MINUTES)) {
+                    successes++;
+                }
+            }
+            return new Result(threads, successes, System.nanoTime() - startedAt);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    record Result(int attempts, int successes, long elapsedNanos) {
+
+        double successesPerSecond() {
+            return successes / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double elapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.ConnectionFinder;
+import com.flightapp.service.FlightSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Connection search latency with 100k flights a day over 150 airports. A fifth of the airports
+ * are hubs that take half of the traffic. Each call asks for the 10 best itineraries with up to
+ * 2 stops between a random pair of airports, with the default 45 min - 6 h layovers.
+ * The travel day and the day after are loaded, so late connections can run past midnight.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ConnectionSearchBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConnectionSearchBenchmark {
+
+    private static final int AIRPORTS = 150;
+    private static final int HUBS = 30;
+    private static final int FLIGHTS_PER_DAY = 100_000;
+
+    @Param({"DURATION", "PRICE"})
+    public ConnectionSearchRequest.SortBy sortBy;
+
+    private ConnectionFinder connectionFinder;
+    private LocalDate travelDate;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        travelDate = LocalDate.now().plusDays(7);
+        List<Flight> flights = new ArrayList<>(2 * FLIGHTS_PER_DAY);
+        SplittableRandom random = new SplittableRandom(42);
+        Airline airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+        for (int i = 0; i < 2 * FLIGHTS_PER_DAY; i++) {
+            int from = airport(random);
+            int to = airport(random);
+            while (to == from) {
+                to = airport(random);
+            }
+            LocalDateTime departure = travelDate.plusDays(i % 2).atStartOfDay().plusMinutes(random.nextInt(24 * 60));
+            flights.add(Flight.builder()
+                    .id((long) i + 1)
+                    .flightNumber("6E" + (i + 1))
+                    .airline(airline)
+                    .fromLocation("Airport" + from)
+                    .toLocation("Airport" + to)
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusMinutes(50 + random.nextInt(200)))
+                    .totalSeats(180)
+                    .availableSeats(random.nextInt(181))
+                    .basePrice(BigDecimal.valueOf(2000 + random.nextInt(8000)))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build());
+        }
+
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenReturn(flights, List.of());
+        FlightSearchIndex flightSearchIndex = new FlightSearchIndex(flightRepository, flights.size());
+        flightSearchIndex.load();
+        String[] airports = new String[AIRPORTS];
+        for (int i = 0; i < AIRPORTS; i++) {
+            airports[i] = "Airport" + i;
+        }
+        connectionFinder = new ConnectionFinder(flightSearchIndex, KnownLocations.of(airports), DefaultPricing.engine(), 45, 360);
+    }
+
+    @Benchmark
+    public List<ConnectionFinder.Itinerary> search() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(AIRPORTS);
+        int to = (from + 1 + random.nextInt(AIRPORTS - 1)) % AIRPORTS;
+
+        return connectionFinder.find(ConnectionSearchRequest.builder()
+                .fromLocation("Airport" + from)
+                .toLocation("Airport" + to)
+                .travelDate(travelDate)
+                .numberOfPassengers(1 + random.nextInt(4))
+                .sortBy(sortBy)
+                .build());
+    }
+
+    // Half of the endpoints are one of the hubs
+    private static int airport(SplittableRandom random) {
+        return random.nextBoolean() ? random.nextInt(HUBS) : random.nextInt(AIRPORTS);
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConnectionSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,20 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.service.PricingEngine;
+
+/**
+ * Pricing engine with the fare buckets from application.properties, so benchmarks price
+ * flights the way a default deployment does.
+ */
+final class DefaultPricing {
+
+    private DefaultPricing() {
+    }
+
+    static PricingEngine engine() {
+        return new PricingEngine(
+                new int[]{50, 70, 85, 95}, new double[]{1.0, 1.1, 1.25, 1.5, 1.8},
+                new int[]{3, 7, 14, 30}, new double[]{1.4, 1.25, 1.1, 1.0, 0.9},
+                15, "benchmark-secret");
+    }
+}
@@ -0,0 +1,143 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.ConnectionFinder;
+import com.flightapp.service.FlightSearchExecutor;
+import com.flightapp.service.FlightSearchIndex;
+import com.flightapp.service.FlightServiceImpl;
+import com.flightapp.service.LocationSuggester;
+import com.flightapp.service.LookupGuard;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search latency of FlightServiceImpl.searchFlights served from the in-memory index
+ * holding 1M future flights: 20 cities (380 routes) over the next 180 days,
+ * about 15 flights per route and day. Each call searches a random route, day and party size.
+ * The index is loaded through FlightSearchIndex.load() from a stubbed repository,
+ * and the search result cache is bypassed.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=FlightSearchIndexBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FlightSearchIndexBenchmark {
+
+    private static final int FLIGHTS = 1_000_000;
+    private static final int DAYS = 180;
+    private static final String[] CITIES = {
+        "Delhi", "Mumbai", "Bengaluru", "Chennai", "Kolkata", "Hyderabad", "Pune", "Ahmedabad",
+        "Jaipur", "Lucknow", "Goa", "Kochi", "Guwahati", "Chandigarh", "Indore", "Nagpur",
+        "Patna", "Bhubaneswar", "Srinagar", "Varanasi"
+    };
+
+    private FlightServiceImpl flightService;
+    private LocalDate firstDay;
+
+    @Setup
+    public void setUp() {
+        // Per-search INFO lines would otherwise be measured along with the lookup
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        firstDay = LocalDate.now().plusDays(1);
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenAnswer(invocation -> nextPage(invocation.getArgument(1), invocation.<Pageable>getArgument(2).getPageSize()));
+
+        FlightSearchIndex flightSearchIndex = new FlightSearchIndex(flightRepository, 5000);
+        flightSearchIndex.load();
+        flightService = new FlightServiceImpl(flightRepository, mock(AirlineRepository.class), flightSearchIndex,
+                new UncachedSearches(), mock(FlightSearchExecutor.class), mock(ConnectionFinder.class), mock(TransactionTemplate.class),
+                KnownLocations.of(CITIES), mock(LocationSuggester.class),
+                DefaultPricing.engine(), mock(LookupGuard.class));
+    }
+
+    @Benchmark
+    public List<FlightSearchResponse> search() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(CITIES.length);
+        int to = (from + 1 + random.nextInt(CITIES.length - 1)) % CITIES.length;
+
+        return flightService.searchFlights(FlightSearchRequest.builder()
+                .fromLocation(CITIES[from])
+                .toLocation(CITIES[to])
+                .travelDate(firstDay.plusDays(random.nextInt(DAYS)))
+                .numberOfPassengers(1 + random.nextInt(9))
+                .build());
+    }
+
+    // Flight n is derived from n alone, so pages can be produced on demand instead of held in memory
+    private List<Flight> nextPage(long afterId, int pageSize) {
+        long firstId = afterId == Long.MIN_VALUE ? 1 : afterId + 1;
+        List<Flight> page = new ArrayList<>(pageSize);
+        for (long id = firstId; id < firstId + pageSize && id <= FLIGHTS; id++) {
+            page.add(flight(id));
+        }
+        return page;
+    }
+
+    private final Airline airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+    private final BigDecimal basePrice = new BigDecimal("5000.00");
+
+    private Flight flight(long id) {
+        SplittableRandom random = new SplittableRandom(id);
+        int from = random.nextInt(CITIES.length);
+        int to = (from + 1 + random.nextInt(CITIES.length - 1)) % CITIES.length;
+        LocalDateTime departure = firstDay.plusDays(random.nextInt(DAYS)).atStartOfDay()
+                .plusMinutes(random.nextInt(24 * 60));
+
+        return Flight.builder()
+                .id(id)
+                .flightNumber("6E" + id)
+                .airline(airline)
+                .fromLocation(CITIES[from])
+                .toLocation(CITIES[to])
+                .departureTime(departure)
+                .arrivalTime(departure.plusMinutes(60 + random.nextInt(180)))
+                .totalSeats(180)
+                .availableSeats(random.nextInt(181))
+                .basePrice(basePrice)
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(FlightSearchIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,42 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.entity.Location;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.LocationRepository;
+import com.flightapp.service.LocationDictionary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Location dictionary preloaded with the given names, ids counting from 1, so benchmarks
+ * resolve locations from memory the way a warmed-up node does.
+ */
+final class KnownLocations {
+
+    private KnownLocations() {
+    }
+
+    static LocationDictionary of(String... names) {
+        List<Location> locations = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            locations.add(Location.builder()
+                    .id(i + 1)
+                    .locationName(names[i])
+                    .normalizedName(names[i].toLowerCase(Locale.ROOT))
+                    .build());
+        }
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findAll()).thenReturn(locations);
+
+        LocationDictionary locationDictionary = new LocationDictionary(
+                locationRepository, mock(FlightRepository.class), mock(PlatformTransactionManager.class), 10000, 60);
+        locationDictionary.load();
+        return locationDictionary;
+    }
+}
@@ -0,0 +1,117 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.LocationSuggester;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Autocomplete latency of LocationSuggester.suggest over 5,000 locations with made-up,
+ * partly multi-word names and skewed flight counts. Each call asks for 10 suggestions for
+ * a 1-3 character prefix of a random location name, so short prefixes scan hundreds of keys.
+ * The GC profiler reports bytes allocated per lookup (gc.alloc.rate.norm).
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=LocationSuggestBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationSuggestBenchmark {
+
+    private static final int LOCATIONS = 5_000;
+    private static final String[] SYLLABLES = {
+        "ba", "del", "mu", "ra", "pur", "ko", "chen", "na", "ga", "hy", "de", "la", "bad", "ni", "jai", "sri"
+    };
+
+    private LocationSuggester locationSuggester;
+    private String[] queries;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        SplittableRandom random = new SplittableRandom(42);
+        String[] names = new String[LOCATIONS];
+        for (int i = 0; i < LOCATIONS; i++) {
+            names[i] = name(random) + (random.nextInt(4) == 0 ? " " + name(random) : "") + " " + i;
+        }
+
+        List<FlightRepository.LocationFlightCount> counts = new ArrayList<>(LOCATIONS);
+        for (int i = 0; i < LOCATIONS; i++) {
+            // A few busy hubs and a long tail of small airports
+            counts.add(count(i + 1, 1 + (long) (10_000 / Math.pow(1 + random.nextInt(LOCATIONS), 0.8))));
+        }
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        when(flightRepository.countUpcomingFlightsByFromLocation(any(LocalDateTime.class))).thenReturn(counts);
+        when(flightRepository.countUpcomingFlightsByToLocation(any(LocalDateTime.class))).thenReturn(List.of());
+
+        locationSuggester = new LocationSuggester(KnownLocations.of(names), flightRepository, 10);
+        locationSuggester.load();
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String name = names[random.nextInt(LOCATIONS)];
+            queries[i] = name.substring(0, 1 + random.nextInt(3));
+        }
+    }
+
+    @Benchmark
+    public List<LocationResponse> suggest() {
+        return locationSuggester.suggest(queries[ThreadLocalRandom.current().nextInt(queries.length)], 10);
+    }
+
+    private static String name(SplittableRandom random) {
+        StringBuilder name = new StringBuilder();
+        for (int s = 1 + random.nextInt(3); s >= 0; s--) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static FlightRepository.LocationFlightCount count(int locationId, long flights) {
+        return new FlightRepository.LocationFlightCount() {
+            @Override
+            public Integer getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public Long getFlightCount() {
+                return flights;
+            }
+        };
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LocationSuggestBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
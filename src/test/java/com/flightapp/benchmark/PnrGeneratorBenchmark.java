@@ -0,0 +1,66 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.service.PNRGeneratorService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PNR generation throughput with 1, 4 and 8 threads sharing one generator:
+ * the old date prefix + 4 SecureRandom characters (before its existsByPnr query)
+ * against the packed time/node/sequence generator.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=PnrGeneratorBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PnrGeneratorBenchmark {
+
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PNRGeneratorService pnrGeneratorService;
+
+    @Setup
+    public void setUp() {
+        pnrGeneratorService = new PNRGeneratorService(0);
+    }
+
+    @Benchmark
+    public String randomPnr() {
+        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
+        StringBuilder randomPart = new StringBuilder(4);
+        for (int i = 0; i < 4; i++) {
+            randomPart.append(ALPHANUMERIC.charAt(RANDOM.nextInt(ALPHANUMERIC.length())));
+        }
+        return datePart + randomPart;
+    }
+
+    @Benchmark
+    public String packedPnr() {
+        return pnrGeneratorService.generatePNR();
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        for (int threads : new int[] {1, 4, 8}) {
+            new Runner(new OptionsBuilder()
+                    .include(PnrGeneratorBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.service.PricingEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of pricing one flight the way search does for every result. "fareMinor" is the live
+ * fare from the compiled tables; "fareAndToken" adds the signed price token each search
+ * result carries. The GC profiler reports bytes allocated per call (gc.alloc.rate.norm),
+ * which should be zero for fareMinor.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=PricingBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private PricingEngine pricingEngine;
+    private FlightSnapshot[] flights;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        pricingEngine = DefaultPricing.engine();
+        SplittableRandom random = new SplittableRandom(42);
+        flights = new FlightSnapshot[1024];
+        for (int i = 0; i < flights.length; i++) {
+            LocalDateTime departure = LocalDate.now().plusDays(random.nextInt(60)).atTime(random.nextInt(24), 0);
+            flights[i] = new FlightSnapshot((long) i + 1, "6E" + (i + 1), "IndiGo", "6E", "Delhi", "Mumbai",
+                    departure, departure.plusHours(2), 180, random.nextInt(181),
+                    BigDecimal.valueOf(300_000 + random.nextInt(400_000), 2), true);
+        }
+    }
+
+    @Benchmark
+    public long fareMinor() {
+        return pricingEngine.fareMinor(flights[next++ & 1023]);
+    }
+
+    @Benchmark
+    public String fareAndToken() {
+        FlightSnapshot flight = flights[next++ & 1023];
+        return pricingEngine.issueToken(flight.id(), pricingEngine.fareMinor(flight));
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PricingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,169 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.dto.RoundTripSearchResponse;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.ConnectionFinder;
+import com.flightapp.service.FlightSearchExecutor;
+import com.flightapp.service.FlightSearchIndex;
+import com.flightapp.service.FlightServiceImpl;
+import com.flightapp.service.LocationSuggester;
+import com.flightapp.service.LookupGuard;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Round-trip search latency: two serial searchFlights calls (what clients did before)
+ * against one searchRoundTrip call that runs the return leg on the search pool.
+ * Each leg finds 15 flights.
+ *
+ * "database" serves legs from the JPQL query with a simulated 2 ms MySQL round trip.
+ * "index" serves them from the in-memory search index, where a leg takes microseconds,
+ * so searchRoundTrip runs both legs on the calling thread. The search result cache is bypassed.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=RoundTripSearchBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripSearchBenchmark {
+
+    private static final long QUERY_ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int FLIGHTS_PER_LEG = 15;
+
+    @Param({"database", "index"})
+    public String source;
+
+    private FlightServiceImpl flightService;
+    private FlightSearchExecutor flightSearchExecutor;
+    private FlightSearchRequest outbound;
+    private FlightSearchRequest inbound;
+    private FlightSearchRequest roundTrip;
+
+    @Setup
+    public void setUp() {
+        // Per-search INFO lines would otherwise be measured along with the search
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        LocalDate departDay = LocalDate.now().plusDays(20);
+        LocalDate returnDay = departDay.plusDays(7);
+        List<Flight> outboundFlights = flights(1, "Delhi", "Mumbai", departDay);
+        List<Flight> returnFlights = flights(1 + FLIGHTS_PER_LEG, "Mumbai", "Delhi", returnDay);
+
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(flightRepository.searchFlights(anyInt(), anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    LockSupport.parkNanos(QUERY_ROUND_TRIP_NANOS);
+                    List<Flight> rows = invocation.<Integer>getArgument(0) == 1 ? outboundFlights : returnFlights;
+                    return rows.stream().map(FlightSnapshot::of).toList();
+                });
+
+        FlightSearchIndex flightSearchIndex = new FlightSearchIndex(flightRepository, 5000);
+        if ("index".equals(source)) {
+            flightSearchIndex.load();
+            outboundFlights.forEach(flightSearchIndex::flightSaved);
+            returnFlights.forEach(flightSearchIndex::flightSaved);
+        }
+
+        flightSearchExecutor = new FlightSearchExecutor(8, 200);
+        flightService = new FlightServiceImpl(flightRepository, mock(AirlineRepository.class), flightSearchIndex,
+                new UncachedSearches(), flightSearchExecutor, mock(ConnectionFinder.class), mock(TransactionTemplate.class),
+                KnownLocations.of("Delhi", "Mumbai"), mock(LocationSuggester.class),
+                DefaultPricing.engine(), mock(LookupGuard.class));
+
+        outbound = request("Delhi", "Mumbai", departDay, null);
+        inbound = request("Mumbai", "Delhi", returnDay, null);
+        roundTrip = request("Delhi", "Mumbai", departDay, returnDay);
+    }
+
+    @TearDown
+    public void tearDown() {
+        flightSearchExecutor.destroy();
+    }
+
+    @Benchmark
+    public int twoSerialCalls() {
+        List<FlightSearchResponse> there = flightService.searchFlights(outbound);
+        List<FlightSearchResponse> back = flightService.searchFlights(inbound);
+        return there.size() + back.size();
+    }
+
+    @Benchmark
+    public RoundTripSearchResponse roundTrip() {
+        return flightService.searchRoundTrip(roundTrip);
+    }
+
+    private static FlightSearchRequest request(String from, String to, LocalDate travelDate, LocalDate returnDate) {
+        return FlightSearchRequest.builder()
+                .fromLocation(from)
+                .toLocation(to)
+                .travelDate(travelDate)
+                .returnDate(returnDate)
+                .isRoundTrip(returnDate != null)
+                .numberOfPassengers(2)
+                .build();
+    }
+
+    private static List<Flight> flights(long firstId, String from, String to, LocalDate day) {
+        Airline airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+        List<Flight> flights = new ArrayList<>(FLIGHTS_PER_LEG);
+        for (int i = 0; i < FLIGHTS_PER_LEG; i++) {
+            LocalDateTime departure = day.atTime(6, 0).plusMinutes(60L * i);
+            flights.add(Flight.builder()
+                    .id(firstId + i)
+                    .flightNumber("6E" + (firstId + i))
+                    .airline(airline)
+                    .fromLocation(from)
+                    .toLocation(to)
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusMinutes(130))
+                    .totalSeats(180)
+                    .availableSeats(100)
+                    .basePrice(new BigDecimal("5000.00"))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build());
+        }
+        return flights;
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RoundTripSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements, heap allocation and latency per database search of a busy route, loading
+ * Flight entities (the old query, EAGER airline) versus the FlightSnapshot projection.
+ * Allocation is read from the JVM's per-thread allocation counter.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SearchProjectionBenchmark
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:search_projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@Tag("benchmark")
+@Slf4j
+class SearchProjectionBenchmark {
+
+    private static final int AIRLINES = 20;
+    private static final int FLIGHTS_PER_AIRLINE = 10;
+    private static final int WARMUP_SEARCHES = 500;
+    private static final int SEARCHES = 2000;
+    private static final int DELHI = 1;
+    private static final int MUMBAI = 2;
+
+    private static final String ENTITY_QUERY = "SELECT f FROM Flight f WHERE " +
+            "f.fromLocationId = :fromLocationId AND f.toLocationId = :toLocationId AND " +
+            "f.departureTime >= :startDate AND f.departureTime < :endDate AND " +
+            "f.availableSeats >= :requiredSeats AND f.isActive = true AND f.flightStatus = 'SCHEDULED' " +
+            "ORDER BY f.departureTime ASC";
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void entitiesVersusProjection() {
+        LocalDate travelDate = LocalDate.now().plusDays(10);
+        seed(travelDate);
+        LocalDateTime startDate = travelDate.atStartOfDay();
+        LocalDateTime endDate = travelDate.plusDays(1).atStartOfDay();
+
+        measure("Flight entities", () -> {
+            // A fresh persistence context per search, like the repository call outside a transaction
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                return entityManager.createQuery(ENTITY_QUERY, Flight.class)
+                        .setParameter("fromLocationId", DELHI)
+                        .setParameter("toLocationId", MUMBAI)
+                        .setParameter("startDate", startDate)
+                        .setParameter("endDate", endDate)
+                        .setParameter("requiredSeats", 1)
+                        .getResultList().stream()
+                        .map(FlightSnapshot::of)
+                        .toList();
+            } finally {
+                entityManager.close();
+            }
+        });
+        measure("FlightSnapshot projection", () ->
+                flightRepository.searchFlights(DELHI, MUMBAI, startDate, endDate, 1));
+    }
+
+    private void measure(String label, Supplier<List<FlightSnapshot>> search) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            assertEquals(AIRLINES * FLIGHTS_PER_AIRLINE, search.get().size());
+        }
+
+        statistics.clear();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < SEARCHES; i++) {
+            search.get();
+        }
+        long micros = (System.nanoTime() - startedAt) / 1_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        log.info("{}: {} statements, {} KB allocated, {} us per search of {} flights",
+                label,
+                String.format("%.1f", statistics.getPrepareStatementCount() / (double) SEARCHES),
+                String.format("%.1f", allocated / 1024.0 / SEARCHES),
+                String.format("%.0f", micros / (double) SEARCHES),
+                AIRLINES * FLIGHTS_PER_AIRLINE);
+    }
+
+    private void seed(LocalDate travelDate) {
+        List<Flight> flights = new ArrayList<>();
+        for (int a = 0; a < AIRLINES; a++) {
+            Airline airline = airlineRepository.save(Airline.builder()
+                    .airlineName("Projection Air " + a)
+                    .airlineCode("P" + a)
+                    .isActive(true)
+                    .build());
+            for (int f = 0; f < FLIGHTS_PER_AIRLINE; f++) {
+                LocalDateTime departure = travelDate.atTime(5 + f, a * 2);
+                flights.add(Flight.builder()
+                        .flightNumber("P" + a + "-" + f)
+                        .airline(airline)
+                        .fromLocation("Delhi")
+                        .fromLocationId(DELHI)
+                        .toLocation("Mumbai")
+                        .toLocationId(MUMBAI)
+                        .departureTime(departure)
+                        .arrivalTime(departure.plusHours(2))
+                        .totalSeats(180)
+                        .availableSeats(180)
+                        .basePrice(new BigDecimal("5000.00"))
+                        .flightStatus(Flight.FlightStatus.SCHEDULED)
+                        .isActive(true)
+                        .build());
+            }
+        }
+        flightRepository.saveAll(flights);
+    }
+}
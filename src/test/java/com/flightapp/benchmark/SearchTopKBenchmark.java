@@ -0,0 +1,142 @@
+package com.flightapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.ConnectionFinder;
+import com.flightapp.service.FlightSearchExecutor;
+import com.flightapp.service.FlightSearchIndex;
+import com.flightapp.service.FlightServiceImpl;
+import com.flightapp.service.LocationSuggester;
+import com.flightapp.service.LookupGuard;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * "Cheapest 10" on a route with 500 flights that day, served from the in-memory index and
+ * serialized to JSON. "allThenSort" is what clients did before: fetch every flight and sort
+ * by price themselves, so all 500 are mapped and serialized. "cheapestTen" asks the server
+ * for sortBy=PRICE and maxResults=10. The search result cache is bypassed.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SearchTopKBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchTopKBenchmark {
+
+    private static final int FLIGHTS = 500;
+
+    private FlightServiceImpl flightService;
+    private ObjectMapper objectMapper;
+    private FlightSearchRequest everything;
+    private FlightSearchRequest cheapestTen;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.flightapp")).setLevel(Level.WARN);
+
+        LocalDate travelDate = LocalDate.now().plusDays(10);
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenReturn(flights(travelDate), List.of());
+        FlightSearchIndex flightSearchIndex = new FlightSearchIndex(flightRepository, FLIGHTS);
+        flightSearchIndex.load();
+
+        flightService = new FlightServiceImpl(flightRepository, mock(AirlineRepository.class), flightSearchIndex,
+                new UncachedSearches(), mock(FlightSearchExecutor.class), mock(ConnectionFinder.class),
+                mock(TransactionTemplate.class), KnownLocations.of("Delhi", "Mumbai"), mock(LocationSuggester.class),
+                DefaultPricing.engine(), mock(LookupGuard.class));
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        everything = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(travelDate)
+                .numberOfPassengers(2)
+                .build();
+        cheapestTen = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(travelDate)
+                .numberOfPassengers(2)
+                .sortBy(FlightSearchRequest.SortBy.PRICE)
+                .maxResults(10)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] allThenSort() throws Exception {
+        List<FlightSearchResponse> flights = new ArrayList<>(flightService.searchFlights(everything));
+        byte[] body = objectMapper.writeValueAsBytes(flights);
+        flights.sort(Comparator.comparing(FlightSearchResponse::getBasePrice));
+        return body;
+    }
+
+    @Benchmark
+    public byte[] cheapestTen() throws Exception {
+        return objectMapper.writeValueAsBytes(flightService.searchFlights(cheapestTen));
+    }
+
+    private static List<Flight> flights(LocalDate travelDate) {
+        SplittableRandom random = new SplittableRandom(42);
+        Airline airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+        List<Flight> flights = new ArrayList<>(FLIGHTS);
+        for (int i = 0; i < FLIGHTS; i++) {
+            LocalDateTime departure = travelDate.atStartOfDay().plusMinutes(random.nextInt(24 * 60));
+            flights.add(Flight.builder()
+                    .id((long) i + 1)
+                    .flightNumber("6E" + (i + 1))
+                    .airline(airline)
+                    .fromLocation("Delhi")
+                    .toLocation("Mumbai")
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusMinutes(110 + random.nextInt(60)))
+                    .totalSeats(180)
+                    .availableSeats(100)
+                    .basePrice(BigDecimal.valueOf(3000 + random.nextInt(4000)))
+                    .flightStatus(Flight.FlightStatus.SCHEDULED)
+                    .isActive(true)
+                    .build());
+        }
+        return flights;
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SearchTopKBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,165 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.FlightService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 200 concurrent bookers against one flight with fewer seats than bookers, on H2.
+ * Compares the old read-modify-write seat update with the guarded UPDATE.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SeatInventoryConcurrencyBenchmark
+ */
+@SpringBootTest
+@Tag("benchmark")
+@Slf4j
+class SeatInventoryConcurrencyBenchmark {
+
+    private static final int BOOKERS = 200;
+    private static final int TOTAL_SEATS = 150;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void before_readModifyWrite() throws Exception {
+        Long flightId = createFlight();
+
+        // The pre-change FlightServiceImpl.updateAvailableSeats: load, adjust in Java, save
+        ConcurrentRunner.Result result = ConcurrentRunner.run(BOOKERS, i ->
+                Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    Flight flight = flightRepository.findById(flightId).orElseThrow();
+                    if (flight.getAvailableSeats() < 1) {
+                        return false;
+                    }
+                    flight.setAvailableSeats(flight.getAvailableSeats() - 1);
+                    flightRepository.save(flight);
+                    return true;
+                })));
+
+        report("before (read-modify-write)", flightId, result);
+    }
+
+    @Test
+    void after_guardedUpdate() throws Exception {
+        Long flightId = createFlight();
+
+        ConcurrentRunner.Result result = ConcurrentRunner.run(BOOKERS, i -> {
+            flightService.updateAvailableSeats(flightId, -1);
+            return true;
+        });
+
+        int oversold = report("after (guarded UPDATE)", flightId, result);
+        assertEquals(TOTAL_SEATS, result.successes());
+        assertEquals(0, oversold);
+    }
+
+    @Test
+    void after_bookFlightEndToEnd() throws Exception {
+        Long flightId = createFlight();
+
+        ConcurrentRunner.Result result = ConcurrentRunner.run(BOOKERS, i -> {
+            bookingService.bookFlight(flightId, bookingRequest(i));
+            return true;
+        });
+
+        int oversold = report("after (bookFlight end-to-end)", flightId, result);
+        assertEquals(TOTAL_SEATS, result.successes());
+        assertEquals(0, oversold);
+        assertEquals(TOTAL_SEATS, bookingRepository.countConfirmedBookingsByFlightId(flightId));
+    }
+
+    // Helper methods
+
+    private int report(String label, Long flightId, ConcurrentRunner.Result result) {
+        int availableSeats = flightRepository.findById(flightId).orElseThrow().getAvailableSeats();
+        int seatsTaken = TOTAL_SEATS - availableSeats;
+        int oversold = result.successes() - seatsTaken;
+
+        log.info("{}: {} bookers, {} succeeded in {} ms ({} bookings/sec), " +
+                        "seats taken {}, available {}, oversold/lost updates {}",
+                label, result.attempts(), result.successes(),
+                String.format("%.1f", result.elapsedMillis()),
+                String.format("%.0f", result.successesPerSecond()),
+                seatsTaken, availableSeats, oversold);
+        return oversold;
+    }
+
+    private Long createFlight() {
+        int n = SEQUENCE.incrementAndGet();
+        Airline airline = airlineRepository.save(Airline.builder()
+                .airlineName("Bench Air " + n)
+                .airlineCode("BA" + n)
+                .isActive(true)
+                .build());
+
+        LocalDateTime departure = LocalDateTime.now().plusDays(10);
+        Flight flight = flightRepository.save(Flight.builder()
+                .flightNumber("BENCH" + n)
+                .airline(airline)
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(TOTAL_SEATS)
+                .availableSeats(TOTAL_SEATS)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build());
+        return flight.getId();
+    }
+
+    private BookingRequest bookingRequest(int booker) {
+        // Every booker asks for a distinct seat: 1A..1F, 2A..2F, ...
+        String seat = (booker / 6 + 1) + String.valueOf((char) ('A' + booker % 6));
+        PassengerRequest passenger = PassengerRequest.builder()
+                .passengerName("Booker")
+                .gender("MALE")
+                .age(30)
+                .mealPreference("NONE")
+                .seatNumber(seat)
+                .build();
+
+        return BookingRequest.builder()
+                .contactName("Booker " + booker)
+                .email("booker" + booker + "@example.com")
+                .passengers(List.of(passenger))
+                .build();
+    }
+}
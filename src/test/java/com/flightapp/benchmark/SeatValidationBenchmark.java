@@ -0,0 +1,82 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import com.flightapp.service.SeatOccupancyIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat validation for a 9-passenger booking on a flight with 500 occupied seats:
+ * List.contains over the booked seats (the old findBookedSeatsByFlightId path, not
+ * counting its database round trip) against SeatOccupancyIndex bit tests.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SeatValidationBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatValidationBenchmark {
+
+    private static final long FLIGHT_ID = 1L;
+    private static final int OCCUPIED_SEATS = 500;
+    private static final String[] LETTERS = {"A", "B", "C", "D", "E", "F"};
+
+    private List<String> bookedSeats;
+    private List<String> requestedSeats;
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @Setup
+    public void setUp() {
+        bookedSeats = new ArrayList<>(OCCUPIED_SEATS);
+        for (int i = 0; i < OCCUPIED_SEATS; i++) {
+            bookedSeats.add((i / 6 + 1) + LETTERS[i % 6]);
+        }
+
+        // Nine free seats behind the occupied block: every contains() scans the whole list
+        requestedSeats = new ArrayList<>();
+        for (int i = OCCUPIED_SEATS; i < OCCUPIED_SEATS + 9; i++) {
+            requestedSeats.add((i / 6 + 1) + LETTERS[i % 6]);
+        }
+
+        PassengerRepository passengerRepository = Mockito.mock(PassengerRepository.class);
+        Mockito.when(passengerRepository.findBookedSeatsByFlightId(FLIGHT_ID)).thenReturn(bookedSeats);
+        seatOccupancyIndex = new SeatOccupancyIndex(passengerRepository, Mockito.mock(SeatHoldRepository.class), 20000, 60);
+        seatOccupancyIndex.isBooked(FLIGHT_ID, "1A"); // load once, outside the measurement
+    }
+
+    @Benchmark
+    public void listContains(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(bookedSeats.contains(seat));
+        }
+    }
+
+    @Benchmark
+    public void seatBitmap(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(seatOccupancyIndex.isBooked(FLIGHT_ID, seat));
+        }
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SeatValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
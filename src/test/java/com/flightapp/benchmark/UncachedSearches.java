@@ -0,0 +1,25 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.service.FlightSearchCache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Search result cache that always misses, so search benchmarks measure the search itself
+ * rather than repeated cache hits.
+ */
+class UncachedSearches extends FlightSearchCache {
+
+    UncachedSearches() {
+        super(1, 1);
+    }
+
+    @Override
+    public List<FlightSearchResponse> get(String fromLocation, String toLocation, LocalDate travelDate,
+                                          int passengers, Supplier<List<FlightSearchResponse>> search) {
+        return search.get();
+    }
+}
@@ -0,0 +1,154 @@
+package com.flightapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.LocationRequest;
+import com.flightapp.dto.LockStripeStats;
+import com.flightapp.dto.LookupGuardStats;
+import com.flightapp.dto.SearchCacheStats;
+import com.flightapp.dto.TicketViewReplayStats;
+import com.flightapp.service.FlightLockService;
+import com.flightapp.service.FlightSearchCache;
+import com.flightapp.service.LocationDictionary;
+import com.flightapp.service.LocationSuggester;
+import com.flightapp.service.LookupGuard;
+import com.flightapp.service.TicketViewReplayer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightLockService flightLockService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FlightSearchCache flightSearchCache;
+
+    @MockBean
+    private LocationDictionary locationDictionary;
+
+    @MockBean
+    private LocationSuggester locationSuggester;
+
+    @MockBean
+    private LookupGuard lookupGuard;
+
+    @MockBean
+    private TicketViewReplayer ticketViewReplayer;
+
+    @Test
+    void testGetBookingLockStats_Success() throws Exception {
+        LockStripeStats stats = LockStripeStats.builder()
+                .stripe(7)
+                .acquisitions(120L)
+                .contendedAcquisitions(30L)
+                .avgWaitMicros(250L)
+                .avgHoldMicros(900L)
+                .build();
+        when(flightLockService.getStripeStats()).thenReturn(List.of(stats));
+        when(flightLockService.getStripeCount()).thenReturn(64);
+
+        mockMvc.perform(get("/api/v1.0/flight/admin/booking-locks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("1 of 64 lock stripes in use"))
+                .andExpect(jsonPath("$.data[0].stripe").value(7))
+                .andExpect(jsonPath("$.data[0].acquisitions").value(120));
+    }
+
+    @Test
+    void testGetSearchCacheStats_Success() throws Exception {
+        SearchCacheStats stats = SearchCacheStats.builder()
+                .entries(40)
+                .maxEntries(10000)
+                .hits(900L)
+                .misses(100L)
+                .hitRate(0.9)
+                .evictions(5L)
+                .invalidations(12L)
+                .build();
+        when(flightSearchCache.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/v1.0/flight/admin/search-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Search cache hit rate 90.0%"))
+                .andExpect(jsonPath("$.data.hits").value(900))
+                .andExpect(jsonPath("$.data.evictions").value(5))
+                .andExpect(jsonPath("$.data.invalidations").value(12));
+    }
+
+    @Test
+    void testGetLookupGuardStats_Success() throws Exception {
+        when(lookupGuard.getStats()).thenReturn(List.of(
+                LookupGuardStats.builder().keyType("pnr").keys(1000L).stages(1).memoryBytes(1200L)
+                        .falsePositiveRate(0.001).rejectedLookups(40L).build(),
+                LookupGuardStats.builder().keyType("flightId").keys(100L).stages(1).memoryBytes(200L)
+                        .falsePositiveRate(0.001).rejectedLookups(2L).build()));
+
+        mockMvc.perform(get("/api/v1.0/flight/admin/lookup-guard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Lookup guard rejected 42 unknown key(s)"))
+                .andExpect(jsonPath("$.data[0].memoryBytes").value(1200))
+                .andExpect(jsonPath("$.data[1].keyType").value("flightId"));
+    }
+
+    @Test
+    void testReplayTicketView_Success() throws Exception {
+        when(ticketViewReplayer.replayAll()).thenReturn(TicketViewReplayStats.builder()
+                .bookings(1200L).chunks(3).elapsedMillis(450L).build());
+
+        mockMvc.perform(post("/api/v1.0/flight/admin/ticket-view/replay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Rebuilt 1200 ticket(s) in 3 chunk(s)"))
+                .andExpect(jsonPath("$.data.elapsedMillis").value(450));
+    }
+
+    @Test
+    void testDefineLocation_Success() throws Exception {
+        when(locationDictionary.define("Delhi", "del"))
+                .thenReturn(new LocationDictionary.Entry(1, "DEL", "Delhi"));
+
+        mockMvc.perform(put("/api/v1.0/flight/admin/locations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LocationRequest("Delhi", "del"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Location saved successfully"))
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.locationCode").value("DEL"));
+
+        verify(locationSuggester).locationSaved(new LocationDictionary.Entry(1, "DEL", "Delhi"));
+    }
+
+    @Test
+    void testDefineLocation_InvalidCode() throws Exception {
+        mockMvc.perform(put("/api/v1.0/flight/admin/locations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LocationRequest("Delhi", "DL1"))))
+                .andExpect(status().isBadRequest());
+
+        verify(locationDictionary, never()).define(anyString(), anyString());
+    }
+}
@@ -2,25 +2,41 @@ package com.flightapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingRequestStatus;
 import com.flightapp.dto.BookingResponse;
 import com.flightapp.dto.PassengerRequest;
+import com.flightapp.dto.TicketLookupRequest;
+import com.flightapp.dto.TicketLookupResult;
+import com.flightapp.entity.FlightSeat;
+import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.exceptions.ResourceNotFoundException;
+import com.flightapp.service.AsyncBookingPipeline;
+import com.flightapp.service.BookingIdempotencyService;
 import com.flightapp.service.BookingService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +53,12 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingIdempotencyService bookingIdempotencyService;
+
+    @MockBean
+    private AsyncBookingPipeline asyncBookingPipeline;
+
     private BookingRequest bookingRequest;
     private BookingResponse bookingResponse;
 
@@ -104,6 +126,97 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.data.email").value("john@example.com"));
     }
 
+    @Test
+    void testBookFlight_WithIdempotencyKey_UsesIdempotentPath() throws Exception {
+        when(bookingIdempotencyService.bookFlight(eq("retry-123"), eq(1L), any(BookingRequest.class)))
+                .thenReturn(bookingResponse);
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .header("Idempotency-Key", "retry-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.pnr").value("251116ABCD"));
+
+        verify(bookingService, never()).bookFlight(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_IdempotencyKeyReusedForDifferentRequest_ReturnsConflict() throws Exception {
+        when(bookingIdempotencyService.bookFlight(eq("retry-123"), eq(1L), any(BookingRequest.class)))
+                .thenThrow(new DuplicateResourceException(
+                        "Idempotency-Key was already used for a different booking request"));
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .header("Idempotency-Key", "retry-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void testBookFlight_PreferRespondAsync_ReturnsAccepted() throws Exception {
+        when(asyncBookingPipeline.submit(eq(1L), any(BookingRequest.class)))
+                .thenReturn(BookingRequestStatus.builder()
+                        .requestId("req-1")
+                        .flightId(1L)
+                        .status(BookingRequestStatus.QUEUED)
+                        .build());
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1.0/flight/booking/status/req-1"))
+                .andExpect(jsonPath("$.data.requestId").value("req-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+
+        verify(bookingService, never()).bookFlight(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_AsyncWithIdempotencyKey_BooksIdempotently() throws Exception {
+        when(bookingIdempotencyService.bookFlight(eq("key-1"), eq(1L), any(BookingRequest.class)))
+                .thenReturn(bookingResponse);
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .header("Prefer", "respond-async")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.pnr").value("251116ABCD"));
+
+        verify(asyncBookingPipeline, never()).submit(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testGetBookingStatus_Confirmed() throws Exception {
+        when(asyncBookingPipeline.getStatus("req-1"))
+                .thenReturn(BookingRequestStatus.builder()
+                        .requestId("req-1")
+                        .flightId(1L)
+                        .status(BookingRequestStatus.CONFIRMED)
+                        .booking(bookingResponse)
+                        .build());
+
+        mockMvc.perform(get("/api/v1.0/flight/booking/status/req-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.data.booking.pnr").value("251116ABCD"));
+    }
+
+    @Test
+    void testGetBookingStatus_UnknownRequest_ReturnsNotFound() throws Exception {
+        when(asyncBookingPipeline.getStatus("missing"))
+                .thenThrow(new ResourceNotFoundException("Booking request", "id", "missing"));
+
+        mockMvc.perform(get("/api/v1.0/flight/booking/status/missing"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testBookFlight_InvalidEmail() throws Exception {
         bookingRequest.setEmail("invalid-email");
@@ -115,6 +228,53 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void testBookFlight_SeatRowWithLeadingZero_ReturnsBadRequest() throws Exception {
+        // "012A" would be a second spelling of seat 12A
+        bookingRequest.getPassengers().get(0).setSeatNumber("012A");
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).bookFlight(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_SeatTakenConcurrently_ReturnsConflict() throws Exception {
+        when(bookingService.bookFlight(anyLong(), any(BookingRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate seat",
+                        new ConstraintViolationException("duplicate key", new SQLException(),
+                                FlightSeat.UNIQUE_SEAT_CONSTRAINT)));
+
+        mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errorCode").value("SEAT_ALREADY_BOOKED"));
+    }
+
+    @Test
+    void testBookFlight_SeatTakenConcurrently_UpperCaseConstraintUnderTurkishLocale() throws Exception {
+        // MySQL can report the key in upper case; lower-casing "I" in Turkish gives a dotless i
+        when(bookingService.bookFlight(anyLong(), any(BookingRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate seat",
+                        new ConstraintViolationException("duplicate key", new SQLException(),
+                                FlightSeat.UNIQUE_SEAT_CONSTRAINT.toUpperCase(Locale.ROOT))));
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            mockMvc.perform(post("/api/v1.0/flight/booking/1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bookingRequest)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.errorCode").value("SEAT_ALREADY_BOOKED"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
     @Test
     void testGetTicketByPNR_Success() throws Exception {
     
@@ -126,6 +286,35 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.data.pnr").value("251116ABCD"));
     }
 
+    @Test
+    void testLookupTickets_Success() throws Exception {
+
+        when(bookingService.lookupTickets(List.of("251116ABCD", "251116ZZZZ"))).thenReturn(List.of(
+                TicketLookupResult.builder().pnr("251116ABCD").found(true).ticket(bookingResponse).build(),
+                TicketLookupResult.builder().pnr("251116ZZZZ").found(false).build()));
+
+        mockMvc.perform(post("/api/v1.0/flight/tickets/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        TicketLookupRequest.builder().pnrs(List.of(" 251116ABCD\n", "251116ZZZZ")).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 1 of 2 ticket(s)"))
+                .andExpect(jsonPath("$.data[0].ticket.email").value("john@example.com"))
+                .andExpect(jsonPath("$.data[1].found").value(false));
+    }
+
+    @Test
+    void testLookupTickets_TooManyPnrs_ReturnsBadRequest() throws Exception {
+
+        List<String> pnrs = Collections.nCopies(501, "251116ABCD");
+
+        mockMvc.perform(post("/api/v1.0/flight/tickets/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TicketLookupRequest.builder().pnrs(pnrs).build())))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).lookupTickets(anyList());
+    }
+
     @Test
     void testGetBookingHistory_Success() throws Exception {
      
@@ -139,6 +328,22 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.data[0].email").value("john@example.com"));
     }
 
+    @Test
+    void testGetBookingHistory_Paged() throws Exception {
+
+        BookingHistoryPage page = BookingHistoryPage.builder()
+                .bookings(List.of(bookingResponse))
+                .nextCursor("next")
+                .build();
+        when(bookingService.getBookingHistoryPage("john@example.com", 1, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1.0/flight/booking/history/john@example.com").param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bookings[0].pnr").value("251116ABCD"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+        verify(bookingService, never()).getBookingHistory(anyString());
+    }
+
     @Test
     void testCancelBooking_Success() throws Exception {
     
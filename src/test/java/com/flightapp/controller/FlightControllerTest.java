@@ -2,9 +2,16 @@ package com.flightapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FareCalendarDay;
+import com.flightapp.dto.FareCalendarRequest;
 import com.flightapp.dto.FlightInventoryRequest;
+import com.flightapp.dto.FlightSearchPage;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.RoundTripSearchResponse;
+import com.flightapp.exceptions.ServiceUnavailableException;
 import com.flightapp.service.FlightService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,15 +20,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +56,9 @@ class FlightControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FlightController flightController;
+
     @MockBean
     private FlightService flightService;
 
@@ -46,13 +70,16 @@ class FlightControllerTest {
     void setUp() {
         objectMapper.registerModule(new JavaTimeModule());
 
+        // Request validation rejects past dates, so keep the fixtures in the future
+        LocalDate travelDate = LocalDate.now().plusDays(30);
+
         inventoryRequest = FlightInventoryRequest.builder()
                 .flightNumber("6E2001")
                 .airlineCode("6E")
                 .fromLocation("Delhi")
                 .toLocation("Mumbai")
-                .departureTime(LocalDateTime.of(2025, 11, 20, 10, 0))
-                .arrivalTime(LocalDateTime.of(2025, 11, 20, 12, 30))
+                .departureTime(travelDate.atTime(10, 0))
+                .arrivalTime(travelDate.atTime(12, 30))
                 .totalSeats(180)
                 .basePrice(new BigDecimal("5000.00"))
                 .build();
@@ -60,7 +87,7 @@ class FlightControllerTest {
         searchRequest = FlightSearchRequest.builder()
                 .fromLocation("Delhi")
                 .toLocation("Mumbai")
-                .travelDate(LocalDate.of(2025, 11, 20))
+                .travelDate(travelDate)
                 .numberOfPassengers(2)
                 .build();
 
@@ -71,8 +98,8 @@ class FlightControllerTest {
                 .airlineCode("6E")
                 .fromLocation("Delhi")
                 .toLocation("Mumbai")
-                .departureTime(LocalDateTime.of(2025, 11, 20, 10, 0))
-                .arrivalTime(LocalDateTime.of(2025, 11, 20, 12, 30))
+                .departureTime(travelDate.atTime(10, 0))
+                .arrivalTime(travelDate.atTime(12, 30))
                 .availableSeats(180)
                 .basePrice(new BigDecimal("5000.00"))
                 .duration("2h 30m")
@@ -122,6 +149,274 @@ class FlightControllerTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    void testSearchFlights_FiltersAndSort_PassedToService() throws Exception {
+        // Arrange
+        when(flightService.searchFlights(any(FlightSearchRequest.class))).thenReturn(Arrays.asList(searchResponse));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1.0/flight/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromLocation\":\"Delhi\",\"toLocation\":\"Mumbai\","
+                        + "\"travelDate\":\"" + searchRequest.getTravelDate() + "\",\"numberOfPassengers\":2,"
+                        + "\"airlineCodes\":[\"6E\"],\"departureAfter\":\"06:00\",\"departureBefore\":\"12:30\","
+                        + "\"sortBy\":\"PRICE\",\"maxResults\":10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].flightNumber").value("6E2001"));
+
+        verify(flightService).searchFlights(argThat(request -> request.getSortBy() == FlightSearchRequest.SortBy.PRICE
+                && request.getMaxResults() == 10
+                && request.getDepartureBefore().equals(LocalTime.of(12, 30))
+                && request.getAirlineCodes().equals(List.of("6E"))));
+    }
+
+    @Test
+    void testSearchFlights_TooManyResults_ReturnsBadRequest() throws Exception {
+        searchRequest.setMaxResults(500);
+
+        mockMvc.perform(post("/api/v1.0/flight/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchFlights_PageSize_ReturnsPageWithCursor() throws Exception {
+        // Arrange
+        searchRequest.setPageSize(1);
+        FlightSearchPage page = FlightSearchPage.builder()
+                .flights(List.of(searchResponse))
+                .nextCursor("next")
+                .build();
+        when(flightService.searchFlightsPage(any(FlightSearchRequest.class))).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1.0/flight/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 1 flight(s) on this page"))
+                .andExpect(jsonPath("$.data.flights[0].flightNumber").value("6E2001"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+        verify(flightService, never()).searchFlights(any(FlightSearchRequest.class));
+    }
+
+    @Test
+    void testStreamFlights_WritesOneJsonLinePerFlight() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<FlightSearchResponse> sink = invocation.getArgument(1);
+            sink.accept(searchResponse);
+            sink.accept(searchResponse);
+            return null;
+        }).when(flightService).streamFlights(any(FlightSearchRequest.class), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1.0/flight/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("6E2001", objectMapper.readValue(lines[0], FlightSearchResponse.class).getFlightNumber());
+    }
+
+    @Test
+    void testStreamFlights_ClientDisconnects_StopsQuietly() throws Exception {
+        // Arrange
+        AtomicInteger offered = new AtomicInteger();
+        doAnswer(invocation -> {
+            Consumer<FlightSearchResponse> sink = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                offered.incrementAndGet();
+                sink.accept(searchResponse);
+            }
+            return null;
+        }).when(flightService).streamFlights(any(FlightSearchRequest.class), any());
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act
+        StreamingResponseBody body = flightController.streamFlights(searchRequest).getBody();
+
+        // Assert
+        assertDoesNotThrow(() -> body.writeTo(disconnected));
+        assertEquals(1, offered.get());
+    }
+
+    @Test
+    void testStreamFlights_ResponseNotUsable_NoErrorResponse() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            throw new AsyncRequestNotUsableException("Response not usable after response errors.");
+        }).when(flightService).streamFlights(any(FlightSearchRequest.class), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1.0/flight/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testStreamFlights_RoundTrip_ReturnsBadRequest() throws Exception {
+        searchRequest.setIsRoundTrip(true);
+        searchRequest.setReturnDate(searchRequest.getTravelDate().plusDays(5));
+
+        mockMvc.perform(post("/api/v1.0/flight/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isBadRequest());
+        verify(flightService, never()).streamFlights(any(FlightSearchRequest.class), any());
+    }
+
+    @Test
+    void testSearchFlights_RoundTrip() throws Exception {
+        // Arrange
+        searchRequest.setIsRoundTrip(true);
+        searchRequest.setReturnDate(searchRequest.getTravelDate().plusDays(5));
+        RoundTripSearchResponse roundTrip = RoundTripSearchResponse.builder()
+                .outboundFlights(List.of(searchResponse))
+                .returnFlights(List.of())
+                .build();
+        when(flightService.searchRoundTrip(any(FlightSearchRequest.class))).thenReturn(roundTrip);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1.0/flight/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 1 outbound and 0 return flight(s)"))
+                .andExpect(jsonPath("$.data.outboundFlights[0].flightNumber").value("6E2001"))
+                .andExpect(jsonPath("$.data.returnFlights").isEmpty());
+        verify(flightService, never()).searchFlights(any(FlightSearchRequest.class));
+    }
+
+    @Test
+    void testSearchConnections_Success() throws Exception {
+        // Arrange
+        ConnectionSearchRequest request = ConnectionSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Chennai")
+                .travelDate(searchRequest.getTravelDate())
+                .numberOfPassengers(1)
+                .maxStops(1)
+                .sortBy(ConnectionSearchRequest.SortBy.PRICE)
+                .build();
+        ItineraryResponse itinerary = ItineraryResponse.builder()
+                .legs(List.of(searchResponse))
+                .stops(0)
+                .duration("2h 30m")
+                .totalPrice(new BigDecimal("5000.00"))
+                .build();
+        when(flightService.searchConnections(any(ConnectionSearchRequest.class))).thenReturn(List.of(itinerary));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1.0/flight/search/connections")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 1 itinerary(ies) matching your search"))
+                .andExpect(jsonPath("$.data[0].stops").value(0))
+                .andExpect(jsonPath("$.data[0].legs[0].flightNumber").value("6E2001"));
+    }
+
+    @Test
+    void testSearchConnections_IndexStillLoading_ReturnsServiceUnavailable() throws Exception {
+        ConnectionSearchRequest request = ConnectionSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Chennai")
+                .travelDate(searchRequest.getTravelDate())
+                .numberOfPassengers(1)
+                .build();
+        when(flightService.searchConnections(any(ConnectionSearchRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Connection search is not available yet. Please try again shortly", 5));
+
+        mockMvc.perform(post("/api/v1.0/flight/search/connections")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void testSearchConnections_TooManyStops_ReturnsBadRequest() throws Exception {
+        ConnectionSearchRequest request = ConnectionSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Chennai")
+                .travelDate(searchRequest.getTravelDate())
+                .numberOfPassengers(1)
+                .maxStops(3)
+                .build();
+
+        mockMvc.perform(post("/api/v1.0/flight/search/connections")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetFareCalendar_Success() throws Exception {
+        // Arrange
+        LocalDate travelDate = searchRequest.getTravelDate();
+        FareCalendarRequest request = FareCalendarRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(travelDate)
+                .numberOfPassengers(1)
+                .flexDays(1)
+                .build();
+        TreeMap<LocalDate, FareCalendarDay> calendar = new TreeMap<>();
+        calendar.put(travelDate.minusDays(1), FareCalendarDay.builder().flightCount(0).maxAvailableSeats(0).build());
+        calendar.put(travelDate, FareCalendarDay.builder()
+                .minBasePrice(new BigDecimal("5000.00")).flightCount(3).maxAvailableSeats(180).build());
+        calendar.put(travelDate.plusDays(1), FareCalendarDay.builder().flightCount(0).maxAvailableSeats(0).build());
+        when(flightService.getFareCalendar(any(FareCalendarRequest.class))).thenReturn(calendar);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1.0/flight/search/calendar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found flights on 1 of 3 day(s)"))
+                .andExpect(jsonPath("$.data['" + travelDate + "'].minBasePrice").value(5000.00))
+                .andExpect(jsonPath("$.data['" + travelDate + "'].flightCount").value(3));
+    }
+
+    @Test
+    void testGetFareCalendar_TooManyFlexDays_ReturnsBadRequest() throws Exception {
+        FareCalendarRequest request = FareCalendarRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(searchRequest.getTravelDate())
+                .numberOfPassengers(1)
+                .flexDays(16)
+                .build();
+
+        mockMvc.perform(post("/api/v1.0/flight/search/calendar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetFlightById_Success() throws Exception {
         // Arrange
@@ -0,0 +1,50 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.service.LocationSuggester;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LocationController.class)
+class LocationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LocationSuggester locationSuggester;
+
+    @Test
+    void testSuggestLocations_Success() throws Exception {
+        when(locationSuggester.suggest("del", 5)).thenReturn(List.of(
+                new LocationResponse(1, "Delhi", "DEL"),
+                new LocationResponse(2, "New Delhi", null)));
+
+        mockMvc.perform(get("/api/v1.0/flight/locations/suggest")
+                        .param("q", "del")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Found 2 location(s)"))
+                .andExpect(jsonPath("$.data[0].locationCode").value("DEL"))
+                .andExpect(jsonPath("$.data[1].locationName").value("New Delhi"));
+    }
+
+    @Test
+    void testSuggestLocations_DefaultLimit() throws Exception {
+        when(locationSuggester.suggest("mum", 10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1.0/flight/locations/suggest").param("q", "mum"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 0 location(s)"));
+    }
+}
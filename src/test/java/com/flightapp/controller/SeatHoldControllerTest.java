@@ -0,0 +1,75 @@
+package com.flightapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.SeatHoldRequest;
+import com.flightapp.dto.SeatHoldResponse;
+import com.flightapp.service.SeatHoldService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SeatHoldController.class)
+class SeatHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @Test
+    void testHoldSeats_Success() throws Exception {
+        SeatHoldResponse response = SeatHoldResponse.builder()
+                .holdId(7L)
+                .flightId(1L)
+                .seatNumbers(List.of("12A", "12B"))
+                .holdStatus("HELD")
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+        when(seatHoldService.holdSeats(eq(1L), any(SeatHoldRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1.0/flight/hold/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        SeatHoldRequest.builder().seatNumbers(List.of("12A", "12B")).build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.holdId").value(7))
+                .andExpect(jsonPath("$.data.seatNumbers[1]").value("12B"));
+    }
+
+    @Test
+    void testHoldSeats_InvalidSeat() throws Exception {
+        mockMvc.perform(post("/api/v1.0/flight/hold/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        SeatHoldRequest.builder().seatNumbers(List.of("12a")).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void testReleaseHold_Success() throws Exception {
+        doNothing().when(seatHoldService).releaseHold(7L);
+
+        mockMvc.perform(delete("/api/v1.0/flight/hold/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+}
@@ -0,0 +1,103 @@
+package com.flightapp.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void testNextId_IncreasesWithinSameMillisecond() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, () -> NOW);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertEquals(first + 1, second);
+        assertEquals(3, (first >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void testNextId_BorrowsNextMillisecondWhenSequenceExhausted() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, () -> NOW);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 1000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNextId_StaysIncreasingWhenClockStepsBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, clock::get);
+
+        long before = generator.nextId();
+        clock.addAndGet(-5_000);
+
+        assertTrue(generator.nextId() > before);
+    }
+
+    @Test
+    void testNextId_DifferentNodesNeverCollide() {
+        TimeOrderedIdGenerator node0 = new TimeOrderedIdGenerator(0, () -> NOW);
+        TimeOrderedIdGenerator node1 = new TimeOrderedIdGenerator(1, () -> NOW);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(ids.add(node0.nextId()));
+            assertTrue(ids.add(node1.nextId()));
+        }
+    }
+
+    @Test
+    void testNextId_FitsInJavaScriptSafeInteger() {
+        long farFuture = TimeOrderedIdGenerator.EPOCH_MILLIS + TimeUnit.DAYS.toMillis(365L * 60);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID, () -> farFuture);
+
+        assertTrue(generator.nextId() < (1L << 53));
+    }
+
+    @Test
+    void testNextId_UniqueAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void testIssuedAtEpochMilli_RecoversGenerationTime() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, () -> NOW);
+
+        assertEquals(NOW, TimeOrderedIdGenerator.issuedAtEpochMilli(generator.nextId()));
+        assertTrue(TimeOrderedIdGenerator.issuedAtEpochMilli(42L) < TimeOrderedIdGenerator.EPOCH_MILLIS + 1);
+    }
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(16, System::currentTimeMillis));
+    }
+}
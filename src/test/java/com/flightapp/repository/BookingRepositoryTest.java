@@ -0,0 +1,250 @@
+package com.flightapp.repository;
+
+import com.flightapp.dto.BookingHistoryPage;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.TicketLookupResult;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Passenger;
+import com.flightapp.service.BookingServiceImpl;
+import com.flightapp.service.FlightLockService;
+import com.flightapp.service.FlightService;
+import com.flightapp.service.LookupGuard;
+import com.flightapp.service.PNRGeneratorService;
+import com.flightapp.service.PricingEngine;
+import com.flightapp.service.SeatHoldService;
+import com.flightapp.service.SeatOccupancyIndex;
+import com.flightapp.service.TicketCache;
+import com.flightapp.service.TicketViewProjector;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, TicketCache.class, TicketViewProjector.class})
+class BookingRepositoryTest {
+
+    private static final String OCCASIONAL = "occasional@example.com";
+    private static final String FREQUENT = "frequent@example.com";
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private TicketViewProjector ticketViewProjector;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private FlightService flightService;
+
+    @MockBean
+    private PNRGeneratorService pnrGeneratorService;
+
+    @MockBean
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @MockBean
+    private FlightLockService flightLockService;
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @MockBean
+    private PricingEngine pricingEngine;
+
+    @MockBean
+    private LookupGuard lookupGuard;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Every booking on its own flight of one of several airlines, with two passengers
+        List<Airline> airlines = new ArrayList<>();
+        for (int a = 0; a < 5; a++) {
+            airlines.add(entityManager.persist(Airline.builder()
+                    .airlineName("Airline " + a)
+                    .airlineCode("A" + a)
+                    .isActive(true)
+                    .build()));
+        }
+        for (int i = 0; i < 60; i++) {
+            Flight flight = entityManager.persist(flight(airlines.get(i % airlines.size()), i));
+            ticketViewProjector.bookingCreated(entityManager.persist(booking(i < 3 ? OCCASIONAL : FREQUENT, flight, i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetBookingHistory_OneStatementWhateverTheHistory() {
+        List<BookingResponse> occasional = bookingService.getBookingHistory(OCCASIONAL);
+        long occasionalStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        List<BookingResponse> frequent = bookingService.getBookingHistory(FREQUENT);
+        long frequentStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, occasional.size());
+        assertEquals(57, frequent.size());
+        assertTrue(frequent.stream().allMatch(booking -> booking.getPassengers().size() == 2));
+        assertTrue(frequent.stream().allMatch(booking -> booking.getFlight().getAirlineName() != null));
+        // One read of ticket_view
+        assertEquals(1, occasionalStatements);
+        assertEquals(1, frequentStatements);
+    }
+
+    @Test
+    void testGetBookingHistoryPage_WalksHistoryNewestFirst() {
+        List<BookingResponse> all = bookingService.getBookingHistory(FREQUENT);
+        entityManager.clear();
+
+        List<BookingResponse> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            BookingHistoryPage page = bookingService.getBookingHistoryPage(FREQUENT, 25, cursor);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            paged.addAll(page.getBookings());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(all.stream().map(BookingResponse::getPnr).toList(),
+                paged.stream().map(BookingResponse::getPnr).toList());
+        for (int i = 1; i < paged.size(); i++) {
+            assertFalse(paged.get(i).getBookingDate().isAfter(paged.get(i - 1).getBookingDate()));
+        }
+    }
+
+    @Test
+    void testCancelIfConfirmed_OnlyOneCancelWins() {
+        Long bookingId = bookingRepository.findByPnr("PNR0000007").orElseThrow().getId();
+
+        assertEquals(1, bookingRepository.cancelIfConfirmed(bookingId));
+        assertEquals(0, bookingRepository.cancelIfConfirmed(bookingId));
+
+        entityManager.clear();
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findById(bookingId).orElseThrow().getBookingStatus());
+    }
+
+    @Test
+    void testGetBookingByPNR_OneStatementThenCached() {
+        when(lookupGuard.mightExistPnr("PNR0000007")).thenReturn(true);
+
+        BookingResponse ticket = bookingService.getBookingByPNR("PNR0000007");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, ticket.getPassengers().size());
+        assertEquals("Airline 2", ticket.getFlight().getAirlineName());
+
+        statistics.clear();
+        assertSame(ticket, bookingService.getBookingByPNR("PNR0000007"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testLookupTickets_OneStatementWhateverTheCount() {
+        when(lookupGuard.mightExistPnr(anyString())).thenReturn(true);
+        List<String> few = List.of("PNR0000001", "PNR0000002", "MISSING");
+        List<String> many = new ArrayList<>();
+        for (int i = 10; i < 60; i++) {
+            many.add(String.format("PNR%07d", i));
+        }
+
+        List<TicketLookupResult> fewResults = bookingService.lookupTickets(few);
+        long fewStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        List<TicketLookupResult> manyResults = bookingService.lookupTickets(many);
+        long manyStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(List.of(true, true, false), fewResults.stream().map(TicketLookupResult::isFound).toList());
+        assertTrue(manyResults.stream().allMatch(result -> result.getTicket().getPassengers().size() == 2));
+        assertTrue(manyResults.stream().allMatch(result -> result.getTicket().getFlight().getAirlineName() != null));
+        // One read of ticket_view
+        assertEquals(1, fewStatements);
+        assertEquals(1, manyStatements);
+
+        // Now all cached
+        statistics.clear();
+        bookingService.lookupTickets(many);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    // Helper methods
+
+    private static Flight flight(Airline airline, int i) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(5 + i);
+        return Flight.builder()
+                .flightNumber(airline.getAirlineCode() + (100 + i))
+                .airline(airline)
+                .fromLocation("Delhi")
+                .fromLocationId(1)
+                .toLocation("Mumbai")
+                .toLocationId(2)
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(180)
+                .availableSeats(178)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+
+    private static Booking booking(String email, Flight flight, int i) {
+        Booking booking = Booking.builder()
+                .pnr(String.format("PNR%07d", i))
+                .flight(flight)
+                .email(email)
+                .contactName("Traveller")
+                .numberOfSeats(2)
+                .totalAmount(new BigDecimal("10000.00"))
+                .bookingStatus(Booking.BookingStatus.CONFIRMED)
+                .build();
+        for (String seat : List.of("1A", "1B")) {
+            booking.addPassenger(Passenger.builder()
+                    .passengerName("Passenger " + seat)
+                    .gender(Passenger.Gender.MALE)
+                    .age(30)
+                    .seatNumber(seat)
+                    .mealPreference(Passenger.MealPreference.VEG)
+                    .build());
+        }
+        return booking;
+    }
+}
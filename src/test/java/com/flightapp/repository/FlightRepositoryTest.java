@@ -0,0 +1,123 @@
+package com.flightapp.repository;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FlightRepositoryTest {
+
+    private static final int DELHI = 1;
+    private static final int MUMBAI = 2;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private LocalDate travelDate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        travelDate = LocalDate.now().plusDays(10);
+
+        // Flights of several airlines, so loading airlines separately would cost one statement each
+        for (int a = 0; a < 3; a++) {
+            Airline airline = entityManager.persist(Airline.builder()
+                    .airlineName("Airline " + a)
+                    .airlineCode("A" + a)
+                    .isActive(true)
+                    .build());
+            for (int f = 0; f < 4; f++) {
+                LocalDateTime departure = travelDate.atTime(6 + f * 4, a * 10);
+                entityManager.persist(Flight.builder()
+                        .flightNumber("A" + a + "00" + f)
+                        .airline(airline)
+                        .fromLocation("Delhi")
+                        .fromLocationId(DELHI)
+                        .toLocation("Mumbai")
+                        .toLocationId(MUMBAI)
+                        .departureTime(departure)
+                        .arrivalTime(departure.plusHours(2))
+                        .totalSeats(180)
+                        .availableSeats(100)
+                        .basePrice(new BigDecimal("5000.00"))
+                        .flightStatus(Flight.FlightStatus.SCHEDULED)
+                        .isActive(true)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void testSearchFlights_OneStatementAndNoEntities() {
+        List<FlightSnapshot> flights = flightRepository.searchFlights(DELHI, MUMBAI,
+                travelDate.atStartOfDay(), travelDate.plusDays(1).atStartOfDay(), 2);
+
+        assertEquals(12, flights.size());
+        assertEquals("Airline 0", flights.get(0).airlineName());
+        assertTrue(flights.stream().allMatch(FlightSnapshot::bookable));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testSearchFlightsAfter_OneStatementPerPage() {
+        List<FlightSnapshot> first = flightRepository.searchFlightsAfter(DELHI, MUMBAI,
+                travelDate.atStartOfDay(), travelDate.plusDays(1).atStartOfDay(), 2,
+                travelDate.atStartOfDay(), Long.MIN_VALUE, PageRequest.ofSize(5));
+        FlightSnapshot last = first.get(first.size() - 1);
+        List<FlightSnapshot> second = flightRepository.searchFlightsAfter(DELHI, MUMBAI,
+                travelDate.atStartOfDay(), travelDate.plusDays(1).atStartOfDay(), 2,
+                last.departureTime(), last.id(), PageRequest.ofSize(20));
+
+        assertEquals(5, first.size());
+        assertEquals(7, second.size());
+        assertTrue(second.get(0).departureTime().isAfter(last.departureTime()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testTouchByAirlineId_OnlyThatAirlinesFlightsShowAsChanged() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(30);
+        entityManager.getEntityManager().createQuery("UPDATE Flight f SET f.updatedAt = :longAgo")
+                .setParameter("longAgo", longAgo)
+                .executeUpdate();
+        Long airlineId = flightRepository.findAll().get(0).getAirline().getId();
+        entityManager.clear();
+
+        assertEquals(4, flightRepository.touchByAirlineId(airlineId));
+        List<Flight> changed = flightRepository.findChangedSince(longAgo.plusDays(1), travelDate.atStartOfDay());
+
+        assertEquals(4, changed.size());
+        assertTrue(changed.stream().allMatch(flight -> flight.getAirline().getId().equals(airlineId)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightSeat;
+import com.flightapp.entity.Passenger;
+import com.flightapp.entity.SeatHold;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FlightSeatRepositoryTest {
+
+    @Autowired
+    private FlightSeatRepository flightSeatRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Flight flight;
+    private SeatHold hold;
+
+    @BeforeEach
+    void setUp() {
+        Airline airline = entityManager.persist(Airline.builder()
+                .airlineName("IndiGo")
+                .airlineCode("6E")
+                .isActive(true)
+                .build());
+        LocalDateTime departure = LocalDateTime.now().plusDays(10);
+        flight = entityManager.persist(Flight.builder()
+                .flightNumber("6E2001")
+                .airline(airline)
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(180)
+                .availableSeats(179)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build());
+
+        hold = SeatHold.builder()
+                .flight(flight)
+                .seatNumbers("12A")
+                .seatCount(1)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+        hold.addSeatReservation(FlightSeat.builder().flight(flight).seatNumber("12A").build());
+        entityManager.persist(hold);
+        entityManager.flush();
+    }
+
+    @Test
+    void testHeldSeat_CannotBeBooked() {
+        entityManager.persist(booking("12A"));
+
+        assertThrows(PersistenceException.class, () -> entityManager.flush());
+    }
+
+    @Test
+    void testDeleteByHoldId_FreesSeatForBooking() {
+        assertEquals(1, flightSeatRepository.deleteByHoldId(hold.getId()));
+
+        entityManager.persist(booking("12A"));
+        entityManager.flush();
+
+        assertEquals(1, flightSeatRepository.count());
+    }
+
+    @Test
+    void testBackfillConfirmedSeats_OnceForEverySeatOfConfirmedBookings() {
+        // Bookings made before flight_seats existed: passengers only
+        entityManager.persist(legacyBooking("251116AAAA", Booking.BookingStatus.CONFIRMED, "14A", "14B"));
+        entityManager.persist(legacyBooking("251116BBBB", Booking.BookingStatus.CANCELLED, "15A"));
+        // Sold twice back then; the oldest passenger keeps the seat
+        Booking first = entityManager.persist(legacyBooking("251116CCCC", Booking.BookingStatus.CONFIRMED, "16A"));
+        entityManager.persist(legacyBooking("251116DDDD", Booking.BookingStatus.CONFIRMED, "16A"));
+        entityManager.flush();
+
+        assertEquals(3, flightSeatRepository.backfillConfirmedSeats());
+        assertEquals(0, flightSeatRepository.backfillConfirmedSeats());
+        entityManager.clear();
+
+        // The hold's 12A plus 14A, 14B and 16A
+        assertEquals(4, flightSeatRepository.count());
+        FlightSeat seat16A = flightSeatRepository.findAll().stream()
+                .filter(seat -> seat.getSeatNumber().equals("16A"))
+                .findFirst().orElseThrow();
+        assertEquals(first.getId(), seat16A.getBooking().getId());
+    }
+
+    // Helper methods
+
+    private Booking legacyBooking(String pnr, Booking.BookingStatus status, String... seatNumbers) {
+        Booking booking = Booking.builder()
+                .pnr(pnr)
+                .flight(flight)
+                .email("john@example.com")
+                .contactName("John Doe")
+                .numberOfSeats(seatNumbers.length)
+                .totalAmount(new BigDecimal("5000.00"))
+                .bookingStatus(status)
+                .build();
+        for (String seatNumber : seatNumbers) {
+            booking.addPassenger(Passenger.builder()
+                    .passengerName("John Doe")
+                    .gender(Passenger.Gender.MALE)
+                    .age(30)
+                    .seatNumber(seatNumber)
+                    .build());
+        }
+        return booking;
+    }
+
+    private Booking booking(String seatNumber) {
+        Booking booking = Booking.builder()
+                .pnr("251116ABCD")
+                .flight(flight)
+                .email("john@example.com")
+                .contactName("John Doe")
+                .numberOfSeats(1)
+                .totalAmount(new BigDecimal("5000.00"))
+                .bookingStatus(Booking.BookingStatus.CONFIRMED)
+                .build();
+        booking.addSeatReservation(FlightSeat.builder().flight(flight).seatNumber(seatNumber).build());
+        return booking;
+    }
+}
@@ -0,0 +1,179 @@
+package com.flightapp.repository;
+
+import com.flightapp.dto.TicketViewReplayStats;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Booking;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Passenger;
+import com.flightapp.entity.TicketView;
+import com.flightapp.service.TicketCache;
+import com.flightapp.service.TicketViewProjector;
+import com.flightapp.service.TicketViewReplayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks are rebuilt on other threads, so the data is committed rather than rolled back
+@DataJpaTest(properties = {
+        "flightapp.ticket-view.replay.chunk-size=7",
+        "flightapp.ticket-view.replay.threads=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TicketViewReplayer.class, TicketViewProjector.class, TicketCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketViewReplayerTest {
+
+    private static final int BOOKINGS = 30;
+
+    @Autowired
+    private TicketViewReplayer ticketViewReplayer;
+
+    @Autowired
+    private TicketViewProjector ticketViewProjector;
+
+    @Autowired
+    private TicketViewRepository ticketViewRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Airline airline;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        airline = airlineRepository.save(Airline.builder()
+                .airlineName("IndiGo")
+                .airlineCode("6E")
+                .isActive(true)
+                .build());
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            flights.add(flightRepository.save(flight(airline, i)));
+        }
+        bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingRepository.save(booking(flights.get(i % flights.size()), i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketViewRepository.deleteAll();
+        bookingRepository.deleteAll();
+        flightRepository.deleteAll();
+        airlineRepository.deleteAll();
+    }
+
+    @Test
+    void testReplayMissing_BuildsRowsOfBookingsWithoutOne() {
+        ticketViewReplayer.replayMissing();
+
+        assertEquals(BOOKINGS, ticketViewRepository.count());
+        TicketView ticket = ticketViewRepository.findByPnr("PNR0000005").orElseThrow();
+        assertEquals(bookings.get(5).getId(), ticket.getBookingId());
+        assertEquals(Booking.BookingStatus.CONFIRMED, ticket.getBookingStatus());
+        assertTrue(ticket.getFlightJson().contains("\"airlineName\":\"IndiGo\""));
+        assertTrue(ticket.getPassengersJson().contains("\"seatNumber\":\"1B\""));
+    }
+
+    @Test
+    void testReplayAll_RewritesEveryRowInChunks() {
+        ticketViewReplayer.replayMissing();
+        transactionTemplate.executeWithoutResult(status -> {
+            // A lost row and a row that went stale
+            ticketViewRepository.deleteByBookingIdIn(List.of(bookings.get(0).getId()));
+            ticketViewRepository.updateBookingStatus(bookings.get(1).getId(), Booking.BookingStatus.CANCELLED);
+        });
+
+        TicketViewReplayStats stats = ticketViewReplayer.replayAll();
+
+        assertEquals(BOOKINGS, stats.getBookings());
+        // 30 bookings, 7 per chunk
+        assertEquals(5, stats.getChunks());
+        assertEquals(BOOKINGS, ticketViewRepository.count());
+        assertTrue(ticketViewRepository.findById(bookings.get(0).getId()).isPresent());
+        assertEquals(Booking.BookingStatus.CONFIRMED,
+                ticketViewRepository.findById(bookings.get(1).getId()).orElseThrow().getBookingStatus());
+    }
+
+    @Test
+    void testAirlineChanged_RewritesFlightOfEveryTicket() {
+        ticketViewReplayer.replayMissing();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Airline renamed = airlineRepository.findById(airline.getId()).orElseThrow();
+            renamed.setAirlineName("IndiGo Airlines");
+            ticketViewProjector.airlineChanged(renamed.getId(), flightRepository.findAllByAirlineId(renamed.getId()));
+        });
+
+        assertTrue(ticketViewRepository.findAll().stream()
+                .allMatch(ticket -> ticket.getFlightJson().contains("\"airlineName\":\"IndiGo Airlines\"")));
+    }
+
+    // Helper methods
+
+    private static Flight flight(Airline airline, int i) {
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 9, 30).plusDays(i);
+        return Flight.builder()
+                .flightNumber(airline.getAirlineCode() + (100 + i))
+                .airline(airline)
+                .fromLocation("Delhi")
+                .fromLocationId(1)
+                .toLocation("Mumbai")
+                .toLocationId(2)
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(180)
+                .availableSeats(178)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+
+    private static Booking booking(Flight flight, int i) {
+        Booking booking = Booking.builder()
+                .pnr(String.format("PNR%07d", i))
+                .flight(flight)
+                .email("traveller" + i % 3 + "@example.com")
+                .contactName("Traveller")
+                .numberOfSeats(2)
+                .totalAmount(new BigDecimal("10000.00"))
+                .bookingStatus(Booking.BookingStatus.CONFIRMED)
+                .build();
+        for (String seat : List.of("1A", "1B")) {
+            booking.addPassenger(Passenger.builder()
+                    .passengerName("Passenger " + seat)
+                    .gender(Passenger.Gender.MALE)
+                    .age(30)
+                    .seatNumber(seat)
+                    .mealPreference(Passenger.MealPreference.VEG)
+                    .build());
+        }
+        return booking;
+    }
+}
@@ -3,9 +3,11 @@ package com.flightapp.service;
 import com.flightapp.dto.AirlineRequest;
 import com.flightapp.dto.AirlineResponse;
 import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
 import com.flightapp.exceptions.DuplicateResourceException;
 import com.flightapp.exceptions.ResourceNotFoundException;
 import com.flightapp.repository.AirlineRepository;
+import com.flightapp.repository.FlightRepository;
 import com.flightapp.service.AirlineServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +31,21 @@ class AirlineServiceTest {
     @Mock
     private AirlineRepository airlineRepository;
 
+    @Mock
+    private TicketCache ticketCache;
+
+    @Mock
+    private TicketViewProjector ticketViewProjector;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
     @InjectMocks
     private AirlineServiceImpl airlineService;
 
@@ -150,6 +168,47 @@ class AirlineServiceTest {
         // Assert
         assertNotNull(response);
         verify(airlineRepository, times(1)).save(any(Airline.class));
+        verify(ticketViewProjector, times(1)).airlineChanged(1L, List.of());
+        verify(ticketCache, times(1)).flightDetailsChanged();
+    }
+
+    @Test
+    void testUpdateAirline_Renamed_RefreshesSearchOfUpcomingFlights() {
+        // Arrange
+        Flight departed = flight(10L, LocalDateTime.now().minusDays(2));
+        Flight upcoming = flight(11L, LocalDateTime.now().plusDays(3));
+        when(airlineRepository.findById(1L)).thenReturn(Optional.of(airline));
+        when(airlineRepository.save(any(Airline.class))).thenReturn(airline);
+        when(flightRepository.findAllByAirlineId(1L)).thenReturn(List.of(departed, upcoming));
+
+        AirlineRequest updateRequest = AirlineRequest.builder()
+                .airlineName("IndiGo Airlines")
+                .airlineCode("6E")
+                .contactNumber("1234567890")
+                .build();
+
+        // Act
+        airlineService.updateAirline(1L, updateRequest);
+
+        // Assert
+        verify(flightRepository).touchByAirlineId(1L);
+        verify(ticketViewProjector).airlineChanged(1L, List.of(departed, upcoming));
+        verify(flightSearchIndex).flightSaved(upcoming);
+        verify(flightSearchCache).invalidate("Delhi", "Mumbai", upcoming.getDepartureTime());
+        verifyNoMoreInteractions(flightSearchIndex, flightSearchCache);
+    }
+
+    @Test
+    void testUpdateAirline_SameName_LeavesSearchAlone() {
+        // Arrange
+        when(airlineRepository.findById(1L)).thenReturn(Optional.of(airline));
+        when(airlineRepository.save(any(Airline.class))).thenReturn(airline);
+
+        // Act
+        airlineService.updateAirline(1L, airlineRequest);
+
+        // Assert
+        verifyNoInteractions(flightRepository, ticketViewProjector, ticketCache, flightSearchIndex, flightSearchCache);
     }
 
     @Test
@@ -164,4 +223,17 @@ class AirlineServiceTest {
         // Assert
         verify(airlineRepository, times(1)).save(any(Airline.class));
     }
-}
\ No newline at end of file
+
+    // Helper methods
+
+    private Flight flight(Long id, LocalDateTime departureTime) {
+        return Flight.builder()
+                .id(id)
+                .airline(airline)
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(2))
+                .build();
+    }
+}
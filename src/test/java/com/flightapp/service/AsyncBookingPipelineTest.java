@@ -0,0 +1,226 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingRequestStatus;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import jakarta.persistence.EntityManager;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsyncBookingPipelineTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final FlightLockService flightLockService = new FlightLockService(64, 1000);
+
+    private AsyncBookingPipeline pipeline;
+
+    // Transactions the pipeline opened, in order; a rolled back one is marked false
+    private final List<Boolean> committed = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            try {
+                Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+                committed.add(true);
+                return result;
+            } catch (RuntimeException ex) {
+                committed.add(false);
+                throw ex;
+            }
+        });
+        pipeline = newPipeline(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.destroy();
+    }
+
+    @Test
+    void testSubmit_BookingIsConfirmed() throws Exception {
+        when(bookingService.bookFlight(eq(1L), any(BookingRequest.class))).thenReturn(response("A00000000B"));
+
+        BookingRequestStatus queued = pipeline.submit(1L, request("1A"));
+        BookingRequestStatus done = awaitCompletion(queued.getRequestId());
+
+        assertEquals(BookingRequestStatus.QUEUED, queued.getStatus());
+        assertEquals(BookingRequestStatus.CONFIRMED, done.getStatus());
+        assertEquals("A00000000B", done.getBooking().getPnr());
+        assertNotNull(done.getCompletedAt());
+    }
+
+    @Test
+    void testSubmit_SameFlightAppliedInOrderAsOneBatch() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        when(bookingService.bookFlight(eq(1L), any(BookingRequest.class))).thenAnswer(invocation -> {
+            String seat = invocation.<BookingRequest>getArgument(1).getPassengers().get(0).getSeatNumber();
+            applied.add(seat);
+            if (seat.equals("1A")) {
+                firstStarted.countDown();
+                assertTrue(releaseFirst.await(5, TimeUnit.SECONDS));
+            }
+            return response("PNR" + seat);
+        });
+
+        // 1A occupies the writer, so the next five queue up and drain as one micro-batch
+        String first = pipeline.submit(1L, request("1A")).getRequestId();
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        List<String> rest = new ArrayList<>();
+        for (String seat : List.of("1B", "1C", "1D", "1E", "1F")) {
+            rest.add(pipeline.submit(1L, request(seat)).getRequestId());
+        }
+        releaseFirst.countDown();
+
+        awaitCompletion(first);
+        for (String requestId : rest) {
+            assertEquals(BookingRequestStatus.CONFIRMED, awaitCompletion(requestId).getStatus());
+        }
+        assertEquals(List.of("1A", "1B", "1C", "1D", "1E", "1F"), applied);
+        assertEquals(List.of(true, true), committed);
+        // Flushed and cleared between the five bookings of the batch, so none sees a stale flight
+        InOrder inOrder = inOrder(entityManager);
+        for (int i = 0; i < 4; i++) {
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+        }
+        verifyNoMoreInteractions(entityManager);
+    }
+
+    @Test
+    void testSubmit_FailedBookingInBatch_OnlyFailsItsOwnRequest() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(bookingService.bookFlight(eq(1L), any(BookingRequest.class))).thenAnswer(invocation -> {
+            String seat = invocation.<BookingRequest>getArgument(1).getPassengers().get(0).getSeatNumber();
+            if (seat.equals("1A") && firstStarted.getCount() > 0) {
+                firstStarted.countDown();
+                assertTrue(releaseFirst.await(5, TimeUnit.SECONDS));
+            }
+            if (seat.equals("1C")) {
+                throw new BusinessException("Seat 1C is already booked");
+            }
+            return response("PNR" + seat);
+        });
+
+        String first = pipeline.submit(1L, request("1A")).getRequestId();
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        String ok = pipeline.submit(1L, request("1B")).getRequestId();
+        String taken = pipeline.submit(1L, request("1C")).getRequestId();
+        releaseFirst.countDown();
+
+        awaitCompletion(first);
+        assertEquals(BookingRequestStatus.CONFIRMED, awaitCompletion(ok).getStatus());
+        BookingRequestStatus failed = awaitCompletion(taken);
+        assertEquals(BookingRequestStatus.FAILED, failed.getStatus());
+        assertEquals("Seat 1C is already booked", failed.getMessage());
+        // first alone, then the rolled back batch [1B, 1C], then 1B and 1C on their own
+        assertEquals(List.of(true, false, true, false), committed);
+    }
+
+    @Test
+    void testSubmit_QueueFull_ThrowsBusinessException() throws Exception {
+        pipeline.destroy();
+        pipeline = newPipeline(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.bookFlight(eq(1L), any(BookingRequest.class))).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return response("A00000000B");
+        });
+
+        pipeline.submit(1L, request("1A"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pipeline.submit(1L, request("1B"));
+
+        assertThrows(BusinessException.class, () -> pipeline.submit(1L, request("1C")));
+        release.countDown();
+    }
+
+    @Test
+    void testGetStatus_UnknownRequest_ThrowsResourceNotFoundException() {
+        assertThrows(ResourceNotFoundException.class, () -> pipeline.getStatus("missing"));
+    }
+
+    @Test
+    void testConstructor_PartitionsMustDivideLockStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncBookingPipeline(
+                bookingService, flightLockService, transactionTemplate, entityManager, 3, 10, 10, 60, 1000));
+    }
+
+    // Helper methods
+
+    private AsyncBookingPipeline newPipeline(int queueCapacity) {
+        return new AsyncBookingPipeline(bookingService, flightLockService, transactionTemplate,
+                entityManager, 4, queueCapacity, 50, 60, 1000);
+    }
+
+    private BookingRequestStatus awaitCompletion(String requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            BookingRequestStatus status = pipeline.getStatus(requestId);
+            if (status.getCompletedAt() != null) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        fail("Booking request " + requestId + " did not complete");
+        return null;
+    }
+
+    private BookingRequest request(String seat) {
+        return BookingRequest.builder()
+                .contactName("John Doe")
+                .email("john@example.com")
+                .passengers(List.of(PassengerRequest.builder()
+                        .passengerName("John Doe")
+                        .gender("MALE")
+                        .age(30)
+                        .seatNumber(seat)
+                        .mealPreference("VEG")
+                        .build()))
+                .build();
+    }
+
+    private BookingResponse response(String pnr) {
+        return BookingResponse.builder()
+                .pnr(pnr)
+                .bookingStatus("CONFIRMED")
+                .build();
+    }
+}
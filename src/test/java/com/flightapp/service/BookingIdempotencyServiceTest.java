@@ -0,0 +1,188 @@
+package com.flightapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.PassengerRequest;
+import com.flightapp.entity.IdempotencyRecord;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingIdempotencyServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final FlightLockService flightLockService = new FlightLockService(64, 1000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BookingIdempotencyService bookingIdempotencyService;
+
+    private BookingRequest bookingRequest;
+    private BookingResponse bookingResponse;
+
+    @BeforeEach
+    void setUp() {
+        bookingIdempotencyService = new BookingIdempotencyService(bookingService, flightLockService, idempotencyRecordRepository,
+                transactionTemplate, objectMapper, 24, 100, 5000);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(idempotencyRecordRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookingRequest = BookingRequest.builder()
+                .contactName("John Doe")
+                .email("john@example.com")
+                .passengers(List.of(PassengerRequest.builder()
+                        .passengerName("John Doe")
+                        .gender("MALE")
+                        .age(30)
+                        .seatNumber("12A")
+                        .mealPreference("VEG")
+                        .build()))
+                .build();
+
+        bookingResponse = BookingResponse.builder()
+                .bookingId(1L)
+                .pnr("A12B34C56D")
+                .email("john@example.com")
+                .numberOfSeats(1)
+                .totalAmount(new BigDecimal("5000.00"))
+                .bookingStatus("CONFIRMED")
+                .bookingDate(LocalDateTime.of(2026, 1, 10, 9, 30))
+                .build();
+    }
+
+    @Test
+    void testBookFlight_FirstRequest_BooksAndStoresResponse() {
+        when(bookingService.bookFlight(1L, bookingRequest)).thenReturn(bookingResponse);
+
+        BookingResponse response = bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest);
+
+        assertEquals("A12B34C56D", response.getPnr());
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(record.capture());
+        assertEquals("key-1", record.getValue().getIdempotencyKey());
+        assertTrue(record.getValue().getResponseBody().contains("A12B34C56D"));
+        assertTrue(record.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusHours(23)));
+    }
+
+    @Test
+    void testBookFlight_Replay_ServedFromCacheWithoutBooking() {
+        when(bookingService.bookFlight(1L, bookingRequest)).thenReturn(bookingResponse);
+
+        bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest);
+        BookingResponse replay = bookingIdempotencyService.bookFlight(" key-1 ", 1L, bookingRequest);
+
+        assertEquals("A12B34C56D", replay.getPnr());
+        verify(bookingService, times(1)).bookFlight(anyLong(), any(BookingRequest.class));
+        verify(idempotencyRecordRepository, times(1)).findByIdempotencyKey("key-1");
+    }
+
+    @Test
+    void testBookFlight_StoredInTable_ReplaysWithoutBooking() throws Exception {
+        BookingIdempotencyService firstNode = new BookingIdempotencyService(bookingService,
+                flightLockService, idempotencyRecordRepository, transactionTemplate, objectMapper, 24, 100, 5000);
+        when(bookingService.bookFlight(1L, bookingRequest)).thenReturn(bookingResponse);
+        firstNode.bookFlight("key-1", 1L, bookingRequest);
+
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(stored.capture());
+        when(idempotencyRecordRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(stored.getValue()));
+
+        BookingResponse replay = bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest);
+
+        assertEquals("A12B34C56D", replay.getPnr());
+        assertEquals(LocalDateTime.of(2026, 1, 10, 9, 30), replay.getBookingDate());
+        verify(bookingService, times(1)).bookFlight(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_KeyReusedForDifferentRequest_ThrowsDuplicateResourceException() {
+        when(bookingService.bookFlight(1L, bookingRequest)).thenReturn(bookingResponse);
+        bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest);
+
+        assertThrows(DuplicateResourceException.class,
+                () -> bookingIdempotencyService.bookFlight("key-1", 2L, bookingRequest));
+        verify(bookingService, never()).bookFlight(eq(2L), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_FailedBooking_IsNotStored() {
+        when(bookingService.bookFlight(1L, bookingRequest))
+                .thenThrow(new BusinessException("Not enough seats available"))
+                .thenReturn(bookingResponse);
+
+        assertThrows(BusinessException.class,
+                () -> bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest));
+        BookingResponse retry = bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest);
+
+        assertEquals("A12B34C56D", retry.getPnr());
+        verify(bookingService, times(2)).bookFlight(1L, bookingRequest);
+    }
+
+    @Test
+    void testBookFlight_InFlightDuplicate_WaitsForFirstResult() throws Exception {
+        CountDownLatch bookingStarted = new CountDownLatch(1);
+        CountDownLatch releaseBooking = new CountDownLatch(1);
+        when(bookingService.bookFlight(1L, bookingRequest)).thenAnswer(invocation -> {
+            bookingStarted.countDown();
+            assertTrue(releaseBooking.await(5, TimeUnit.SECONDS));
+            return bookingResponse;
+        });
+
+        CompletableFuture<BookingResponse> first = CompletableFuture.supplyAsync(
+                () -> bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest));
+        assertTrue(bookingStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<BookingResponse> duplicate = CompletableFuture.supplyAsync(
+                () -> bookingIdempotencyService.bookFlight("key-1", 1L, bookingRequest));
+
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        releaseBooking.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        verify(bookingService, times(1)).bookFlight(anyLong(), any(BookingRequest.class));
+    }
+
+    @Test
+    void testBookFlight_BlankKey_ThrowsBusinessException() {
+        assertThrows(BusinessException.class,
+                () -> bookingIdempotencyService.bookFlight("  ", 1L, bookingRequest));
+        verifyNoInteractions(bookingService);
+    }
+}
@@ -1,33 +1,44 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
 import com.flightapp.dto.BookingResponse;
+import com.flightapp.dto.FlightSnapshot;
 import com.flightapp.dto.PassengerRequest;
+import com.flightapp.dto.TicketLookupResult;
 import com.flightapp.entity.Airline;
 import com.flightapp.entity.Booking;
 import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightSeat;
 import com.flightapp.entity.Passenger;
+import com.flightapp.entity.TicketView;
 import com.flightapp.exceptions.BusinessException;
 import com.flightapp.exceptions.ResourceNotFoundException;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
-import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.TicketViewRepository;
 import com.flightapp.service.BookingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +51,10 @@ class BookingServiceTest {
     private FlightRepository flightRepository;
 
     @Mock
-    private PassengerRepository passengerRepository;
+    private TicketViewRepository ticketViewRepository;
+
+    @Mock
+    private TicketViewProjector ticketViewProjector;
 
     @Mock
     private FlightService flightService;
@@ -48,6 +62,27 @@ class BookingServiceTest {
     @Mock
     private PNRGeneratorService pnrGeneratorService;
 
+    @Mock
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @Mock
+    private FlightLockService flightLockService;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Spy
+    private TicketCache ticketCache = new TicketCache(100, 60);
+
+    @Mock
+    private LookupGuard lookupGuard;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -58,6 +93,9 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(flightLockService.inTransaction(anyLong(), eq(transactionTemplate), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
         airline = Airline.builder()
                 .id(1L)
                 .airlineName("IndiGo")
@@ -121,10 +159,10 @@ class BookingServiceTest {
     void testBookFlight_Success() {
         // Arrange
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(Arrays.asList());
+        when(pricingEngine.fareMinor(any(FlightSnapshot.class))).thenReturn(550_000L);
         when(pnrGeneratorService.generatePNR()).thenReturn("251116ABCD");
-        when(bookingRepository.existsByPnr("251116ABCD")).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        projectOnSave();
         doNothing().when(flightService).updateAvailableSeats(1L, -1);
 
         // Act
@@ -137,6 +175,71 @@ class BookingServiceTest {
         assertEquals(1, response.getNumberOfSeats());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(flightService, times(1)).updateAvailableSeats(1L, -1);
+        verify(flightLockService, times(1)).inTransaction(eq(1L), eq(transactionTemplate), any());
+        verify(seatOccupancyIndex, times(1)).reserve(eq(1L), eq(Set.of("12A")));
+        verify(lookupGuard, times(1)).pnrIssued("251116ABCD");
+
+        ArgumentCaptor<Booking> savedBooking = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(savedBooking.capture());
+        assertEquals(new BigDecimal("5500.00"), savedBooking.getValue().getTotalAmount());
+        assertEquals(1, savedBooking.getValue().getSeatReservations().size());
+        assertEquals("12A", savedBooking.getValue().getSeatReservations().get(0).getSeatNumber());
+        assertSame(flight, savedBooking.getValue().getSeatReservations().get(0).getFlight());
+        verify(ticketViewProjector, times(1)).bookingCreated(booking);
+        verify(bookingRepository, never()).existsByPnr(anyString());
+    }
+
+    @Test
+    void testBookFlight_WithHold_ConfirmsHoldInsteadOfReservingSeats() {
+        // Arrange
+        bookingRequest.setHoldId(7L);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(pnrGeneratorService.generatePNR()).thenReturn("251116ABCD");
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        projectOnSave();
+
+        // Act
+        BookingResponse response = bookingService.bookFlight(1L, bookingRequest);
+
+        // Assert
+        assertEquals("251116ABCD", response.getPnr());
+        verify(seatHoldService, times(1)).confirmHold(eq(7L), eq(1L), eq(Set.of("12A")));
+        verify(seatOccupancyIndex, never()).reserve(anyLong(), anyCollection());
+        verify(flightService, never()).updateAvailableSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testBookFlight_WithPriceToken_ChargesQuotedFare() {
+        // Arrange
+        bookingRequest.setPriceToken("token");
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(pricingEngine.redeemToken("token", 1L)).thenReturn(480_000L);
+        when(pnrGeneratorService.generatePNR()).thenReturn("251116ABCD");
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        projectOnSave();
+
+        // Act
+        bookingService.bookFlight(1L, bookingRequest);
+
+        // Assert
+        ArgumentCaptor<Booking> savedBooking = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(savedBooking.capture());
+        assertEquals(new BigDecimal("4800.00"), savedBooking.getValue().getTotalAmount());
+        verify(pricingEngine, never()).fareMinor(any(FlightSnapshot.class));
+    }
+
+    @Test
+    void testBookFlight_ExpiredPriceToken_ThrowsException() {
+        // Arrange
+        bookingRequest.setPriceToken("token");
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(pricingEngine.redeemToken("token", 1L))
+                .thenThrow(new BusinessException("Price quote has expired, please search again"));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> bookingService.bookFlight(1L, bookingRequest));
+        verify(seatOccupancyIndex, never()).reserve(anyLong(), anyCollection());
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -208,18 +311,22 @@ class BookingServiceTest {
     void testBookFlight_SeatAlreadyBooked_ThrowsException() {
         // Arrange
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(Arrays.asList("12A"));
+        doThrow(new BusinessException("Seat 12A is already booked"))
+                .when(seatOccupancyIndex).reserve(eq(1L), anyCollection());
 
         // Act & Assert
         assertThrows(BusinessException.class, () -> {
             bookingService.bookFlight(1L, bookingRequest);
         });
+        verify(flightService, never()).updateAvailableSeats(anyLong(), anyInt());
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void testGetBookingByPNR_Success() {
         // Arrange
-        when(bookingRepository.findByPnr("251116ABCD")).thenReturn(Optional.of(booking));
+        when(lookupGuard.mightExistPnr("251116ABCD")).thenReturn(true);
+        when(ticketViewRepository.findByPnr("251116ABCD")).thenAnswer(invocation -> Optional.of(ticket(booking)));
 
         // Act
         BookingResponse response = bookingService.getBookingByPNR("251116ABCD");
@@ -230,10 +337,27 @@ class BookingServiceTest {
         assertEquals("john@example.com", response.getEmail());
     }
 
+    @Test
+    void testGetBookingByPNR_LowerCase_FindsAndCachesUpperCase() {
+        // Arrange
+        when(lookupGuard.mightExistPnr("251116ABCD")).thenReturn(true);
+        when(ticketViewRepository.findByPnr("251116ABCD")).thenAnswer(invocation -> Optional.of(ticket(booking)));
+
+        // Act
+        BookingResponse response = bookingService.getBookingByPNR(" 251116abcd ");
+        bookingService.getBookingByPNR("251116ABCD");
+
+        // Assert
+        assertEquals("251116ABCD", response.getPnr());
+        verify(ticketViewRepository, times(1)).findByPnr("251116ABCD");
+        verify(lookupGuard, never()).mightExistPnr("251116abcd");
+    }
+
     @Test
     void testGetBookingByPNR_NotFound_ThrowsException() {
         // Arrange
-        when(bookingRepository.findByPnr("INVALID")).thenReturn(Optional.empty());
+        when(lookupGuard.mightExistPnr("INVALID")).thenReturn(true);
+        when(ticketViewRepository.findByPnr("INVALID")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -241,11 +365,88 @@ class BookingServiceTest {
         });
     }
 
+    @Test
+    void testGetBookingByPNR_UnknownToLookupGuard_SkipsDatabase() {
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.getBookingByPNR("INVALID"));
+        verify(ticketViewRepository, never()).findByPnr(anyString());
+    }
+
+    @Test
+    void testGetBookingByPNR_CachedUntilCancelled() {
+        // Arrange
+        when(lookupGuard.mightExistPnr("251116ABCD")).thenReturn(true);
+        when(ticketViewRepository.findByPnr("251116ABCD")).thenAnswer(invocation -> Optional.of(ticket(booking)));
+        when(bookingRepository.findByPnr("251116ABCD")).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfConfirmed(booking.getId())).thenReturn(1);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        // Act
+        bookingService.getBookingByPNR("251116ABCD");
+        BookingResponse cached = bookingService.getBookingByPNR("251116ABCD");
+        bookingService.cancelBooking("251116ABCD");
+        BookingResponse afterCancel = bookingService.getBookingByPNR("251116ABCD");
+
+        // Assert
+        assertEquals("CONFIRMED", cached.getBookingStatus());
+        assertEquals("CANCELLED", afterCancel.getBookingStatus());
+        verify(ticketViewRepository, times(2)).findByPnr("251116ABCD");
+    }
+
+    @Test
+    void testLookupTickets_ResultPerRequestedPnr() {
+        // Arrange
+        when(lookupGuard.mightExistPnr(anyString())).thenReturn(true);
+        when(lookupGuard.mightExistPnr("NEVERISSUED")).thenReturn(false);
+        when(ticketViewRepository.findByPnrIn(List.of("251116ABCD", "251116ZZZZ"))).thenReturn(List.of(ticket(booking)));
+
+        // Act
+        List<TicketLookupResult> results = bookingService.lookupTickets(
+                List.of("251116ABCD", "251116zzzz", "NEVERISSUED", "251116abcd"));
+
+        // Assert
+        assertEquals(4, results.size());
+        assertEquals("251116ABCD", results.get(0).getPnr());
+        assertTrue(results.get(0).isFound());
+        assertEquals("12A", results.get(0).getTicket().getPassengers().get(0).getSeatNumber());
+        assertFalse(results.get(1).isFound());
+        assertNull(results.get(1).getTicket());
+        assertFalse(results.get(2).isFound());
+        assertEquals("251116abcd", results.get(3).getPnr());
+        assertSame(results.get(0).getTicket(), results.get(3).getTicket());
+        verify(ticketViewRepository, times(1)).findByPnrIn(anyCollection());
+    }
+
+    @Test
+    void testLookupTickets_CachedTicketsNotQueried() {
+        // Arrange
+        when(lookupGuard.mightExistPnr("251116ABCD")).thenReturn(true);
+        when(ticketViewRepository.findByPnr("251116ABCD")).thenAnswer(invocation -> Optional.of(ticket(booking)));
+        BookingResponse cached = bookingService.getBookingByPNR("251116ABCD");
+
+        // Act
+        List<TicketLookupResult> results = bookingService.lookupTickets(List.of("251116ABCD"));
+
+        // Assert
+        assertSame(cached, results.get(0).getTicket());
+        verify(ticketViewRepository, never()).findByPnrIn(anyCollection());
+    }
+
+    @Test
+    void testLookupTickets_TooManyPnrs_ThrowsException() {
+        List<String> pnrs = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            pnrs.add(String.format("PNR%07d", i));
+        }
+
+        assertThrows(BusinessException.class, () -> bookingService.lookupTickets(pnrs));
+        assertThrows(BusinessException.class, () -> bookingService.lookupTickets(List.of()));
+        verifyNoInteractions(ticketViewRepository);
+    }
+
     @Test
     void testGetBookingHistory_Success() {
         // Arrange
-        when(bookingRepository.findByEmailOrderByCreatedAtDesc("john@example.com"))
-                .thenReturn(Arrays.asList(booking));
+        when(ticketViewRepository.findHistory("john@example.com")).thenReturn(List.of(ticket(booking)));
 
         // Act
         List<BookingResponse> responses = bookingService.getBookingHistory("john@example.com");
@@ -254,13 +455,53 @@ class BookingServiceTest {
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals("john@example.com", responses.get(0).getEmail());
+        assertEquals("12A", responses.get(0).getPassengers().get(0).getSeatNumber());
+    }
+
+    @Test
+    void testGetBookingHistoryPage_FollowsCursor() {
+        // Arrange
+        booking.setCreatedAt(LocalDateTime.of(2025, 11, 16, 10, 0));
+        Booking older = Booking.builder()
+                .id(2L)
+                .pnr("251115WXYZ")
+                .flight(flight)
+                .email("john@example.com")
+                .contactName("John Doe")
+                .numberOfSeats(1)
+                .totalAmount(new BigDecimal("5000.00"))
+                .bookingStatus(Booking.BookingStatus.CONFIRMED)
+                .build();
+        older.setCreatedAt(LocalDateTime.of(2025, 11, 15, 10, 0));
+        when(ticketViewRepository.findHistoryPage(eq("john@example.com"), any()))
+                .thenReturn(new ArrayList<>(List.of(ticket(booking), ticket(older))));
+        when(ticketViewRepository.findHistoryPageBefore(eq("john@example.com"),
+                eq(LocalDateTime.of(2025, 11, 16, 10, 0)), eq(1L), any()))
+                .thenReturn(new ArrayList<>(List.of(ticket(older))));
+
+        // Act
+        BookingHistoryPage first = bookingService.getBookingHistoryPage("john@example.com", 1, null);
+        BookingHistoryPage second = bookingService.getBookingHistoryPage("john@example.com", 1, first.getNextCursor());
+
+        // Assert
+        assertEquals("251116ABCD", first.getBookings().get(0).getPnr());
+        assertNotNull(first.getNextCursor());
+        assertEquals("251115WXYZ", second.getBookings().get(0).getPnr());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetBookingHistoryPage_InvalidPageSize_ThrowsException() {
+        assertThrows(BusinessException.class,
+                () -> bookingService.getBookingHistoryPage("john@example.com", 0, null));
+        assertThrows(BusinessException.class,
+                () -> bookingService.getBookingHistoryPage("john@example.com", 20, "not-a-cursor"));
     }
 
     @Test
     void testGetBookingHistory_NoBookings() {
         // Arrange
-        when(bookingRepository.findByEmailOrderByCreatedAtDesc("nobookings@example.com"))
-                .thenReturn(Arrays.asList());
+        when(ticketViewRepository.findHistory("nobookings@example.com")).thenReturn(List.of());
 
         // Act
         List<BookingResponse> responses = bookingService.getBookingHistory("nobookings@example.com");
@@ -274,15 +515,22 @@ class BookingServiceTest {
     void testCancelBooking_Success() {
         // Arrange
         when(bookingRepository.findByPnr("251116ABCD")).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfConfirmed(booking.getId())).thenReturn(1);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         doNothing().when(flightService).updateAvailableSeats(1L, 1);
 
+        booking.addSeatReservation(FlightSeat.builder().flight(flight).seatNumber("12A").build());
+
         // Act
         bookingService.cancelBooking("251116ABCD");
 
         // Assert
+        assertTrue(booking.getSeatReservations().isEmpty());
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(flightService, times(1)).updateAvailableSeats(1L, 1);
+        verify(seatOccupancyIndex, times(1)).release(1L, List.of("12A"));
+        verify(ticketViewProjector, times(1)).bookingStatusChanged(booking);
+        verify(ticketCache, times(1)).bookingChanged("251116ABCD");
     }
 
     @Test
@@ -308,6 +556,21 @@ class BookingServiceTest {
         });
     }
 
+    @Test
+    void testCancelBooking_LosesRaceToConcurrentCancel_ReleasesNothing() {
+        // Arrange: both cancels read CONFIRMED; the other one changed the status first
+        when(bookingRepository.findByPnr("251116ABCD")).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfConfirmed(booking.getId())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> {
+            bookingService.cancelBooking("251116ABCD");
+        });
+        verify(flightService, never()).updateAvailableSeats(anyLong(), anyInt());
+        verify(seatOccupancyIndex, never()).release(anyLong(), any());
+        verify(ticketCache, never()).bookingChanged(anyString());
+    }
+
     @Test
     void testCancelBooking_Within24Hours_ThrowsException() {
         // Arrange
@@ -319,4 +582,15 @@ class BookingServiceTest {
             bookingService.cancelBooking("251116ABCD");
         });
     }
-}
\ No newline at end of file
+
+    // Helper methods
+
+    private void projectOnSave() {
+        when(ticketViewProjector.bookingCreated(any(Booking.class)))
+                .thenAnswer(invocation -> ticket(invocation.getArgument(0)));
+    }
+
+    private static TicketView ticket(Booking booking) {
+        return TicketViews.of(booking, booking.getPassengers());
+    }
+}
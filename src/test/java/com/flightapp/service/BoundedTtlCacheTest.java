@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void testGet_ReturnsValueUntilTtlPasses() {
+        MutableClock clock = new MutableClock();
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 1000, clock);
+
+        cache.put("a", "1");
+        clock.advance(Duration.ofMillis(999));
+        assertEquals("1", cache.get("a"));
+
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_DropsOldestEntryWhenFull() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 1000, new MutableClock());
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void testPut_RewriteRefreshesPosition() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 1000, new MutableClock());
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "1b");
+        cache.put("c", "3");
+
+        assertEquals("1b", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void testStats_CountsHitsMissesAndEvictions() {
+        MutableClock clock = new MutableClock();
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 1000, clock);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("b");
+        cache.get("a");
+        clock.advance(Duration.ofMillis(1000));
+        cache.get("c");
+        cache.remove("b");
+
+        assertEquals(new BoundedTtlCache.Stats(0, 1, 2, 2), cache.stats());
+    }
+
+    // Shared with other tests of classes built on the cache
+    static final class MutableClock extends Clock {
+
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTtlCacheTest {
+
+    @Test
+    void testGet_ReturnsValueUntilTtlPasses() {
+        BoundedTtlCacheTest.MutableClock clock = new BoundedTtlCacheTest.MutableClock();
+        ConcurrentTtlCache<String, String> cache = new ConcurrentTtlCache<>(10, 1000, clock);
+
+        cache.put("a", "1");
+        clock.advance(Duration.ofMillis(999));
+        assertEquals("1", cache.get("a"));
+
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_DropsOldestEntryWhenFull() {
+        ConcurrentTtlCache<String, String> cache = new ConcurrentTtlCache<>(2, 1000, new BoundedTtlCacheTest.MutableClock());
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void testPut_RewriteRefreshesPosition() {
+        ConcurrentTtlCache<String, String> cache = new ConcurrentTtlCache<>(2, 1000, new BoundedTtlCacheTest.MutableClock());
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "1b");
+        cache.put("c", "3");
+
+        // The old slot of "a" reached the head first and dropped nothing
+        assertEquals("1b", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void testStats_CountsHitsMissesAndEvictions() {
+        BoundedTtlCacheTest.MutableClock clock = new BoundedTtlCacheTest.MutableClock();
+        ConcurrentTtlCache<String, String> cache = new ConcurrentTtlCache<>(2, 1000, clock);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("b");
+        cache.get("a");
+        clock.advance(Duration.ofMillis(1000));
+        cache.get("c");
+        cache.remove("b");
+
+        assertEquals(new ConcurrentTtlCache.Stats(0, 1, 2, 2), cache.stats());
+    }
+
+    @Test
+    void testPut_ConcurrentWritersNeverExceedMaxSize() throws Exception {
+        ConcurrentTtlCache<Integer, Integer> cache = new ConcurrentTtlCache<>(1000, 60_000, new BoundedTtlCacheTest.MutableClock());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10_000;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i, i);
+                        cache.get(offset + i / 2);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.size() <= 1000, "size " + cache.size());
+        assertEquals(80_000 - cache.size(), cache.stats().evictions());
+    }
+}
@@ -0,0 +1,238 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.exceptions.ServiceUnavailableException;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionFinderTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private LocationDictionary locationDictionary;
+
+    private FlightSearchIndex flightSearchIndex;
+    private ConnectionFinder connectionFinder;
+
+    private Airline airline;
+    private LocalDate travelDate;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        flightSearchIndex = new FlightSearchIndex(flightRepository, 100);
+        flightSearchIndex.load();
+        connectionFinder = new ConnectionFinder(flightSearchIndex, locationDictionary, flatPricing(), 45, 360);
+        lenient().when(locationDictionary.canonicalName(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+        travelDate = LocalDate.now().plusDays(10);
+        nextId = 1;
+    }
+
+    @Test
+    void testFind_DirectAndOneStopRankedByDuration() {
+        Flight direct = flight("Delhi", "Chennai", at(6, 0), 180, 9000, 50);
+        Flight toMumbai = flight("Delhi", "Mumbai", at(8, 0), 120, 4000, 50);
+        Flight mumbaiToChennai = flight("Mumbai", "Chennai", at(11, 0), 100, 3500, 50);
+
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request("Delhi", "Chennai"));
+
+        assertEquals(2, itineraries.size());
+        assertEquals(List.of(direct.getId()), ids(itineraries.get(0)));
+        assertEquals(List.of(toMumbai.getId(), mumbaiToChennai.getId()), ids(itineraries.get(1)));
+        assertEquals(new BigDecimal("7500.00"), itineraries.get(1).totalPrice());
+    }
+
+    @Test
+    void testFind_ResolvesLocationCodes() {
+        Flight toMumbai = flight("Delhi", "Mumbai", at(8, 0), 120, 4000, 50);
+        Flight mumbaiToChennai = flight("Mumbai", "Chennai", at(11, 0), 100, 3500, 50);
+        when(locationDictionary.canonicalName("DEL")).thenReturn("Delhi");
+        when(locationDictionary.canonicalName("maa")).thenReturn("Chennai");
+
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request("DEL", "maa"));
+
+        assertEquals(1, itineraries.size());
+        assertEquals(List.of(toMumbai.getId(), mumbaiToChennai.getId()), ids(itineraries.get(0)));
+    }
+
+    @Test
+    void testFind_SortByPricePrefersCheaperConnection() {
+        flight("Delhi", "Chennai", at(6, 0), 180, 9000, 50);
+        Flight toMumbai = flight("Delhi", "Mumbai", at(8, 0), 120, 4000, 50);
+        flight("Mumbai", "Chennai", at(11, 0), 100, 3500, 50);
+
+        ConnectionSearchRequest request = request("Delhi", "Chennai");
+        request.setSortBy(ConnectionSearchRequest.SortBy.PRICE);
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request);
+
+        assertEquals(toMumbai.getId(), itineraries.get(0).legs().get(0).id());
+    }
+
+    @Test
+    void testFind_SortByPriceUsesLiveFares() {
+        // Fares double once more than half the seats are sold
+        connectionFinder = new ConnectionFinder(flightSearchIndex, locationDictionary,
+                pricing(new int[]{50}, new double[]{1.0, 2.0}), 45, 360);
+        Flight direct = flight("Delhi", "Chennai", at(6, 0), 180, 9000, 150);
+        flight("Delhi", "Mumbai", at(8, 0), 120, 4000, 20);      // nearly full: fare 8000
+        flight("Mumbai", "Chennai", at(11, 0), 100, 3500, 150);
+
+        ConnectionSearchRequest request = request("Delhi", "Chennai");
+        request.setSortBy(ConnectionSearchRequest.SortBy.PRICE);
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request);
+
+        assertEquals(List.of(direct.getId()), ids(itineraries.get(0)));
+        assertEquals(new BigDecimal("11500.00"), itineraries.get(1).totalPrice());
+    }
+
+    @Test
+    void testFind_RespectsLayoverBounds() {
+        flight("Delhi", "Mumbai", at(8, 0), 120, 4000, 50);       // lands 10:00
+        flight("Mumbai", "Chennai", at(10, 30), 100, 3500, 50);   // 30 min layover, too short
+        flight("Mumbai", "Chennai", at(17, 0), 100, 3500, 50);    // 7 h layover, too long
+        Flight fits = flight("Mumbai", "Chennai", at(12, 0), 100, 3500, 50);
+
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request("Delhi", "Chennai"));
+
+        assertEquals(1, itineraries.size());
+        assertEquals(fits.getId(), itineraries.get(0).legs().get(1).id());
+    }
+
+    @Test
+    void testFind_TwoStopsWithoutRevisitingAirports() {
+        Flight first = flight("Delhi", "Mumbai", at(6, 0), 120, 4000, 50);
+        Flight second = flight("Mumbai", "Goa", at(9, 0), 60, 2000, 50);
+        Flight third = flight("Goa", "Chennai", at(11, 0), 90, 3000, 50);
+        flight("Mumbai", "Delhi", at(9, 0), 120, 4000, 50);
+        flight("Delhi", "Chennai", at(12, 0), 180, 9000, 0);      // no seats
+
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request("Delhi", "Chennai"));
+
+        assertEquals(1, itineraries.size());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), ids(itineraries.get(0)));
+
+        ConnectionSearchRequest oneStop = request("Delhi", "Chennai");
+        oneStop.setMaxStops(1);
+        assertTrue(connectionFinder.find(oneStop).isEmpty());
+    }
+
+    @Test
+    void testFind_FollowsLiveSeatCounts() {
+        Flight direct = flight("Delhi", "Chennai", at(6, 0), 180, 9000, 2);
+        assertEquals(1, connectionFinder.find(request("Delhi", "Chennai")).size());
+
+        flightSearchIndex.seatsAdjusted(direct.getId(), -1);
+
+        assertTrue(connectionFinder.find(request("Delhi", "Chennai")).isEmpty());
+    }
+
+    @Test
+    void testFind_KeepsOnlyMaxResults() {
+        for (int hour = 6; hour < 16; hour++) {
+            flight("Delhi", "Chennai", at(hour, 0), 150 + hour, 9000, 50);
+        }
+
+        ConnectionSearchRequest request = request("Delhi", "Chennai");
+        request.setMaxResults(3);
+        List<ConnectionFinder.Itinerary> itineraries = connectionFinder.find(request);
+
+        assertEquals(3, itineraries.size());
+        assertEquals(at(6, 0), itineraries.get(0).departureTime());
+        assertEquals(at(8, 0), itineraries.get(2).departureTime());
+    }
+
+    @Test
+    void testFind_InvalidRequests_ThrowException() {
+        assertThrows(BusinessException.class, () -> connectionFinder.find(request("Delhi", " delhi")));
+
+        ConnectionSearchRequest request = request("Delhi", "Chennai");
+        request.setMinLayoverMinutes(120);
+        request.setMaxLayoverMinutes(60);
+        assertThrows(BusinessException.class, () -> connectionFinder.find(request));
+    }
+
+    @Test
+    void testFind_IndexStillLoading_ThrowsServiceUnavailable() {
+        ConnectionFinder loadingFinder = new ConnectionFinder(
+                new FlightSearchIndex(flightRepository, 100), locationDictionary, flatPricing(), 45, 360);
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> loadingFinder.find(request("Delhi", "Chennai")));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+    }
+
+    private ConnectionSearchRequest request(String from, String to) {
+        return ConnectionSearchRequest.builder()
+                .fromLocation(from)
+                .toLocation(to)
+                .travelDate(travelDate)
+                .numberOfPassengers(2)
+                .build();
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return travelDate.atTime(hour, minute);
+    }
+
+    private Flight flight(String from, String to, LocalDateTime departure, int minutes, int price, int seats) {
+        Flight flight = Flight.builder()
+                .id(nextId++)
+                .flightNumber("6E" + nextId)
+                .airline(airline)
+                .fromLocation(from)
+                .toLocation(to)
+                .departureTime(departure)
+                .arrivalTime(departure.plusMinutes(minutes))
+                .totalSeats(180)
+                .availableSeats(seats)
+                .basePrice(new BigDecimal(price).setScale(2))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+        flightSearchIndex.flightSaved(flight);
+        return flight;
+    }
+
+    private static PricingEngine flatPricing() {
+        return pricing(new int[]{}, new double[]{1.0});
+    }
+
+    private static PricingEngine pricing(int[] loadFactorBreaks, double[] loadFactorMultipliers) {
+        return new PricingEngine(loadFactorBreaks, loadFactorMultipliers, new int[]{}, new double[]{1.0},
+                Duration.ofMinutes(15), "secret", Clock.systemDefaultZone());
+    }
+
+    private static List<Long> ids(ConnectionFinder.Itinerary itinerary) {
+        return itinerary.legs().stream().map(FlightSnapshot::id).toList();
+    }
+}
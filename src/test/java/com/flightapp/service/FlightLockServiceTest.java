@@ -0,0 +1,140 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LockStripeStats;
+import com.flightapp.exceptions.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightLockServiceTest {
+
+    private final FlightLockService flightLockService = new FlightLockService(64, 200);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testStripeCountRoundedToPowerOfTwo() {
+        assertEquals(64, flightLockService.getStripeCount());
+        assertEquals(128, new FlightLockService(100, 200).getStripeCount());
+        assertEquals(1, new FlightLockService(1, 200).getStripeCount());
+    }
+
+    @Test
+    void testSameFlightAlwaysMapsToSameStripe() {
+        int stripe = flightLockService.stripeFor(42L);
+        assertEquals(stripe, flightLockService.stripeFor(42L));
+        assertTrue(stripe >= 0 && stripe < 64);
+    }
+
+    @Test
+    void testWithFlightLock_RecordsAcquisitionAndHold() {
+        String result = flightLockService.withFlightLock(1L, () -> "booked");
+
+        assertEquals("booked", result);
+        List<LockStripeStats> stats = flightLockService.getStripeStats();
+        assertEquals(1, stats.size());
+        assertEquals(flightLockService.stripeFor(1L), stats.get(0).getStripe());
+        assertEquals(1L, stats.get(0).getAcquisitions());
+        assertEquals(0L, stats.get(0).getContendedAcquisitions());
+    }
+
+    @Test
+    void testLockTimeout_ThrowsBusinessException() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                flightLockService.withFlightLock(1L, () -> {
+                    locked.countDown();
+                    await(done);
+                    return null;
+                }));
+
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        assertThrows(BusinessException.class, () -> {
+            flightLockService.withFlightLock(1L, () -> null);
+        });
+
+        done.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(1L, flightLockService.getStripeStats().get(0).getTimeouts());
+    }
+
+    @Test
+    void testLockUntilCompletion_ReleasedAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        flightLockService.lockUntilCompletion(1L);
+        CompletionException whileHeld = assertThrows(CompletionException.class, () -> {
+            CompletableFuture.supplyAsync(() -> flightLockService.withFlightLock(1L, () -> null)).join();
+        });
+        assertInstanceOf(BusinessException.class, whileHeld.getCause());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertDoesNotThrow(() ->
+                CompletableFuture.supplyAsync(() -> flightLockService.withFlightLock(1L, () -> null)).join());
+    }
+
+    @Test
+    void testLockUntilCompletion_WithoutTransaction_ThrowsException() {
+        assertThrows(IllegalStateException.class, () -> {
+            flightLockService.lockUntilCompletion(1L);
+        });
+    }
+
+    @Test
+    void testInTransaction_WaitsForLockBeforeTransactionStarts() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        TransactionOperations transaction = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                started.incrementAndGet();
+                return action.doInTransaction(null);
+            }
+        };
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                flightLockService.withFlightLock(1L, () -> {
+                    locked.countDown();
+                    await(done);
+                    return null;
+                }));
+
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        assertThrows(BusinessException.class, () -> {
+            flightLockService.inTransaction(1L, transaction, () -> "booked");
+        });
+        assertEquals(0, started.get());
+
+        done.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("booked", flightLockService.inTransaction(1L, transaction, () -> "booked"));
+        assertEquals(1, started.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.SearchCacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSearchCacheTest {
+
+    private static final LocalDate TRAVEL_DATE = LocalDate.of(2026, 12, 1);
+
+    private FlightSearchCache flightSearchCache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        flightSearchCache = new FlightSearchCache(100, 60);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_SecondIdenticalSearchIsServedFromCache() {
+        search("Delhi", "Mumbai", TRAVEL_DATE, 2);
+        List<FlightSearchResponse> result = search("delhi ", "MUMBAI", TRAVEL_DATE, 2);
+
+        assertEquals(1, searches.get());
+        assertEquals(1, result.size());
+        SearchCacheStats stats = flightSearchCache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(1L, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testGet_KeysIncludePassengersAndDay() {
+        search("Delhi", "Mumbai", TRAVEL_DATE, 2);
+        search("Delhi", "Mumbai", TRAVEL_DATE, 3);
+        search("Delhi", "Mumbai", TRAVEL_DATE.plusDays(1), 2);
+
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    void testInvalidate_DropsAllPassengerCountsForThatRouteAndDayOnly() {
+        search("Delhi", "Mumbai", TRAVEL_DATE, 1);
+        search("Delhi", "Mumbai", TRAVEL_DATE, 9);
+        search("Delhi", "Mumbai", TRAVEL_DATE.plusDays(1), 1);
+        search("Delhi", "Chennai", TRAVEL_DATE, 1);
+
+        flightSearchCache.invalidate("Delhi", "Mumbai", TRAVEL_DATE.atTime(23, 30));
+
+        search("Delhi", "Mumbai", TRAVEL_DATE, 1);
+        search("Delhi", "Mumbai", TRAVEL_DATE, 9);
+        search("Delhi", "Mumbai", TRAVEL_DATE.plusDays(1), 1);
+        search("Delhi", "Chennai", TRAVEL_DATE, 1);
+        assertEquals(6, searches.get());
+        assertEquals(1L, flightSearchCache.getStats().getInvalidations());
+    }
+
+    @Test
+    void testGet_ResultComputedAcrossInvalidationIsNotCached() {
+        flightSearchCache.get("Delhi", "Mumbai", TRAVEL_DATE, 2, () -> {
+            searches.incrementAndGet();
+            flightSearchCache.invalidate("Delhi", "Mumbai", TRAVEL_DATE.atTime(10, 0));
+            return List.of();
+        });
+
+        search("Delhi", "Mumbai", TRAVEL_DATE, 2);
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void testGet_EvictsOldestBeyondMaxEntries() {
+        flightSearchCache = new FlightSearchCache(2, 60);
+
+        search("Delhi", "Mumbai", TRAVEL_DATE, 1);
+        search("Delhi", "Mumbai", TRAVEL_DATE, 2);
+        search("Delhi", "Mumbai", TRAVEL_DATE, 3);
+
+        SearchCacheStats stats = flightSearchCache.getStats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(1L, stats.getEvictions());
+    }
+
+    private List<FlightSearchResponse> search(String from, String to, LocalDate date, int passengers) {
+        return flightSearchCache.get(from, to, date, passengers, () -> {
+            searches.incrementAndGet();
+            return List.of(FlightSearchResponse.builder().flightId(1L).build());
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSearchIndexTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightSearchIndex flightSearchIndex;
+
+    private Airline airline;
+    private LocalDate travelDate;
+
+    @BeforeEach
+    void setUp() {
+        flightSearchIndex = new FlightSearchIndex(flightRepository, 2);
+        airline = Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").isActive(true).build();
+        travelDate = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    void testLoad_PagesByIdUntilShortPage() {
+        Flight first = flight(1L, "Delhi", "Mumbai", travelDate.atTime(18, 0), 100);
+        Flight second = flight(2L, "Delhi", "Mumbai", travelDate.atTime(9, 0), 100);
+        Flight third = flight(3L, "Delhi", "Chennai", travelDate.atTime(9, 0), 100);
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(third));
+
+        assertFalse(flightSearchIndex.isReady());
+        flightSearchIndex.load();
+
+        assertTrue(flightSearchIndex.isReady());
+        assertEquals(3, flightSearchIndex.size());
+        List<FlightSnapshot> matches = flightSearchIndex.search("Delhi", "Mumbai", travelDate, 1);
+        assertEquals(List.of(2L, 1L), matches.stream().map(FlightSnapshot::id).toList());
+    }
+
+    @Test
+    void testSearch_MatchesRouteCaseInsensitivelyAndOnlyThatDay() {
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.atTime(0, 0), 100));
+        flightSearchIndex.flightSaved(flight(2L, "Delhi", "Mumbai", travelDate.atTime(23, 59), 100));
+        flightSearchIndex.flightSaved(flight(3L, "Delhi", "Mumbai", travelDate.plusDays(1).atStartOfDay(), 100));
+
+        List<FlightSnapshot> matches = flightSearchIndex.search(" delhi", "MUMBAI ", travelDate, 1);
+
+        assertEquals(List.of(1L, 2L), matches.stream().map(FlightSnapshot::id).toList());
+        assertTrue(flightSearchIndex.search("Mumbai", "Delhi", travelDate, 1).isEmpty());
+    }
+
+    @Test
+    void testSearch_SkipsFullAndUnbookableFlights() {
+        Flight cancelled = flight(2L, "Delhi", "Mumbai", travelDate.atTime(12, 0), 100);
+        cancelled.setFlightStatus(Flight.FlightStatus.CANCELLED);
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.atTime(10, 0), 1));
+        flightSearchIndex.flightSaved(cancelled);
+
+        assertTrue(flightSearchIndex.search("Delhi", "Mumbai", travelDate, 2).isEmpty());
+        assertEquals(1, flightSearchIndex.search("Delhi", "Mumbai", travelDate, 1).size());
+    }
+
+    @Test
+    void testSearch_DayRangeIncludesBothEnds() {
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.minusDays(1).atTime(23, 59), 100));
+        flightSearchIndex.flightSaved(flight(2L, "Delhi", "Mumbai", travelDate.atTime(0, 0), 100));
+        flightSearchIndex.flightSaved(flight(3L, "Delhi", "Mumbai", travelDate.plusDays(2).atTime(23, 59), 100));
+        flightSearchIndex.flightSaved(flight(4L, "Delhi", "Mumbai", travelDate.plusDays(3).atStartOfDay(), 100));
+
+        List<FlightSnapshot> matches = flightSearchIndex.search("Delhi", "Mumbai", travelDate, travelDate.plusDays(2), 1);
+
+        assertEquals(List.of(2L, 3L), matches.stream().map(FlightSnapshot::id).toList());
+    }
+
+    @Test
+    void testSearchAfter_PagesInDepartureThenIdOrder() {
+        flightSearchIndex.flightSaved(flight(3L, "Delhi", "Mumbai", travelDate.atTime(9, 0), 100));
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.atTime(9, 0), 100));
+        flightSearchIndex.flightSaved(flight(2L, "Delhi", "Mumbai", travelDate.atTime(12, 0), 0));
+        flightSearchIndex.flightSaved(flight(4L, "Delhi", "Mumbai", travelDate.atTime(15, 0), 100));
+        flightSearchIndex.flightSaved(flight(5L, "Delhi", "Mumbai", travelDate.plusDays(1).atTime(9, 0), 100));
+
+        List<FlightSnapshot> first = flightSearchIndex.searchAfter(
+                "Delhi", "Mumbai", travelDate, 1, travelDate.atStartOfDay(), Long.MIN_VALUE, 2);
+        List<FlightSnapshot> second = flightSearchIndex.searchAfter(
+                "Delhi", "Mumbai", travelDate, 1, travelDate.atTime(9, 0), 3L, 2);
+
+        assertEquals(List.of(1L, 3L), first.stream().map(FlightSnapshot::id).toList());
+        assertEquals(List.of(4L), second.stream().map(FlightSnapshot::id).toList());
+    }
+
+    @Test
+    void testForEachMatch_VisitsSameFlightsAsSearch() {
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.atTime(9, 0), 100));
+        flightSearchIndex.flightSaved(flight(2L, "Delhi", "Mumbai", travelDate.atTime(12, 0), 1));
+        flightSearchIndex.flightSaved(flight(3L, "Delhi", "Mumbai", travelDate.plusDays(1).atTime(9, 0), 100));
+
+        List<Long> visited = new ArrayList<>();
+        flightSearchIndex.forEachMatch("Delhi", "Mumbai", travelDate, 2, flight -> visited.add(flight.id()));
+
+        assertEquals(List.of(1L), visited);
+    }
+
+    @Test
+    void testSeatsAdjusted_ReplacesSnapshot() {
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", travelDate.atTime(10, 0), 3));
+
+        flightSearchIndex.seatsAdjusted(1L, -2);
+        assertTrue(flightSearchIndex.search("Delhi", "Mumbai", travelDate, 2).isEmpty());
+        assertEquals(1, flightSearchIndex.get(1L).availableSeats());
+
+        flightSearchIndex.seatsAdjusted(1L, 2);
+        assertEquals(1, flightSearchIndex.search("Delhi", "Mumbai", travelDate, 2).size());
+    }
+
+    @Test
+    void testFlightSaved_RescheduledFlightMovesSlot() {
+        Flight flight = flight(1L, "Delhi", "Mumbai", travelDate.atTime(10, 0), 100);
+        flightSearchIndex.flightSaved(flight);
+
+        flight.setDepartureTime(travelDate.plusDays(1).atTime(10, 0));
+        flight.setArrivalTime(travelDate.plusDays(1).atTime(12, 0));
+        flightSearchIndex.flightSaved(flight);
+
+        assertTrue(flightSearchIndex.search("Delhi", "Mumbai", travelDate, 1).isEmpty());
+        assertEquals(1, flightSearchIndex.search("Delhi", "Mumbai", travelDate.plusDays(1), 1).size());
+        assertEquals(1, flightSearchIndex.size());
+    }
+
+    @Test
+    void testRefresh_AppliesChangesAndDropsDepartedFlights() {
+        when(flightRepository.findUpcomingAfterId(any(LocalDateTime.class), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(List.of());
+        flightSearchIndex.load();
+        flightSearchIndex.flightSaved(flight(1L, "Delhi", "Mumbai", LocalDate.now().minusDays(1).atTime(10, 0), 100));
+        Flight changed = flight(2L, "Delhi", "Mumbai", travelDate.atTime(10, 0), 7);
+        when(flightRepository.findChangedSince(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(changed));
+
+        flightSearchIndex.refresh();
+
+        assertNull(flightSearchIndex.get(1L));
+        assertEquals(7, flightSearchIndex.get(2L).availableSeats());
+    }
+
+    private Flight flight(Long id, String from, String to, LocalDateTime departure, int availableSeats) {
+        return Flight.builder()
+                .id(id)
+                .flightNumber("6E" + id)
+                .airline(airline)
+                .fromLocation(from)
+                .toLocation(to)
+                .departureTime(departure)
+                .arrivalTime(departure.plusHours(2))
+                .totalSeats(180)
+                .availableSeats(availableSeats)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+}
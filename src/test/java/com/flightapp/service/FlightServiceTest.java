@@ -1,8 +1,15 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.ConnectionSearchRequest;
+import com.flightapp.dto.FareCalendarDay;
+import com.flightapp.dto.FareCalendarRequest;
 import com.flightapp.dto.FlightInventoryRequest;
+import com.flightapp.dto.FlightSearchPage;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.RoundTripSearchResponse;
 import com.flightapp.entity.Airline;
 import com.flightapp.entity.Flight;
 import com.flightapp.exceptions.BusinessException;
@@ -17,17 +24,32 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +61,33 @@ class FlightServiceTest {
     @Mock
     private AirlineRepository airlineRepository;
 
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private FlightSearchExecutor flightSearchExecutor;
+
+    @Mock
+    private ConnectionFinder connectionFinder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LocationDictionary locationDictionary;
+
+    @Mock
+    private LocationSuggester locationSuggester;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private LookupGuard lookupGuard;
+
     @InjectMocks
     private FlightServiceImpl flightService;
 
@@ -80,6 +129,16 @@ class FlightServiceTest {
                 .totalSeats(180)
                 .basePrice(new BigDecimal("5000.00"))
                 .build();
+
+        // Delhi, Mumbai and Chennai are known locations
+        lenient().when(locationDictionary.resolve(anyString()))
+                .thenAnswer(invocation -> location(invocation.getArgument(0)));
+        lenient().when(locationDictionary.register(anyString()))
+                .thenAnswer(invocation -> location(invocation.getArgument(0)));
+
+        // Behave like a cache miss: run the search
+        lenient().when(flightSearchCache.get(anyString(), anyString(), any(LocalDate.class), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<FlightSearchResponse>>>getArgument(4).get());
     }
 
     @Test
@@ -96,6 +155,40 @@ class FlightServiceTest {
         verify(flightRepository, times(1)).save(any(Flight.class));
     }
 
+    @Test
+    void testAddFlightInventory_Success_UpdatesSearchIndex() {
+        // Arrange
+        when(flightRepository.existsByFlightNumber(inventoryRequest.getFlightNumber())).thenReturn(false);
+        when(airlineRepository.findByAirlineCode("6E")).thenReturn(Optional.of(airline));
+        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+
+        // Act
+        flightService.addFlightInventory(inventoryRequest);
+
+        // Assert
+        verify(flightSearchIndex).flightSaved(flight);
+        verify(flightSearchCache).invalidate("Delhi", "Mumbai", flight.getDepartureTime());
+    }
+
+    @Test
+    void testAddFlightInventory_StoresLocationIdsAndDisplayNames() {
+        // Arrange
+        inventoryRequest.setFromLocation(" delhi");
+        when(locationDictionary.register(" delhi")).thenReturn(new LocationDictionary.Entry(1, "DEL", "Delhi"));
+        when(flightRepository.existsByFlightNumber(inventoryRequest.getFlightNumber())).thenReturn(false);
+        when(airlineRepository.findByAirlineCode("6E")).thenReturn(Optional.of(airline));
+        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+
+        // Act
+        flightService.addFlightInventory(inventoryRequest);
+
+        // Assert
+        verify(flightRepository).save(argThat(saved -> saved.getFromLocationId() == 1
+                && saved.getToLocationId() == 2
+                && saved.getFromLocation().equals("Delhi")));
+        verify(locationSuggester).flightAdded(new LocationDictionary.Entry(1, "DEL", "Delhi"), location("Mumbai"));
+    }
+
     @Test
     void testAddFlightInventory_InvalidTime_ThrowsException() {
         inventoryRequest.setArrivalTime(LocalDateTime.of(2025, 11, 20, 9, 0));
@@ -140,10 +233,10 @@ class FlightServiceTest {
                 .build();
 
         LocalDateTime startDate = searchRequest.getTravelDate().atStartOfDay();
-        LocalDateTime endDate = searchRequest.getTravelDate().atTime(LocalTime.MAX);
+        LocalDateTime endDate = searchRequest.getTravelDate().plusDays(1).atStartOfDay();
 
-        when(flightRepository.searchFlights("Delhi", "Mumbai", startDate, endDate, 2))
-                .thenReturn(Arrays.asList(flight));
+        when(flightRepository.searchFlights(1, 2, startDate, endDate, 2))
+                .thenReturn(Arrays.asList(FlightSnapshot.of(flight)));
 
         // Act
         List<FlightSearchResponse> responses = flightService.searchFlights(searchRequest);
@@ -165,9 +258,9 @@ class FlightServiceTest {
                 .build();
 
         LocalDateTime startDate = searchRequest.getTravelDate().atStartOfDay();
-        LocalDateTime endDate = searchRequest.getTravelDate().atTime(LocalTime.MAX);
+        LocalDateTime endDate = searchRequest.getTravelDate().plusDays(1).atStartOfDay();
 
-        when(flightRepository.searchFlights("Delhi", "Chennai", startDate, endDate, 2))
+        when(flightRepository.searchFlights(1, 3, startDate, endDate, 2))
                 .thenReturn(Arrays.asList());
 
         // Act
@@ -178,10 +271,496 @@ class FlightServiceTest {
         assertEquals(0, responses.size());
     }
 
+    @Test
+    void testSearchFlights_LocationCode_SearchesByDisplayNameAndId() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("del")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .build();
+        when(locationDictionary.resolve("del")).thenReturn(new LocationDictionary.Entry(1, "DEL", "Delhi"));
+        when(flightRepository.searchFlights(1, 2, LocalDate.of(2025, 11, 20).atStartOfDay(),
+                LocalDate.of(2025, 11, 21).atStartOfDay(), 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight)));
+
+        // Act
+        List<FlightSearchResponse> responses = flightService.searchFlights(searchRequest);
+
+        // Assert
+        assertEquals(1, responses.size());
+        verify(flightSearchCache).get(eq("Delhi"), eq("Mumbai"), eq(LocalDate.of(2025, 11, 20)), eq(2), any());
+    }
+
+    @Test
+    void testSearchFlights_UnknownLocation_ReturnsEmptyWithoutSearching() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Atlantis")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .build();
+
+        // Act
+        List<FlightSearchResponse> responses = flightService.searchFlights(searchRequest);
+
+        // Assert
+        assertTrue(responses.isEmpty());
+        verifyNoInteractions(flightRepository, flightSearchIndex, flightSearchCache);
+    }
+
+    @Test
+    void testSearchFlights_IndexReady_SkipsDatabase() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .build();
+
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(flightSearchIndex.search("Delhi", "Mumbai", LocalDate.of(2025, 11, 20), 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight)));
+
+        // Act
+        List<FlightSearchResponse> responses = flightService.searchFlights(searchRequest);
+
+        // Assert
+        assertEquals(1, responses.size());
+        assertEquals("6E2001", responses.get(0).getFlightNumber());
+        assertEquals("IndiGo", responses.get(0).getAirlineName());
+        assertEquals("2h 30m", responses.get(0).getDuration());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSearchFlights_CheapestOfAirline_KeepsBestAndSkipsCache() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .airlineCodes(List.of("6e"))
+                .sortBy(FlightSearchRequest.SortBy.PRICE)
+                .maxResults(1)
+                .build();
+        FlightSnapshot indigo = FlightSnapshot.of(flight);
+        FlightSnapshot cheaperIndigo = new FlightSnapshot(2L, "6E2002", "IndiGo", "6E", "Delhi", "Mumbai",
+                LocalDateTime.of(2025, 11, 20, 18, 0), LocalDateTime.of(2025, 11, 20, 20, 0),
+                180, 100, new BigDecimal("4500.00"), true);
+        FlightSnapshot cheapestOther = new FlightSnapshot(3L, "AI101", "Air India", "AI", "Delhi", "Mumbai",
+                LocalDateTime.of(2025, 11, 20, 7, 0), LocalDateTime.of(2025, 11, 20, 9, 0),
+                180, 100, new BigDecimal("3000.00"), true);
+
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(pricingEngine.fareMinor(any(FlightSnapshot.class)))
+                .thenAnswer(invocation -> invocation.<FlightSnapshot>getArgument(0).basePriceMinor());
+        doAnswer(invocation -> {
+            Consumer<FlightSnapshot> action = invocation.getArgument(4);
+            List.of(cheapestOther, indigo, cheaperIndigo).forEach(action);
+            return null;
+        }).when(flightSearchIndex).forEachMatch(eq("Delhi"), eq("Mumbai"), eq(LocalDate.of(2025, 11, 20)), eq(2), any());
+
+        // Act
+        List<FlightSearchResponse> responses = flightService.searchFlights(searchRequest);
+
+        // Assert
+        assertEquals(1, responses.size());
+        assertEquals("6E2002", responses.get(0).getFlightNumber());
+        // Search results are not quoted; the token comes with the flight details
+        assertNull(responses.get(0).getPriceToken());
+        verify(pricingEngine, never()).issueToken(anyLong(), anyLong());
+        verifyNoInteractions(flightRepository, flightSearchCache);
+    }
+
+    @Test
+    void testSearchFlightsPage_WithFilters_ThrowsException() {
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .pageSize(20)
+                .maxPrice(new BigDecimal("5000.00"))
+                .build();
+
+        assertThrows(BusinessException.class, () -> {
+            flightService.searchFlightsPage(searchRequest);
+        });
+        verifyNoInteractions(flightSearchIndex, flightRepository);
+    }
+
+    @Test
+    void testSearchFlightsPage_IndexReady_CursorResumesAfterLastFlight() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .pageSize(1)
+                .build();
+        Flight later = Flight.builder()
+                .id(2L)
+                .flightNumber("6E2002")
+                .airline(airline)
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .departureTime(LocalDateTime.of(2025, 11, 20, 18, 0))
+                .arrivalTime(LocalDateTime.of(2025, 11, 20, 20, 0))
+                .totalSeats(180)
+                .availableSeats(100)
+                .basePrice(new BigDecimal("4500.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(flightSearchIndex.searchAfter("Delhi", "Mumbai", LocalDate.of(2025, 11, 20), 2,
+                LocalDate.of(2025, 11, 20).atStartOfDay(), Long.MIN_VALUE, 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight), FlightSnapshot.of(later)));
+        when(flightSearchIndex.searchAfter("Delhi", "Mumbai", LocalDate.of(2025, 11, 20), 2,
+                flight.getDepartureTime(), flight.getId(), 2))
+                .thenReturn(List.of(FlightSnapshot.of(later)));
+
+        // Act
+        FlightSearchPage first = flightService.searchFlightsPage(searchRequest);
+        searchRequest.setCursor(first.getNextCursor());
+        FlightSearchPage second = flightService.searchFlightsPage(searchRequest);
+
+        // Assert
+        assertEquals("6E2001", first.getFlights().get(0).getFlightNumber());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getFlights().size());
+        assertEquals("6E2002", second.getFlights().get(0).getFlightNumber());
+        assertNull(second.getNextCursor());
+        verifyNoInteractions(flightRepository, flightSearchCache);
+    }
+
+    @Test
+    void testSearchFlightsPage_IndexLoading_QueriesDatabaseForOneExtraRow() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .pageSize(20)
+                .build();
+
+        when(flightSearchIndex.isReady()).thenReturn(false);
+        when(flightRepository.searchFlightsAfter(1, 2,
+                LocalDate.of(2025, 11, 20).atStartOfDay(), LocalDate.of(2025, 11, 21).atStartOfDay(), 2,
+                LocalDate.of(2025, 11, 20).atStartOfDay(), Long.MIN_VALUE, PageRequest.ofSize(21)))
+                .thenReturn(List.of(FlightSnapshot.of(flight)));
+
+        // Act
+        FlightSearchPage page = flightService.searchFlightsPage(searchRequest);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testSearchFlightsPage_InvalidCursor_ThrowsException() {
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .cursor("not-a-cursor")
+                .build();
+
+        assertThrows(BusinessException.class, () -> {
+            flightService.searchFlightsPage(searchRequest);
+        });
+        verifyNoInteractions(flightSearchIndex, flightRepository);
+    }
+
+    @Test
+    void testStreamFlights_IndexLoading_ReadsDatabaseCursorInTransaction() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .build();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(flightSearchIndex.isReady()).thenReturn(false);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(flightRepository.streamFlights(1, 2,
+                LocalDate.of(2025, 11, 20).atStartOfDay(), LocalDate.of(2025, 11, 21).atStartOfDay(), 2))
+                .thenReturn(Stream.of(FlightSnapshot.of(flight)).onClose(() -> closed.set(true)));
+
+        // Act
+        List<FlightSearchResponse> streamed = new ArrayList<>();
+        flightService.streamFlights(searchRequest, streamed::add);
+
+        // Assert
+        assertEquals(1, streamed.size());
+        assertEquals("6E2001", streamed.get(0).getFlightNumber());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testSearchRoundTrip_SearchesBothLegs() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .returnDate(LocalDate.of(2025, 11, 25))
+                .numberOfPassengers(2)
+                .isRoundTrip(true)
+                .build();
+        Flight returnFlight = Flight.builder()
+                .id(2L)
+                .flightNumber("6E2002")
+                .airline(airline)
+                .fromLocation("Mumbai")
+                .toLocation("Delhi")
+                .departureTime(LocalDateTime.of(2025, 11, 25, 18, 0))
+                .arrivalTime(LocalDateTime.of(2025, 11, 25, 20, 10))
+                .totalSeats(180)
+                .availableSeats(40)
+                .basePrice(new BigDecimal("5200.00"))
+                .build();
+
+        when(flightSearchExecutor.submit(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        invocation.<Supplier<?>>getArgument(0).get()));
+        when(flightRepository.searchFlights(1, 2,
+                LocalDate.of(2025, 11, 20).atStartOfDay(), LocalDate.of(2025, 11, 21).atStartOfDay(), 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight)));
+        when(flightRepository.searchFlights(2, 1,
+                LocalDate.of(2025, 11, 25).atStartOfDay(), LocalDate.of(2025, 11, 26).atStartOfDay(), 2))
+                .thenReturn(List.of(FlightSnapshot.of(returnFlight)));
+
+        // Act
+        RoundTripSearchResponse response = flightService.searchRoundTrip(searchRequest);
+
+        // Assert
+        assertEquals("6E2001", response.getOutboundFlights().get(0).getFlightNumber());
+        assertEquals("6E2002", response.getReturnFlights().get(0).getFlightNumber());
+        verify(flightSearchExecutor, times(1)).submit(any());
+    }
+
+    @Test
+    void testSearchRoundTrip_IndexReady_SearchesLegsInline() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .returnDate(LocalDate.of(2025, 11, 25))
+                .numberOfPassengers(2)
+                .isRoundTrip(true)
+                .build();
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(flightSearchIndex.search("Delhi", "Mumbai", LocalDate.of(2025, 11, 20), 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight)));
+        when(flightSearchIndex.search("Mumbai", "Delhi", LocalDate.of(2025, 11, 25), 2))
+                .thenReturn(List.of());
+
+        // Act
+        RoundTripSearchResponse response = flightService.searchRoundTrip(searchRequest);
+
+        // Assert
+        assertEquals(1, response.getOutboundFlights().size());
+        assertEquals(0, response.getReturnFlights().size());
+        verifyNoInteractions(flightSearchExecutor, flightRepository);
+    }
+
+    @Test
+    void testSearchRoundTrip_ReturnLegFailure_IsRethrown() {
+        // Arrange
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .returnDate(LocalDate.of(2025, 11, 25))
+                .numberOfPassengers(2)
+                .isRoundTrip(true)
+                .build();
+        when(flightSearchExecutor.submit(any()))
+                .thenReturn(CompletableFuture.failedFuture(new BusinessException("Search failed")));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            flightService.searchRoundTrip(searchRequest);
+        });
+        assertEquals("Search failed", exception.getMessage());
+    }
+
+    @Test
+    void testSearchRoundTrip_MissingOrEarlyReturnDate_ThrowsException() {
+        FlightSearchRequest searchRequest = FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(2)
+                .isRoundTrip(true)
+                .build();
+
+        assertThrows(BusinessException.class, () -> {
+            flightService.searchRoundTrip(searchRequest);
+        });
+
+        searchRequest.setReturnDate(LocalDate.of(2025, 11, 19));
+        assertThrows(BusinessException.class, () -> {
+            flightService.searchRoundTrip(searchRequest);
+        });
+        verifyNoInteractions(flightSearchExecutor);
+    }
+
+    @Test
+    void testSearchConnections_MapsItineraries() {
+        // Arrange
+        ConnectionSearchRequest request = ConnectionSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Chennai")
+                .travelDate(LocalDate.of(2025, 11, 20))
+                .numberOfPassengers(1)
+                .build();
+        Flight onward = Flight.builder()
+                .id(2L)
+                .flightNumber("6E2002")
+                .airline(airline)
+                .fromLocation("Mumbai")
+                .toLocation("Chennai")
+                .departureTime(LocalDateTime.of(2025, 11, 20, 14, 0))
+                .arrivalTime(LocalDateTime.of(2025, 11, 20, 16, 0))
+                .totalSeats(180)
+                .availableSeats(40)
+                .basePrice(new BigDecimal("3000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+        ConnectionFinder.Itinerary itinerary = new ConnectionFinder.Itinerary(
+                List.of(FlightSnapshot.of(flight), FlightSnapshot.of(onward)),
+                Duration.ofHours(6),
+                new BigDecimal("8000.00"));
+        when(connectionFinder.find(request)).thenReturn(List.of(itinerary));
+
+        // Act
+        List<ItineraryResponse> responses = flightService.searchConnections(request);
+
+        // Assert
+        assertEquals(1, responses.size());
+        assertEquals(1, responses.get(0).getStops());
+        assertEquals("6h 0m", responses.get(0).getDuration());
+        assertEquals("6E2002", responses.get(0).getLegs().get(1).getFlightNumber());
+        assertEquals(new BigDecimal("8000.00"), responses.get(0).getTotalPrice());
+    }
+
+    @Test
+    void testGetFareCalendar_IndexReady_SummarizesEachDay() {
+        // Arrange
+        LocalDate travelDate = LocalDate.now().plusDays(10);
+        FareCalendarRequest request = FareCalendarRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(travelDate)
+                .numberOfPassengers(2)
+                .flexDays(1)
+                .build();
+        Flight cheaper = Flight.builder()
+                .id(2L)
+                .flightNumber("6E2002")
+                .airline(airline)
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .departureTime(travelDate.atTime(18, 0))
+                .arrivalTime(travelDate.atTime(20, 0))
+                .totalSeats(180)
+                .availableSeats(20)
+                .basePrice(new BigDecimal("4200.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+        flight.setDepartureTime(travelDate.atTime(10, 0));
+        flight.setArrivalTime(travelDate.atTime(12, 30));
+
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(flightSearchIndex.search("Delhi", "Mumbai", travelDate.minusDays(1), travelDate.plusDays(1), 2))
+                .thenReturn(List.of(FlightSnapshot.of(flight), FlightSnapshot.of(cheaper)));
+        // The cheaper base price is nearly sold out, so its live fare is the higher one
+        when(pricingEngine.fare(any(FlightSnapshot.class))).thenAnswer(invocation ->
+                invocation.<FlightSnapshot>getArgument(0).id() == 1L
+                        ? new BigDecimal("5500.00") : new BigDecimal("7600.00"));
+
+        // Act
+        SortedMap<LocalDate, FareCalendarDay> calendar = flightService.getFareCalendar(request);
+
+        // Assert
+        assertEquals(List.of(travelDate.minusDays(1), travelDate, travelDate.plusDays(1)),
+                List.copyOf(calendar.keySet()));
+        FareCalendarDay day = calendar.get(travelDate);
+        assertEquals(new BigDecimal("4200.00"), day.getMinBasePrice());
+        assertEquals(new BigDecimal("5500.00"), day.getMinFare());
+        assertEquals(2, day.getFlightCount());
+        assertEquals(flight.getAvailableSeats(), day.getMaxAvailableSeats());
+        assertNull(calendar.get(travelDate.plusDays(1)).getMinBasePrice());
+        assertEquals(0, calendar.get(travelDate.plusDays(1)).getFlightCount());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testGetFareCalendar_IndexLoading_PricesDatabaseRowsAndSkipsPastDays() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        FareCalendarRequest request = FareCalendarRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(today)
+                .numberOfPassengers(1)
+                .flexDays(2)
+                .build();
+        FlightSnapshot morning = new FlightSnapshot(2L, "6E2002", "IndiGo", "6E", "Delhi", "Mumbai",
+                today.plusDays(1).atTime(7, 0), today.plusDays(1).atTime(9, 0),
+                180, 150, new BigDecimal("3900.00"), true);
+        FlightSnapshot evening = new FlightSnapshot(3L, "6E2003", "IndiGo", "6E", "Delhi", "Mumbai",
+                today.plusDays(1).atTime(19, 0), today.plusDays(1).atTime(21, 0),
+                180, 40, new BigDecimal("4100.00"), true);
+
+        when(flightSearchIndex.isReady()).thenReturn(false);
+        when(flightRepository.searchFlights(1, 2,
+                today.atStartOfDay(), today.plusDays(3).atStartOfDay(), 1))
+                .thenReturn(List.of(morning, evening));
+        when(pricingEngine.fare(morning)).thenReturn(new BigDecimal("4300.00"));
+        when(pricingEngine.fare(evening)).thenReturn(new BigDecimal("6200.00"));
+
+        // Act
+        SortedMap<LocalDate, FareCalendarDay> calendar = flightService.getFareCalendar(request);
+
+        // Assert
+        assertEquals(today, calendar.firstKey());
+        assertEquals(3, calendar.size());
+        FareCalendarDay day = calendar.get(today.plusDays(1));
+        assertEquals(new BigDecimal("3900.00"), day.getMinBasePrice());
+        assertEquals(new BigDecimal("4300.00"), day.getMinFare());
+        assertEquals(2, day.getFlightCount());
+        assertEquals(150, day.getMaxAvailableSeats());
+        assertEquals(0, calendar.get(today).getFlightCount());
+    }
+
     @Test
     void testGetFlightById_Success() {
         // Arrange
+        when(lookupGuard.mightExistFlight(1L)).thenReturn(true);
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(pricingEngine.fareMinor(any(FlightSnapshot.class))).thenReturn(550_000L);
+        when(pricingEngine.issueToken(1L, 550_000L)).thenReturn("token");
 
         // Act
         FlightSearchResponse response = flightService.getFlightById(1L);
@@ -190,11 +769,14 @@ class FlightServiceTest {
         assertNotNull(response);
         assertEquals(1L, response.getFlightId());
         assertEquals("6E2001", response.getFlightNumber());
+        assertEquals(new BigDecimal("5500.00"), response.getFare());
+        assertEquals("token", response.getPriceToken());
     }
 
     @Test
     void testGetFlightById_NotFound_ThrowsException() {
         // Arrange
+        when(lookupGuard.mightExistFlight(999L)).thenReturn(true);
         when(flightRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -203,31 +785,63 @@ class FlightServiceTest {
         });
     }
 
+    @Test
+    void testGetFlightById_UnknownToLookupGuard_SkipsDatabase() {
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightById(999L));
+        verify(flightRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testUpdateAvailableSeats_Success() {
         // Arrange
+        when(flightRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
+
+        flightService.updateAvailableSeats(1L, -2);
+        verify(flightRepository, times(1)).decrementAvailableSeats(1L, 2);
+        verify(flightRepository, never()).save(any(Flight.class));
+        verify(flightSearchIndex).seatsAdjusted(1L, -2);
+    }
+
+    @Test
+    void testUpdateAvailableSeats_ReleaseSeats_Success() {
+        // Arrange
+        when(flightRepository.incrementAvailableSeats(1L, 2)).thenReturn(1);
+        when(flightSearchIndex.get(1L)).thenReturn(FlightSnapshot.of(flight));
+
+        flightService.updateAvailableSeats(1L, 2);
+        verify(flightRepository, times(1)).incrementAvailableSeats(1L, 2);
+        verify(flightRepository, never()).findById(1L);
+        verify(flightSearchCache).invalidate("Delhi", "Mumbai", flight.getDepartureTime());
+    }
+
+    @Test
+    void testUpdateAvailableSeats_FlightNotIndexed_InvalidatesFromEntity() {
+        // Arrange
+        when(flightRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
 
         flightService.updateAvailableSeats(1L, -2);
-        verify(flightRepository, times(1)).save(any(Flight.class));
+        verify(flightSearchCache).invalidate("Delhi", "Mumbai", flight.getDepartureTime());
     }
 
     @Test
     void testUpdateAvailableSeats_NotEnoughSeats_ThrowsException() {
         // Arrange
+        when(flightRepository.decrementAvailableSeats(1L, 200)).thenReturn(0);
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
 
         // trying to reduce more seats than available
         assertThrows(BusinessException.class, () -> {
             flightService.updateAvailableSeats(1L, -200);
         });
+        verify(flightSearchIndex, never()).seatsAdjusted(anyLong(), anyInt());
+        verify(flightSearchCache, never()).invalidate(anyString(), anyString(), any(LocalDateTime.class));
     }
 
     @Test
     void testUpdateAvailableSeats_ExceedsTotalSeats_ThrowsException() {
         // Arrange
-        flight.setAvailableSeats(170);
+        when(flightRepository.incrementAvailableSeats(1L, 20)).thenReturn(0);
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
 
         // trying to increase beyond total seats
@@ -235,4 +849,20 @@ class FlightServiceTest {
             flightService.updateAvailableSeats(1L, 20);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateAvailableSeats_FlightNotFound_ThrowsException() {
+        // Arrange
+        when(flightRepository.decrementAvailableSeats(999L, 1)).thenReturn(0);
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            flightService.updateAvailableSeats(999L, -1);
+        });
+    }
+
+    private static LocationDictionary.Entry location(String name) {
+        int id = List.of("Delhi", "Mumbai", "Chennai").indexOf(name) + 1;
+        return id > 0 ? new LocationDictionary.Entry(id, null, name) : null;
+    }
+}
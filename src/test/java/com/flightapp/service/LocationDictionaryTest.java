@@ -0,0 +1,173 @@
+package com.flightapp.service;
+
+import com.flightapp.entity.Location;
+import com.flightapp.exceptions.DuplicateResourceException;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocationDictionaryTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final BoundedTtlCacheTest.MutableClock clock = new BoundedTtlCacheTest.MutableClock();
+
+    private LocationDictionary locationDictionary;
+
+    @BeforeEach
+    void setUp() {
+        locationDictionary = new LocationDictionary(locationRepository, flightRepository, transactionManager,
+                100, Duration.ofSeconds(60).toMillis(), clock);
+    }
+
+    @Test
+    void testResolve_NameInAnyCaseOrCode() {
+        when(locationRepository.findAll()).thenReturn(List.of(location(1, "Delhi", "DEL"), location(2, "Mumbai", null)));
+        locationDictionary.load();
+
+        assertEquals(1, locationDictionary.resolve("Delhi").id());
+        assertEquals(1, locationDictionary.resolve("  dELHI ").id());
+        assertEquals(1, locationDictionary.resolve("del").id());
+        assertEquals("Mumbai", locationDictionary.canonicalName("mumbai"));
+        verify(locationRepository, never()).findByNormalizedName(anyString());
+    }
+
+    @Test
+    void testResolve_UnknownLocationLooksUpDatabaseOnce() {
+        when(locationRepository.findByNormalizedName("chennai")).thenReturn(Optional.of(location(3, "Chennai", "MAA")));
+
+        assertEquals(3, locationDictionary.resolve("Chennai").id());
+        assertEquals(3, locationDictionary.resolve("MAA").id());
+        verify(locationRepository, times(1)).findByNormalizedName("chennai");
+    }
+
+    @Test
+    void testResolve_UnknownCodeOrName() {
+        assertNull(locationDictionary.resolve("XYZ"));
+        assertEquals("Atlantis", locationDictionary.canonicalName("Atlantis"));
+        verify(locationRepository).findByLocationCode("XYZ");
+    }
+
+    @Test
+    void testResolve_UnknownLocationIsRememberedUntilTtl() {
+        assertNull(locationDictionary.resolve("Atlantis"));
+        assertNull(locationDictionary.resolve(" atlantis"));
+        assertNull(locationDictionary.resolve("XYZ"));
+        assertNull(locationDictionary.resolve("xyz"));
+        verify(locationRepository, times(1)).findByNormalizedName("atlantis");
+        verify(locationRepository, times(1)).findByLocationCode("XYZ");
+
+        // Registered by another node in the meantime
+        when(locationRepository.findByNormalizedName("atlantis")).thenReturn(Optional.of(location(6, "Atlantis", null)));
+        clock.advance(Duration.ofSeconds(61));
+
+        assertEquals(6, locationDictionary.resolve("Atlantis").id());
+    }
+
+    @Test
+    void testResolve_LocationRegisteredAfterMissResolves() {
+        assertNull(locationDictionary.resolve("Pune"));
+        when(locationRepository.findByNormalizedName("pune")).thenReturn(Optional.of(location(4, "Pune", null)));
+
+        locationDictionary.register("Pune");
+
+        assertEquals(4, locationDictionary.resolve("pune").id());
+    }
+
+    @Test
+    void testRegister_CreatesLocationOnce() {
+        when(locationRepository.findByNormalizedName("pune")).thenReturn(Optional.empty());
+        when(locationRepository.saveAndFlush(any(Location.class))).thenAnswer(invocation -> {
+            Location location = invocation.getArgument(0);
+            location.setId(4);
+            return location;
+        });
+
+        LocationDictionary.Entry created = locationDictionary.register(" Pune ");
+        LocationDictionary.Entry again = locationDictionary.register("PUNE");
+
+        assertEquals(new LocationDictionary.Entry(4, null, "Pune"), created);
+        assertSame(created, again);
+        verify(locationRepository, times(1)).saveAndFlush(any(Location.class));
+    }
+
+    @Test
+    void testRegister_ConcurrentInsertReadsWinner() {
+        when(locationRepository.findByNormalizedName("goa"))
+                .thenReturn(Optional.empty(), Optional.of(location(5, "Goa", null)));
+        when(locationRepository.saveAndFlush(any(Location.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'goa'"));
+
+        assertEquals(5, locationDictionary.register("Goa").id());
+    }
+
+    @Test
+    void testDefine_CodeTakenByAnotherLocation() {
+        when(locationRepository.findByNormalizedName("mumbai")).thenReturn(Optional.of(location(2, "Mumbai", null)));
+        when(locationRepository.findByLocationCode("DEL")).thenReturn(Optional.of(location(1, "Delhi", "DEL")));
+
+        assertThrows(DuplicateResourceException.class, () -> locationDictionary.define("Mumbai", "del"));
+        verify(locationRepository, never()).saveAndFlush(any(Location.class));
+    }
+
+    @Test
+    void testDefine_ReplacedCodeNoLongerResolves() {
+        when(locationRepository.findAll()).thenReturn(List.of(location(1, "Delhi", "DLI")));
+        locationDictionary.load();
+        when(locationRepository.findByNormalizedName("delhi")).thenReturn(Optional.of(location(1, "Delhi", "DLI")));
+        when(locationRepository.saveAndFlush(any(Location.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LocationDictionary.Entry entry = locationDictionary.define("Delhi", "del");
+
+        assertEquals("DEL", entry.code());
+        assertEquals(1, locationDictionary.resolve("DEL").id());
+        assertNull(locationDictionary.resolve("DLI"));
+    }
+
+    @Test
+    void testLoad_BackfillsFlightsWithoutLocationIds() {
+        when(locationRepository.findAll()).thenReturn(List.of(location(1, "Delhi", "DEL")));
+        when(flightRepository.findUnmappedFromLocations()).thenReturn(List.of("delhi"));
+        when(flightRepository.findUnmappedToLocations()).thenReturn(List.of("Mumbai"));
+        when(locationRepository.findByNormalizedName("mumbai")).thenReturn(Optional.of(location(2, "Mumbai", null)));
+
+        locationDictionary.load();
+
+        verify(flightRepository).assignFromLocation("delhi", 1, "Delhi");
+        verify(flightRepository).assignToLocation("Mumbai", 2, "Mumbai");
+    }
+
+    // Helper methods
+
+    private static Location location(int id, String name, String code) {
+        return Location.builder()
+                .id(id)
+                .locationName(name)
+                .normalizedName(LocationDictionary.normalize(name))
+                .locationCode(code)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LocationResponse;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationSuggesterTest {
+
+    private static final LocationDictionary.Entry DELHI = new LocationDictionary.Entry(1, "DEL", "Delhi");
+    private static final LocationDictionary.Entry NEW_DELHI = new LocationDictionary.Entry(2, null, "New Delhi");
+    private static final LocationDictionary.Entry DEHRADUN = new LocationDictionary.Entry(3, "DED", "Dehradun");
+    private static final LocationDictionary.Entry MUMBAI = new LocationDictionary.Entry(4, "BOM", "Mumbai");
+    private static final LocationDictionary.Entry DIU = new LocationDictionary.Entry(5, "DIU", "Diu");
+
+    @Mock
+    private LocationDictionary locationDictionary;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private LocationSuggester locationSuggester;
+
+    @BeforeEach
+    void setUp() {
+        when(locationDictionary.entries()).thenReturn(List.of(DELHI, NEW_DELHI, DEHRADUN, MUMBAI, DIU));
+        when(flightRepository.countUpcomingFlightsByFromLocation(any(LocalDateTime.class)))
+                .thenReturn(List.of(count(1, 40), count(2, 5), count(3, 10), count(4, 50)));
+        when(flightRepository.countUpcomingFlightsByToLocation(any(LocalDateTime.class)))
+                .thenReturn(List.of(count(1, 40), count(3, 20), count(4, 50)));
+
+        locationSuggester = new LocationSuggester(locationDictionary, flightRepository, 3);
+        locationSuggester.load();
+    }
+
+    @Test
+    void testSuggest_RankedByUpcomingFlights() {
+        assertEquals(List.of("Delhi", "Dehradun", "New Delhi"), names(locationSuggester.suggest("De", 10)));
+    }
+
+    @Test
+    void testSuggest_MatchesWordsAndCodesInAnyCase() {
+        assertEquals(List.of("Delhi", "New Delhi"), names(locationSuggester.suggest("  DELH", 10)));
+        assertEquals(List.of("Mumbai"), names(locationSuggester.suggest("bom", 10)));
+        // "del" matches Delhi by name and by code, but it is suggested once
+        assertEquals(List.of("Delhi", "New Delhi"), names(locationSuggester.suggest("del", 10)));
+    }
+
+    @Test
+    void testSuggest_SkipsLocationsWithoutFlights() {
+        assertTrue(locationSuggester.suggest("diu", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_LimitAndBlankQuery() {
+        assertEquals(List.of("Delhi"), names(locationSuggester.suggest("d", 1)));
+        assertEquals(3, locationSuggester.suggest("d", 50).size());
+        assertTrue(locationSuggester.suggest("   ", 10).isEmpty());
+        assertTrue(locationSuggester.suggest("delhix", 10).isEmpty());
+    }
+
+    @Test
+    void testFlightAdded_UpdatesRankingAndAddsNewLocations() {
+        LocationDictionary.Entry dharamshala = new LocationDictionary.Entry(6, null, "Dharamshala");
+        locationSuggester.flightAdded(dharamshala, DIU);
+
+        assertEquals(List.of("Dharamshala"), names(locationSuggester.suggest("dha", 10)));
+        assertEquals(List.of("Diu"), names(locationSuggester.suggest("diu", 10)));
+    }
+
+    @Test
+    void testLocationSaved_NewCodeIsSuggested() {
+        locationSuggester.locationSaved(new LocationDictionary.Entry(2, "NDL", "New Delhi"));
+
+        List<LocationResponse> suggestions = locationSuggester.suggest("ndl", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals("NDL", suggestions.get(0).getLocationCode());
+    }
+
+    // Helper methods
+
+    private static List<String> names(List<LocationResponse> suggestions) {
+        return suggestions.stream().map(LocationResponse::getLocationName).toList();
+    }
+
+    private static FlightRepository.LocationFlightCount count(int locationId, long flights) {
+        return new FlightRepository.LocationFlightCount() {
+            @Override
+            public Integer getLocationId() {
+                return locationId;
+            }
+
+            @Override
+            public Long getFlightCount() {
+                return flights;
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.LookupGuardStats;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LookupGuardTest {
+
+    private static final long NOW = PNRGeneratorService.EPOCH_SECONDS * 1000 + 60_000_000_000L;
+    private static final long GRACE = 300_000;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final PNRGeneratorService thisNode = new PNRGeneratorService(0, () -> clock.get() / 1000);
+    private final PNRGeneratorService otherNode = new PNRGeneratorService(1, () -> clock.get() / 1000);
+
+    private BookingRepository bookingRepository;
+    private FlightRepository flightRepository;
+    private LookupGuard lookupGuard;
+    private String storedPnr;
+    private long storedFlightId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        flightRepository = mock(FlightRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // Issued an hour before startup
+        clock.set(NOW - 3_600_000);
+        storedPnr = thisNode.generatePNR();
+        storedFlightId = flightId(clock.get(), 0);
+        clock.set(NOW);
+
+        when(bookingRepository.streamAllPnrs()).thenAnswer(invocation -> Stream.of(storedPnr, "251116ABCD"));
+        when(flightRepository.streamAllIds()).thenAnswer(invocation -> Stream.of(storedFlightId, 42L));
+        lookupGuard = new LookupGuard(bookingRepository, flightRepository, transactionTemplate,
+                1_000, 1_000, 0.01, GRACE, clock::get);
+    }
+
+    @Test
+    void testBeforeLoad_EverythingMightExist() {
+        assertTrue(lookupGuard.mightExistPnr(storedPnr));
+        assertTrue(lookupGuard.mightExistPnr("251116ZZZZ"));
+        assertTrue(lookupGuard.mightExistFlight(12345L));
+    }
+
+    @Test
+    void testAfterLoad_StoredKeysMightExist() {
+        lookupGuard.load();
+
+        assertTrue(lookupGuard.mightExistPnr(storedPnr));
+        assertTrue(lookupGuard.mightExistPnr(storedPnr.toLowerCase()));
+        assertTrue(lookupGuard.mightExistPnr("251116ABCD"));
+        assertTrue(lookupGuard.mightExistFlight(storedFlightId));
+        assertTrue(lookupGuard.mightExistFlight(42L));
+    }
+
+    @Test
+    void testAfterLoad_UnknownKeysAreRejected() {
+        lookupGuard.load();
+
+        assertFalse(lookupGuard.mightExistPnr("251116ZZZZ"));
+        assertFalse(lookupGuard.mightExistPnr("not a pnr"));
+        assertFalse(lookupGuard.mightExistFlight(43L));
+        assertFalse(lookupGuard.mightExistFlight(-1L));
+
+        List<LookupGuardStats> stats = lookupGuard.getStats();
+        assertEquals(2, stats.get(0).getKeys());
+        assertEquals(2, stats.get(0).getRejectedLookups());
+        assertEquals(2, stats.get(1).getRejectedLookups());
+        assertTrue(stats.get(0).getMemoryBytes() > 0);
+    }
+
+    @Test
+    void testAfterLoad_KeysIssuedLaterAreKnownOrLookedUp() {
+        lookupGuard.load();
+        clock.addAndGet(60_000);
+
+        // Issued here: added to the filter
+        String issuedHere = thisNode.generatePNR();
+        lookupGuard.pnrIssued(issuedHere);
+        long addedHere = flightId(clock.get(), 0);
+        lookupGuard.flightAdded(addedHere);
+        // Issued on another node after the load: this filter cannot know, so the database decides
+        String issuedElsewhere = otherNode.generatePNR();
+        long addedElsewhere = flightId(clock.get(), 1);
+
+        assertTrue(lookupGuard.mightExistPnr(issuedHere));
+        assertTrue(lookupGuard.mightExistFlight(addedHere));
+        assertTrue(lookupGuard.mightExistPnr(issuedElsewhere));
+        assertTrue(lookupGuard.mightExistFlight(addedElsewhere));
+    }
+
+    @Test
+    void testKeysFromTheFuture_AreRejected() {
+        clock.addAndGet(GRACE + 60_000);
+        String future = thisNode.generatePNR();
+        long futureFlight = flightId(clock.get(), 0);
+        clock.set(NOW);
+
+        assertFalse(lookupGuard.mightExistPnr(future));
+        assertFalse(lookupGuard.mightExistFlight(futureFlight));
+    }
+
+    // Helper methods
+
+    // [millis since 2025-01-01][node][sequence], as TimeOrderedIdGenerator hands them out
+    private static long flightId(long epochMillis, int node) {
+        return ((epochMillis - PNRGeneratorService.EPOCH_SECONDS * 1000) << 12) | ((long) node << 8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PNRGeneratorServiceTest {
+
+    private static final long NOW = PNRGeneratorService.EPOCH_SECONDS + 60_000_000L;
+
+    @Test
+    void testGeneratePNR_FormatIsLetterThenBase36() {
+        PNRGeneratorService generator = new PNRGeneratorService(0, () -> NOW);
+
+        for (int i = 0; i < 1000; i++) {
+            String pnr = generator.generatePNR();
+            assertEquals(10, pnr.length());
+            assertTrue(pnr.matches("[A-Z][A-Z0-9]{9}"), pnr);
+        }
+    }
+
+    @Test
+    void testGeneratePNR_UniqueWhenSequenceOverflowsWithinOneSecond() {
+        PNRGeneratorService generator = new PNRGeneratorService(0, () -> NOW);
+
+        Set<String> pnrs = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(pnrs.add(generator.generatePNR()));
+        }
+    }
+
+    @Test
+    void testGeneratePNR_UniqueAcrossNodes() {
+        Set<String> pnrs = new HashSet<>();
+        for (int node = 0; node < 16; node++) {
+            PNRGeneratorService generator = new PNRGeneratorService(node, () -> NOW);
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(pnrs.add(generator.generatePNR()));
+            }
+        }
+    }
+
+    @Test
+    void testGeneratePNR_UniqueAcrossRestart() {
+        AtomicLong clock = new AtomicLong(NOW);
+        Set<String> pnrs = new HashSet<>();
+
+        PNRGeneratorService beforeRestart = new PNRGeneratorService(0, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            pnrs.add(beforeRestart.generatePNR());
+        }
+
+        clock.incrementAndGet();
+        PNRGeneratorService afterRestart = new PNRGeneratorService(0, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(pnrs.add(afterRestart.generatePNR()));
+        }
+    }
+
+    @Test
+    void testGeneratePNR_UniqueAcrossThreads() throws Exception {
+        PNRGeneratorService generator = new PNRGeneratorService(0);
+        Set<String> pnrs = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    pnrs.add(generator.generatePNR());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, pnrs.size());
+    }
+
+    @Test
+    void testGeneratePNR_ConsecutiveValuesDoNotShareAPrefix() {
+        PNRGeneratorService generator = new PNRGeneratorService(0, () -> NOW);
+
+        String first = generator.generatePNR();
+        String second = generator.generatePNR();
+
+        assertNotEquals(first.substring(0, 5), second.substring(0, 5));
+    }
+
+    @Test
+    void testMix_IsAPermutationOfLowBits() {
+        Set<Long> mixed = new HashSet<>();
+        for (long value = 0; value < 100_000; value++) {
+            long result = PNRGeneratorService.mix(value);
+            assertTrue(result >= 0 && result < (1L << PNRGeneratorService.VALUE_BITS));
+            assertTrue(mixed.add(result));
+        }
+    }
+
+    @Test
+    void testEncode_LargestValueStillFitsTenCharacters() {
+        assertEquals("W", PNRGeneratorService.encode((1L << PNRGeneratorService.VALUE_BITS) - 1).substring(0, 1));
+        assertEquals("A000000000", PNRGeneratorService.encode(0));
+    }
+
+    @Test
+    void testIssuedAtEpochSecond_RecoversIssueTime() {
+        PNRGeneratorService generator = new PNRGeneratorService(7, () -> NOW);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(NOW, PNRGeneratorService.issuedAtEpochSecond(generator.generatePNR()));
+        }
+        assertEquals(-1, PNRGeneratorService.issuedAtEpochSecond("251116ABCD"));
+        assertEquals(-1, PNRGeneratorService.issuedAtEpochSecond("ABC"));
+        assertEquals(-1, PNRGeneratorService.issuedAtEpochSecond("Zzzzzzzzzz"));
+    }
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new PNRGeneratorService(16));
+    }
+}
@@ -0,0 +1,162 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 16);
+
+    private MutableClock clock;
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(10, 0).toInstant(ZoneOffset.UTC));
+        pricingEngine = engine("secret");
+    }
+
+    @Test
+    void testFare_LoadFactorBuckets() {
+        // 29 days out: multiplier 1.0
+        assertEquals(new BigDecimal("5000.00"), pricingEngine.fare(flight(29, 180, 180, "5000.00")));
+        assertEquals(new BigDecimal("5000.00"), pricingEngine.fare(flight(29, 180, 91, "5000.00")));  // 49% sold
+        assertEquals(new BigDecimal("5500.00"), pricingEngine.fare(flight(29, 180, 90, "5000.00")));  // 50% sold
+        assertEquals(new BigDecimal("7500.00"), pricingEngine.fare(flight(29, 180, 10, "5000.00")));  // 94% sold
+        assertEquals(new BigDecimal("9000.00"), pricingEngine.fare(flight(29, 180, 0, "5000.00")));   // sold out
+    }
+
+    @Test
+    void testFare_DaysToDepartureBuckets() {
+        assertEquals(new BigDecimal("7000.00"), pricingEngine.fare(flight(0, 180, 180, "5000.00")));
+        assertEquals(new BigDecimal("6250.00"), pricingEngine.fare(flight(3, 180, 180, "5000.00")));
+        assertEquals(new BigDecimal("5500.00"), pricingEngine.fare(flight(13, 180, 180, "5000.00")));
+        assertEquals(new BigDecimal("4500.00"), pricingEngine.fare(flight(90, 180, 180, "5000.00")));
+        // Already departed today or in the past: the closest bucket
+        assertEquals(new BigDecimal("7000.00"), pricingEngine.fare(flight(-1, 180, 180, "5000.00")));
+    }
+
+    @Test
+    void testFare_RoundsToWholeRupees() {
+        // 4999.40 x 1.1 = 5499.34
+        assertEquals(549_900L, pricingEngine.fareMinor(flight(13, 180, 180, "4999.40")));
+        // 4321.45 x 0.9 = 3889.305
+        assertEquals(388_900L, pricingEngine.fareMinor(flight(90, 180, 180, "4321.45")));
+    }
+
+    @Test
+    void testFare_FollowsTheClockAcrossMidnight() {
+        FlightSnapshot flight = flight(3, 180, 180, "5000.00");
+        assertEquals(new BigDecimal("6250.00"), pricingEngine.fare(flight));
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(new BigDecimal("7000.00"), pricingEngine.fare(flight));
+    }
+
+    @Test
+    void testLowestFare_IsNeverAboveAnyFare() {
+        // Cheapest buckets: 1.0 load factor x 0.9 far out
+        assertEquals(new BigDecimal("3889.00"), pricingEngine.lowestFare(new BigDecimal("4321.45")));
+        assertTrue(pricingEngine.lowestFare(new BigDecimal("4321.45"))
+                .compareTo(pricingEngine.fare(flight(90, 180, 180, "4321.45"))) <= 0);
+    }
+
+    @Test
+    void testRedeemToken_ReturnsQuotedFare() {
+        String token = pricingEngine.issueToken(42L, 612_300L);
+
+        assertEquals(612_300L, pricingEngine.redeemToken(token, 42L));
+    }
+
+    @Test
+    void testRedeemToken_Expired_ThrowsException() {
+        String token = pricingEngine.issueToken(42L, 612_300L);
+        clock.advance(Duration.ofMinutes(16));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> pricingEngine.redeemToken(token, 42L));
+        assertTrue(exception.getMessage().contains("expired"));
+    }
+
+    @Test
+    void testRedeemToken_InvalidTokens_ThrowException() {
+        String token = pricingEngine.issueToken(42L, 612_300L);
+        String[] parts = token.split("\\.");
+        String cheaper = parts[0] + "." + Long.toString(100L, 36) + "." + parts[2] + "." + parts[3];
+
+        assertThrows(BusinessException.class, () -> pricingEngine.redeemToken(token, 43L));
+        assertThrows(BusinessException.class, () -> pricingEngine.redeemToken(cheaper, 42L));
+        assertThrows(BusinessException.class, () -> pricingEngine.redeemToken("not-a-token", 42L));
+        assertThrows(BusinessException.class, () -> pricingEngine.redeemToken("a.b.c.!!", 42L));
+        assertThrows(BusinessException.class, () -> engine("other-secret").redeemToken(token, 42L));
+    }
+
+    @Test
+    void testConstructor_InvalidConfiguration_ThrowsException() {
+        Duration ttl = Duration.ofMinutes(15);
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(
+                new int[]{50, 70}, new double[]{1.0, 1.1}, new int[]{}, new double[]{1.0}, ttl, "s", clock));
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(
+                new int[]{70, 50}, new double[]{1.0, 1.1, 1.2}, new int[]{}, new double[]{1.0}, ttl, "s", clock));
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(
+                new int[]{50, 120}, new double[]{1.0, 1.1, 1.2}, new int[]{}, new double[]{1.0}, ttl, "s", clock));
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(
+                new int[]{}, new double[]{0.0}, new int[]{}, new double[]{1.0}, ttl, "s", clock));
+    }
+
+    // Helper methods
+
+    private PricingEngine engine(String secret) {
+        return new PricingEngine(
+                new int[]{50, 70, 85, 95}, new double[]{1.0, 1.1, 1.25, 1.5, 1.8},
+                new int[]{3, 7, 14, 30}, new double[]{1.4, 1.25, 1.1, 1.0, 0.9},
+                Duration.ofMinutes(15), secret, clock);
+    }
+
+    private static FlightSnapshot flight(int daysOut, int totalSeats, int availableSeats, String basePrice) {
+        LocalDateTime departure = TODAY.plusDays(daysOut).atTime(8, 0);
+        return new FlightSnapshot(1L, "6E2001", "IndiGo", "6E", "Delhi", "Mumbai",
+                departure, departure.plusHours(2), totalSeats, availableSeats, new BigDecimal(basePrice), true);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
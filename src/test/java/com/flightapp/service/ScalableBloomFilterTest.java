@@ -0,0 +1,62 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegativesAcrossStages() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        for (long id = 0; id < 20_000; id++) {
+            filter.add(ScalableBloomFilter.hash(id));
+        }
+
+        for (long id = 0; id < 20_000; id++) {
+            assertTrue(filter.mightContain(ScalableBloomFilter.hash(id)));
+        }
+        ScalableBloomFilter.Stats stats = filter.stats();
+        assertEquals(20_000, stats.keys());
+        // 1,000 + 2,000 + 4,000 + 8,000 + 16,000
+        assertEquals(5, stats.stages());
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateStaysUnderTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (long id = 0; id < 50_000; id++) {
+            filter.add(ScalableBloomFilter.hash("PNR" + id));
+        }
+
+        int falsePositives = 0;
+        for (long id = 50_000; id < 150_000; id++) {
+            if (filter.mightContain(ScalableBloomFilter.hash("PNR" + id))) {
+                falsePositives++;
+            }
+        }
+
+        double measured = falsePositives / 100_000.0;
+        ScalableBloomFilter.Stats stats = filter.stats();
+        assertTrue(measured < 0.01, "measured " + measured);
+        assertTrue(stats.falsePositiveRate() < 0.01, "expected " + stats.falsePositiveRate());
+        assertEquals(stats.falsePositiveRate(), measured, 0.003);
+    }
+
+    @Test
+    void testStats_EmptyFilter() {
+        ScalableBloomFilter.Stats stats = new ScalableBloomFilter(1_000_000, 0.01).stats();
+
+        assertEquals(0, stats.keys());
+        assertEquals(0.0, stats.falsePositiveRate());
+        // About 10.5 bits per expected key at half the target rate
+        assertTrue(stats.memoryBytes() > 1_200_000 && stats.memoryBytes() < 1_400_000, "bytes " + stats.memoryBytes());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.5));
+    }
+}
@@ -0,0 +1,125 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSnapshot;
+import com.flightapp.exceptions.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRefinementTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 20);
+
+    @Test
+    void testRequested_PlainSearchIsNotRefined() {
+        assertFalse(SearchRefinement.requested(request().build()));
+        assertFalse(SearchRefinement.requested(request().sortBy(FlightSearchRequest.SortBy.DEPARTURE).build()));
+        assertFalse(SearchRefinement.requested(request().airlineCodes(List.of()).build()));
+        assertTrue(SearchRefinement.requested(request().maxResults(10).build()));
+        assertTrue(SearchRefinement.requested(request().sortBy(FlightSearchRequest.SortBy.PRICE).build()));
+        assertTrue(SearchRefinement.requested(request().departureAfter(LocalTime.of(6, 0)).build()));
+    }
+
+    @Test
+    void testTopK_SameAsSortingEverything() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<FlightSnapshot> flights = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDateTime departure = DAY.atStartOfDay().plusMinutes(random.nextInt(24 * 60));
+            flights.add(flight(id, "6E", departure, 60 + random.nextInt(240), 2000 + random.nextInt(40) * 100));
+        }
+
+        for (FlightSearchRequest.SortBy sortBy : FlightSearchRequest.SortBy.values()) {
+            SearchRefinement limited = SearchRefinement.of(
+                    request().sortBy(sortBy).maxResults(10).build(), FlightSnapshot::basePriceMinor);
+            SearchRefinement unlimited = SearchRefinement.of(
+                    request().sortBy(sortBy).build(), FlightSnapshot::basePriceMinor);
+            flights.forEach(limited);
+            flights.forEach(unlimited);
+
+            assertEquals(500, unlimited.results().size());
+            assertEquals(unlimited.results().subList(0, 10), limited.results(), sortBy.name());
+        }
+    }
+
+    @Test
+    void testTopK_OrderOfResults() {
+        SearchRefinement cheapest = SearchRefinement.of(request()
+                .sortBy(FlightSearchRequest.SortBy.PRICE).maxResults(2).build(), FlightSnapshot::basePriceMinor);
+        SearchRefinement shortest = SearchRefinement.of(request()
+                .sortBy(FlightSearchRequest.SortBy.DURATION).maxResults(2).build(), FlightSnapshot::basePriceMinor);
+        List<FlightSnapshot> flights = List.of(
+                flight(1, "6E", DAY.atTime(6, 0), 150, 5000),
+                flight(2, "6E", DAY.atTime(9, 0), 120, 4000),
+                flight(3, "AI", DAY.atTime(12, 0), 180, 4000),
+                flight(4, "AI", DAY.atTime(15, 0), 90, 7000));
+        flights.forEach(cheapest);
+        flights.forEach(shortest);
+
+        // Equal fares: the earlier departure comes first
+        assertEquals(List.of(2L, 3L), ids(cheapest.results()));
+        assertEquals(List.of(4L, 2L), ids(shortest.results()));
+    }
+
+    @Test
+    void testMatches_Filters() {
+        SearchRefinement refinement = SearchRefinement.of(request()
+                .airlineCodes(List.of(" 6e ", "UK"))
+                .minPrice(new BigDecimal("3000"))
+                .maxPrice(new BigDecimal("6000"))
+                .departureAfter(LocalTime.of(6, 0))
+                .departureBefore(LocalTime.of(12, 0))
+                .maxDurationMinutes(150)
+                .build(), FlightSnapshot::basePriceMinor);
+
+        assertTrue(refinement.matches(flight(1, "6E", DAY.atTime(6, 0), 150, 6000)));
+        assertTrue(refinement.matches(flight(2, "UK", DAY.atTime(12, 0), 60, 3000)));
+        assertFalse(refinement.matches(flight(3, "AI", DAY.atTime(8, 0), 120, 4000)));
+        assertFalse(refinement.matches(flight(4, "6E", DAY.atTime(5, 59), 120, 4000)));
+        assertFalse(refinement.matches(flight(5, "6E", DAY.atTime(12, 1), 120, 4000)));
+        assertFalse(refinement.matches(flight(6, "6E", DAY.atTime(8, 0), 151, 4000)));
+        assertFalse(refinement.matches(flight(7, "6E", DAY.atTime(8, 0), 120, 2999)));
+        assertFalse(refinement.matches(flight(8, "6E", DAY.atTime(8, 0), 120, 6001)));
+    }
+
+    @Test
+    void testOf_InvalidRanges_ThrowsException() {
+        assertThrows(BusinessException.class, () -> SearchRefinement.of(request()
+                .minPrice(new BigDecimal("5000"))
+                .maxPrice(new BigDecimal("4000"))
+                .build(), FlightSnapshot::basePriceMinor));
+        assertThrows(BusinessException.class, () -> SearchRefinement.of(request()
+                .departureAfter(LocalTime.of(18, 0))
+                .departureBefore(LocalTime.of(6, 0))
+                .build(), FlightSnapshot::basePriceMinor));
+    }
+
+    // Helper methods
+
+    private static FlightSearchRequest.FlightSearchRequestBuilder request() {
+        return FlightSearchRequest.builder()
+                .fromLocation("Delhi")
+                .toLocation("Mumbai")
+                .travelDate(DAY)
+                .numberOfPassengers(1);
+    }
+
+    private static FlightSnapshot flight(long id, String airlineCode, LocalDateTime departure, int minutes, int price) {
+        return new FlightSnapshot(id, airlineCode + id, airlineCode, airlineCode, "Delhi", "Mumbai",
+                departure, departure.plus(Duration.ofMinutes(minutes)), 180, 100, new BigDecimal(price), true);
+    }
+
+    private static List<Long> ids(List<FlightSnapshot> flights) {
+        return flights.stream().map(FlightSnapshot::id).toList();
+    }
+}
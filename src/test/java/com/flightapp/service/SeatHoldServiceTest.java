@@ -0,0 +1,216 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.SeatHoldRequest;
+import com.flightapp.dto.SeatHoldResponse;
+import com.flightapp.entity.Airline;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.FlightSeat;
+import com.flightapp.entity.SeatHold;
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.FlightSeatRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private FlightSeatRepository flightSeatRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @Mock
+    private FlightLockService flightLockService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SeatHoldServiceImpl seatHoldService;
+
+    private Flight flight;
+    private SeatHold hold;
+
+    @BeforeEach
+    void setUp() {
+        // 10 ms ticks so expiry tests finish quickly
+        lenient().when(flightLockService.inTransaction(anyLong(), eq(transactionTemplate), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
+        seatHoldService = new SeatHoldServiceImpl(seatHoldRepository, flightSeatRepository, flightRepository, flightService,
+                seatOccupancyIndex, flightLockService, transactionTemplate, 10, 30, 10, 64);
+
+        flight = Flight.builder()
+                .id(1L)
+                .flightNumber("6E2001")
+                .airline(Airline.builder().id(1L).airlineName("IndiGo").airlineCode("6E").build())
+                .departureTime(LocalDateTime.now().plusDays(5))
+                .arrivalTime(LocalDateTime.now().plusDays(5).plusHours(2))
+                .totalSeats(180)
+                .availableSeats(180)
+                .basePrice(new BigDecimal("5000.00"))
+                .flightStatus(Flight.FlightStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+
+        hold = SeatHold.builder()
+                .id(7L)
+                .flight(flight)
+                .seatNumbers("12A,12B")
+                .seatCount(2)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .holdStatus(SeatHold.HoldStatus.HELD)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatHoldService.destroy();
+    }
+
+    @Test
+    void testHoldSeats_Success() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(seatHoldRepository.save(any(SeatHold.class))).thenReturn(hold);
+
+        SeatHoldResponse response = seatHoldService.holdSeats(1L,
+                SeatHoldRequest.builder().seatNumbers(List.of("12A", "12B")).build());
+
+        assertEquals(7L, response.getHoldId());
+        assertEquals(List.of("12A", "12B"), response.getSeatNumbers());
+        verify(flightLockService).inTransaction(eq(1L), eq(transactionTemplate), any());
+        verify(seatOccupancyIndex).reserve(eq(1L), eq(Set.of("12A", "12B")));
+        verify(flightService).updateAvailableSeats(1L, -2);
+    }
+
+    @Test
+    void testHoldSeats_ReservesHeldSeatsInFlightSeats() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(seatHoldRepository.save(any(SeatHold.class))).thenReturn(hold);
+
+        seatHoldService.holdSeats(1L, SeatHoldRequest.builder().seatNumbers(List.of("12A", "12B")).build());
+
+        ArgumentCaptor<SeatHold> saved = ArgumentCaptor.forClass(SeatHold.class);
+        verify(seatHoldRepository).save(saved.capture());
+        List<FlightSeat> reservations = saved.getValue().getSeatReservations();
+        assertEquals(List.of("12A", "12B"), reservations.stream()
+                .map(FlightSeat::getSeatNumber)
+                .collect(Collectors.toList()));
+        assertTrue(reservations.stream().allMatch(seat ->
+                seat.getHold() == saved.getValue() && seat.getFlight() == flight && seat.getBooking() == null));
+    }
+
+    @Test
+    void testHoldSeats_TooLong_ThrowsException() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+
+        assertThrows(BusinessException.class, () -> {
+            seatHoldService.holdSeats(1L,
+                    SeatHoldRequest.builder().seatNumbers(List.of("12A")).holdMinutes(60).build());
+        });
+        verify(flightService, never()).updateAvailableSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testHoldSeats_DuplicateSeat_ThrowsException() {
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+
+        assertThrows(BusinessException.class, () -> {
+            seatHoldService.holdSeats(1L,
+                    SeatHoldRequest.builder().seatNumbers(List.of("12A", "12A")).build());
+        });
+    }
+
+    @Test
+    void testConfirmHold_Success() {
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.confirmIfActive(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+
+        seatHoldService.confirmHold(7L, 1L, Set.of("12B", "12A"));
+
+        verify(seatHoldRepository).confirmIfActive(eq(7L), any(LocalDateTime.class));
+        verify(flightSeatRepository).deleteByHoldId(7L);
+        verify(flightService, never()).updateAvailableSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testConfirmHold_Expired_ThrowsException() {
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.confirmIfActive(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(BusinessException.class, () -> {
+            seatHoldService.confirmHold(7L, 1L, Set.of("12A", "12B"));
+        });
+    }
+
+    @Test
+    void testConfirmHold_SeatMismatch_ThrowsException() {
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+
+        assertThrows(BusinessException.class, () -> {
+            seatHoldService.confirmHold(7L, 1L, Set.of("12A", "14C"));
+        });
+        verify(seatHoldRepository, never()).confirmIfActive(anyLong(), any());
+    }
+
+    @Test
+    void testReleaseHold_GivesSeatsBack() {
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.endIfHeld(7L, SeatHold.HoldStatus.RELEASED)).thenReturn(1);
+
+        seatHoldService.releaseHold(7L);
+
+        verify(flightSeatRepository).deleteByHoldId(7L);
+        verify(flightService).updateAvailableSeats(1L, 2);
+        verify(seatOccupancyIndex).release(1L, List.of("12A", "12B"));
+    }
+
+    @Test
+    void testOverdueHoldExpiresOnWheel() {
+        hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(seatHoldRepository.findByHoldStatus(SeatHold.HoldStatus.HELD)).thenReturn(List.of(hold));
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.endIfHeld(7L, SeatHold.HoldStatus.EXPIRED)).thenReturn(1);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        seatHoldService.recoverActiveHolds();
+
+        verify(flightService, timeout(2000)).updateAvailableSeats(1L, 2);
+        verify(seatOccupancyIndex, timeout(2000)).release(1L, List.of("12A", "12B"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.flightapp.service;
+
+import com.flightapp.exceptions.BusinessException;
+import com.flightapp.repository.PassengerRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatOccupancyIndexTest {
+
+    @Mock
+    private PassengerRepository passengerRepository;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    private static final long IDLE_MILLIS = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @BeforeEach
+    void setUp() {
+        seatOccupancyIndex = index(2);
+    }
+
+    @Test
+    void testLoadsFlightOnceFromPassengers() {
+        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(Arrays.asList("12A", "1F"));
+
+        assertTrue(seatOccupancyIndex.isBooked(1L, "12A"));
+        assertTrue(seatOccupancyIndex.isBooked(1L, "1F"));
+        assertFalse(seatOccupancyIndex.isBooked(1L, "12B"));
+        verify(passengerRepository, times(1)).findBookedSeatsByFlightId(1L);
+    }
+
+    @Test
+    void testReserve_SeatAlreadyBooked_ThrowsAndReservesNothing() {
+        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(Arrays.asList("12A"));
+
+        assertThrows(BusinessException.class, () -> {
+            seatOccupancyIndex.reserve(1L, List.of("12B", "12A"));
+        });
+        assertFalse(seatOccupancyIndex.isBooked(1L, "12B"));
+    }
+
+    @Test
+    void testLoad_HeldSeatsAreTaken() {
+        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(List.of("12A"));
+        when(seatHoldRepository.findHeldSeatNumbersByFlightId(1L)).thenReturn(List.of("3C,3D", "7F"));
+
+        assertTrue(seatOccupancyIndex.isBooked(1L, "3C"));
+        assertTrue(seatOccupancyIndex.isBooked(1L, "3D"));
+        assertTrue(seatOccupancyIndex.isBooked(1L, "7F"));
+        assertFalse(seatOccupancyIndex.isBooked(1L, "3E"));
+    }
+
+    @Test
+    void testRestart_SeatHeldBeforeRestartCannotBeBooked() {
+        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(List.of());
+        when(seatHoldRepository.findHeldSeatNumbersByFlightId(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of("3C,3D"));
+        seatOccupancyIndex.reserve(1L, List.of("3C", "3D"));
+
+        // A new instance after a restart, or the map evicted, rebuilds from the database
+        SeatOccupancyIndex restarted = index(2);
+
+        assertThrows(BusinessException.class, () -> restarted.reserve(1L, List.of("3D")));
+        restarted.reserve(1L, List.of("3E"));
+    }
+
+    @Test
+    void testReserveThenRelease() {
+        when(passengerRepository.findBookedSeatsByFlightId(1L)).thenReturn(Arrays.asList());
+
+        seatOccupancyIndex.reserve(1L, List.of("3C", "EXIT1"));
+        assertTrue(seatOccupancyIndex.isBooked(1L, "3C"));
+        assertTrue(seatOccupancyIndex.isBooked(1L, "EXIT1"));
+
+        seatOccupancyIndex.release(1L, List.of("3C", "EXIT1"));
+        assertFalse(seatOccupancyIndex.isBooked(1L, "3C"));
+        assertFalse(seatOccupancyIndex.isBooked(1L, "EXIT1"));
+    }
+
+    @Test
+    void testSeatOrdinal() {
+        assertEquals(0, SeatMap.ordinal("1A"));
+        assertEquals(26 * 11 + 2, SeatMap.ordinal("12C"));
+        assertEquals(-1, SeatMap.ordinal("A12"));
+        assertEquals(-1, SeatMap.ordinal("0A"));
+        assertEquals(-1, SeatMap.ordinal("012A"));
+        assertEquals(-1, SeatMap.ordinal("12"));
+    }
+
+    @Test
+    void testEvictIdle_DropsMapsNotUsedForIdleTime() {
+        when(passengerRepository.findBookedSeatsByFlightId(anyLong())).thenReturn(List.of("12A"));
+        seatOccupancyIndex.isBooked(1L, "12A");
+        seatOccupancyIndex.isBooked(2L, "12A");
+
+        now.addAndGet(IDLE_MILLIS / 2);
+        seatOccupancyIndex.isBooked(2L, "12A");
+        now.addAndGet(IDLE_MILLIS / 2 + 1);
+
+        assertEquals(1, seatOccupancyIndex.evictIdle());
+        assertEquals(1, seatOccupancyIndex.loadedFlights());
+        // Reloaded on next use
+        assertTrue(seatOccupancyIndex.isBooked(1L, "12A"));
+        verify(passengerRepository, times(2)).findBookedSeatsByFlightId(1L);
+        verify(passengerRepository, times(1)).findBookedSeatsByFlightId(2L);
+    }
+
+    @Test
+    void testEvictIdle_TrimsLeastRecentlyUsedBeyondMaxFlights() {
+        when(passengerRepository.findBookedSeatsByFlightId(anyLong())).thenReturn(List.of());
+        for (long flightId = 1; flightId <= 3; flightId++) {
+            seatOccupancyIndex.isBooked(flightId, "1A");
+            now.incrementAndGet();
+        }
+        seatOccupancyIndex.isBooked(1L, "1A");
+
+        assertEquals(1, seatOccupancyIndex.evictIdle());
+        assertEquals(2, seatOccupancyIndex.loadedFlights());
+        seatOccupancyIndex.isBooked(1L, "1A");
+        seatOccupancyIndex.isBooked(3L, "1A");
+        verify(passengerRepository, times(1)).findBookedSeatsByFlightId(1L);
+        verify(passengerRepository, times(1)).findBookedSeatsByFlightId(3L);
+    }
+
+    // Helper methods
+
+    private SeatOccupancyIndex index(int maxFlights) {
+        return new SeatOccupancyIndex(passengerRepository, seatHoldRepository, maxFlights, IDLE_MILLIS, now::get);
+    }
+}
@@ -0,0 +1,127 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.BookingResponse;
+import com.flightapp.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketCacheTest {
+
+    private final TicketCache ticketCache = new TicketCache(100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGet_LoadsOnceThenServesFromCache() {
+        BookingResponse first = ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+        BookingResponse second = ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_LoaderThrows_NothingCached() {
+        assertThrows(ResourceNotFoundException.class, () -> ticketCache.get("MISSING", () -> {
+            throw new ResourceNotFoundException("Booking", "PNR", "MISSING");
+        }));
+        assertEquals(0, ticketCache.size());
+    }
+
+    @Test
+    void testBookingChanged_NextReadReloads() {
+        ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+        ticketCache.get("251116AAAA", () -> ticket("CONFIRMED"));
+
+        ticketCache.bookingChanged("251116ABCD");
+
+        assertEquals("CANCELLED", ticketCache.get("251116ABCD", () -> ticket("CANCELLED")).getBookingStatus());
+        assertEquals("CONFIRMED", ticketCache.get("251116AAAA", () -> ticket("CANCELLED")).getBookingStatus());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testFlightDetailsChanged_StopsServingEveryTicket() {
+        ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+        ticketCache.get("251116AAAA", () -> ticket("CONFIRMED"));
+
+        ticketCache.flightDetailsChanged();
+        ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+        ticketCache.get("251116AAAA", () -> ticket("CONFIRMED"));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testGet_ChangeDuringLoad_ResultNotCached() {
+        ticketCache.get("251116ABCD", () -> {
+            // The booking is cancelled while the old state is being read
+            ticketCache.bookingChanged("251116ABCD");
+            return ticket("CONFIRMED");
+        });
+
+        assertEquals("CANCELLED", ticketCache.get("251116ABCD", () -> ticket("CANCELLED")).getBookingStatus());
+    }
+
+    @Test
+    void testGetAll_LoadsOnlyUncachedTicketsInOneCall() {
+        ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+        List<List<String>> batches = new ArrayList<>();
+
+        Map<String, BookingResponse> found = ticketCache.getAll(List.of("251116ABCD", "251116AAAA", "MISSING"),
+                missing -> {
+                    batches.add(missing);
+                    return Map.of("251116AAAA", ticket("CONFIRMED"));
+                });
+
+        assertEquals(List.of(List.of("251116AAAA", "MISSING")), batches);
+        assertEquals(Set.of("251116ABCD", "251116AAAA"), found.keySet());
+        assertSame(found.get("251116AAAA"), ticketCache.get("251116AAAA", () -> ticket("CANCELLED")));
+        assertEquals(2, ticketCache.size());
+    }
+
+    @Test
+    void testGetAll_ChangeDuringLoad_OnlyThatTicketNotCached() {
+        Map<String, BookingResponse> found = ticketCache.getAll(List.of("251116ABCD", "251116AAAA"), missing -> {
+            ticketCache.bookingChanged("251116ABCD");
+            return Map.of("251116ABCD", ticket("CONFIRMED"), "251116AAAA", ticket("CONFIRMED"));
+        });
+
+        assertEquals(2, found.size());
+        assertEquals("CANCELLED", ticketCache.get("251116ABCD", () -> ticket("CANCELLED")).getBookingStatus());
+        assertEquals("CONFIRMED", ticketCache.get("251116AAAA", () -> ticket("CANCELLED")).getBookingStatus());
+    }
+
+    @Test
+    void testBookingChanged_InTransaction_AppliesAfterCommit() {
+        ticketCache.get("251116ABCD", () -> ticket("CONFIRMED"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ticketCache.bookingChanged("251116ABCD");
+            // Not committed yet: the confirmed ticket is still the truth
+            assertEquals("CONFIRMED", ticketCache.get("251116ABCD", () -> ticket("CANCELLED")).getBookingStatus());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("CANCELLED", ticketCache.get("251116ABCD", () -> ticket("CANCELLED")).getBookingStatus());
+    }
+
+    // Helper methods
+
+    private BookingResponse ticket(String status) {
+        loads.incrementAndGet();
+        return BookingResponse.builder().pnr("251116ABCD").bookingStatus(status).build();
+    }
+}